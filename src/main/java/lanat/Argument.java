@@ -99,6 +99,12 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	/** The Command that this Argument belongs to. This should never be {@code null} after initialization. */
 	private Command parentCommand;
 
+	/**
+	 * The index of this Argument in the arguments of {@link #parentCommand}. Used for storing the parsed values of the
+	 * arguments of a command in an array.
+	 */
+	int ordinal = -1;
+
 	/**
 	 * The ArgumentGroup that this Argument belongs to. If this Argument does not belong to any group, this may be
 	 * {@code null}.
@@ -231,6 +237,9 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	 */
 	public void setPrefix(PrefixChar prefixChar) {
 		this.prefixChar = prefixChar;
+
+		if (this.parentCommand != null)
+			this.parentCommand.clearSimilarNamesIndex();
 	}
 
 	/**
@@ -249,6 +258,9 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	 */
 	public void setAllowUnique(boolean allowUnique) {
 		this.allowUnique = allowUnique;
+
+		if (this.parentCommand != null)
+			this.parentCommand.clearUniqueAllowedArguments();
 	}
 
 	/**
@@ -298,8 +310,10 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 		// now let the parent command and group know that this argument has been modified. This is necessary to check
 		// for duplicate names
 
-		if (this.parentCommand != null)
+		if (this.parentCommand != null) {
 			this.parentCommand.checkUniqueArguments();
+			this.parentCommand.clearSimilarNamesIndex();
+		}
 
 		if (this.parentGroup != null)
 			this.parentGroup.checkUniqueArguments();
@@ -336,6 +350,7 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 		}
 
 		this.parentCommand = parentCommand;
+		this.ordinal = parentCommand.getArguments().size();
 		this.representationColor.setIfNotModified(parentCommand.colorsPool.next());
 	}
 
@@ -410,8 +425,6 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 			? defaultValue
 			: finalValue;
 
-		if (this.parentGroup != null) this.parentGroup.setArgUsed();
-
 		// if the argument type has a value defined (even if it wasn't used), use that. Otherwise, use the default value
 		return returnValue;
 	}
@@ -425,7 +438,7 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 		final var usageCount = this.getUsageCount();
 
 		if (usageCount == 0) {
-			if (this.required && !this.parentCommand.uniqueArgumentReceivedValue(this)) {
+			if (this.required && !this.parentCommand.uniqueArgumentReceivedValue()) {
 				this.parentCommand.getParser().addError(new ParseErrors.RequiredArgumentNotUsedError(this));
 			}
 			return false;
@@ -451,7 +464,9 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 		// check if the parent group of this argument is exclusive, and if so, check if any other argument in it has been used
 		if (this.parentGroup == null || this.getUsageCount() == 0) return true;
 
-		ArgumentGroup exclusivityResult = this.parentGroup.checkExclusivity(null);
+		ArgumentGroup exclusivityResult = this.parentGroup.checkExclusivity(
+			this, this.parentCommand.getParser().getUsedArguments()
+		);
 		if (exclusivityResult == null) return true;
 
 		this.parentCommand.getParser().addError(new ParseErrors.MultipleArgsInExclusiveGroupUsedError(
@@ -487,6 +502,26 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 		return this.hasName(Character.toString(name));
 	}
 
+	/** Returns {@code true} if this argument has a correct or an error callback. */
+	boolean hasCallbacks() {
+		return this.onCorrectCallback != null || this.onErrorCallback != null;
+	}
+
+	/**
+	 * Returns {@code true} if the last parse of this argument had no effects other than its value, and parsing the same
+	 * values again would give the same result.
+	 * @see Command#isLastParseRepeatable()
+	 */
+	boolean isLastParseRepeatable() {
+		final boolean used = this.getUsageCount() > 0;
+
+		// callbacks are only invoked if the argument was used or has errors
+		if (!used && !this.hasExitErrors())
+			return true;
+
+		return !this.hasCallbacks() && (!used || this.argType.isDeterministic());
+	}
+
 	/**
 	 * Executes the correct or the error callback depending on whether the argument has errors or not.
 	 * <p>
@@ -582,7 +617,7 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	 * @see CommandTemplate
 	 */
 	@Retention(RetentionPolicy.RUNTIME)
-	@Target(ElementType.FIELD)
+	@Target({ ElementType.FIELD, ElementType.PARAMETER })
 	public @interface Define {
 		/** @see Argument#addNames(String...) */
 		String[] names() default { };
@@ -725,6 +760,9 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	@Override
 	public void setOnErrorCallback(@Nullable Consumer<@NotNull Argument<Type, TInner>> callback) {
 		this.onErrorCallback = callback;
+
+		if (this.parentCommand != null)
+			this.parentCommand.clearEffectfulArguments();
 	}
 
 	/**
@@ -739,6 +777,9 @@ public class Argument<Type extends ArgumentType<TInner>, TInner>
 	@Override
 	public void setOnOkCallback(@Nullable Consumer<@NotNull TInner> callback) {
 		this.onCorrectCallback = callback;
+
+		if (this.parentCommand != null)
+			this.parentCommand.clearEffectfulArguments();
 	}
 
 	/**
@@ -50,7 +50,7 @@ public class ArgumentBuilder<Type extends ArgumentType<TInner>, TInner> {
 
 		// try to infer the type from the field type. If it can't be inferred, return null
 		try {
-			return ArgumentTypeInfer.get(field.getType());
+			return ArgumentTypeInfer.get(field.getGenericType());
 		} catch (ArgumentTypeInferException e) {
 			return null;
 		}
@@ -1,12 +1,12 @@
 package lanat;
 
 import lanat.exceptions.ArgumentGroupAlreadyExistsException;
-import lanat.utils.Resettable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import utils.UtlString;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -57,7 +57,6 @@ public class ArgumentGroup
 	ArgumentGroupAdder,
 	CommandUser,
 	ArgumentGroupUser,
-	Resettable,
 	NamedWithDescription,
 	ParentElementGetter<ArgumentGroup>
 {
@@ -88,10 +87,10 @@ public class ArgumentGroup
 	private boolean isExclusive = false;
 
 	/**
-	 * When set to {@code true}, indicates that one argument in this group has been used. This is used when later
-	 * checking for exclusivity in the groups tree at {@link ArgumentGroup#checkExclusivity(ArgumentGroup)}
+	 * The indices of the arguments in this group and all its subgroups, in their command. Built when needed, for
+	 * checking for exclusivity in the groups tree at {@link ArgumentGroup#checkExclusivity(Argument, BitSet)}
 	 */
-	private boolean argumentUsed = false;
+	private @Nullable BitSet argumentsMask;
 
 
 	/**
@@ -120,6 +119,7 @@ public class ArgumentGroup
 		argument.registerToGroup(this);
 		this.arguments.add(argument);
 		this.checkUniqueArguments();
+		this.clearArgumentsMask();
 	}
 
 	@Override
@@ -141,6 +141,7 @@ public class ArgumentGroup
 		group.registerToGroup(this);
 		this.subGroups.add(group);
 		this.checkUniqueGroups();
+		this.clearArgumentsMask();
 	}
 
 	@Override
@@ -171,6 +172,9 @@ public class ArgumentGroup
 			.forEach(parentCommand::addArgument);
 
 		this.subGroups.forEach(g -> g.registerToCommand(parentCommand));
+
+		// the arguments now have their indices in the command
+		this.clearArgumentsMask();
 	}
 
 	@Override
@@ -201,29 +205,54 @@ public class ArgumentGroup
 	}
 
 	/**
-	 * Checks if there is any violation of exclusivity in this group's tree, from this group to the root. This is done
-	 * by checking if this or any of the group's siblings have been used (except for the childCallee, which is the group
-	 * that called this method). If none of them have been used, the parent group is checked, and so on.
+	 * Checks if there is any violation of exclusivity in this group's tree caused by the given argument, from this
+	 * group to the root. There is a violation if an exclusive group has other arguments used in it, apart from the ones
+	 * in the same subgroup as the given argument.
+	 * <p>
+	 * Only the arguments used before the given one (in the order of the command) are taken into account, so the first
+	 * argument used in an exclusive group is the one that keeps its value.
+	 * </p>
 	 *
-	 * @param childCallee The group that called this method. This is used to avoid checking the group that called this
-	 * 	method, because it is the one that is being checked for exclusivity. This can be {@code null} if this is
-	 * 	the first call to this method.
+	 * @param argument The argument that was used. Its parent group must be this one.
+	 * @param usedArguments The indices of the arguments used in the command.
 	 * @return The group that caused the violation, or {@code null} if there is no violation.
 	 */
-	@Nullable ArgumentGroup checkExclusivity(@Nullable ArgumentGroup childCallee) {
-		if (
-			this.isExclusive && (
-				this.argumentUsed || this.subGroups.stream().filter(g -> g != childCallee).anyMatch(g -> g.argumentUsed)
-			)
-		)
-			return this;
+	@Nullable ArgumentGroup checkExclusivity(@NotNull Argument<?, ?> argument, @NotNull BitSet usedArguments) {
+		final BitSet others = usedArguments.get(0, argument.ordinal);
+		ArgumentGroup child = null;
+
+		for (ArgumentGroup group = this; group != null; child = group, group = group.parentGroup) {
+			// the arguments in the same subgroup do not conflict with it, neither here nor in any parent group
+			if (child != null)
+				others.andNot(child.getArgumentsMask());
 
-		if (this.parentGroup != null)
-			return this.parentGroup.checkExclusivity(this);
+			if (group.isExclusive && others.intersects(group.getArgumentsMask()))
+				return group;
+		}
 
 		return null;
 	}
 
+	/** Returns the indices of the arguments in this group and all its subgroups, in their command. */
+	private @NotNull BitSet getArgumentsMask() {
+		if (this.argumentsMask == null) {
+			final var mask = new BitSet();
+			this.arguments.forEach(a -> mask.set(a.ordinal));
+			this.subGroups.forEach(g -> mask.or(g.getArgumentsMask()));
+			this.argumentsMask = mask;
+		}
+		return this.argumentsMask;
+	}
+
+	/** Discards the masks of this group and its parents, so they are built again with the current arguments. */
+	private void clearArgumentsMask() {
+		for (ArgumentGroup group = this; group != null; group = group.parentGroup)
+			group.argumentsMask = null;
+
+		if (this.parentCommand != null)
+			this.parentCommand.clearRootParseCache();
+	}
+
 	/**
 	 * Returns {@code true} if this group has no arguments and no subgroups.
 	 * @return {@code true} if this group has no arguments and no subgroups.
@@ -233,26 +262,6 @@ public class ArgumentGroup
 	}
 
 
-	/**
-	 * Marks that an argument in this group has been used. This is used to later check for exclusivity.
-	 * This also marks the parent group as used, and so on until reaching the root of the groups tree, thus marking the
-	 * path of the used argument.
-	 */
-	void setArgUsed() {
-		this.argumentUsed = true;
-
-		// set argUsed to {@code true} on all parents until reaching the groups root
-		if (this.parentGroup != null)
-			this.parentGroup.setArgUsed();
-	}
-
-
-	@Override
-	public void resetState() {
-		// we don't need to reset the state of the arguments, because they are reset when the command is reset
-		this.argumentUsed = false;
-	}
-
 	@Override
 	public @NotNull String getName() {
 		return this.name;
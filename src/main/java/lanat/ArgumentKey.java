@@ -0,0 +1,100 @@
+package lanat;
+
+import lanat.exceptions.ArgumentNotFoundException;
+import lanat.exceptions.CommandNotFoundException;
+import org.jetbrains.annotations.NotNull;
+import utils.UtlString;
+
+/**
+ * A handle to an argument of a command tree, used for getting its parsed value from a {@link ParsedArguments} object
+ * with {@link ParsedArguments#get(ArgumentKey)}.
+ * <p>
+ * The route to the argument is resolved once when the key is created, so getting the value with it does not need to
+ * search for the Sub-Commands or the argument by their names. This is useful when the same values are read from many
+ * parse results.
+ * </p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ * static final ArgumentKey<Integer> PORT = ArgumentKey.of(parser, "server.start.port");
+ * ...
+ * int port = parser.parse(input).getParsedArguments().get(PORT).orElse(8080);
+ * }</pre>
+ * Keys must be created once all the Sub-Commands have been added to the command tree.
+ * @param <T> The type of the value of the argument
+ */
+public final class ArgumentKey<T> {
+	/** The command that the route starts from. Keys can only be used with parse results of this command. */
+	final @NotNull Command command;
+
+	/** The Sub-Commands in the route, starting from the first child of {@link #command} */
+	final @NotNull Command @NotNull [] subCommands;
+
+	/** The indices of each of {@link #subCommands} in their parent commands */
+	final int @NotNull [] subCommandIndices;
+
+	final @NotNull Argument<?, T> argument;
+
+	private ArgumentKey(
+		@NotNull Command command,
+		@NotNull Command @NotNull [] subCommands,
+		int @NotNull [] subCommandIndices,
+		@NotNull Argument<?, T> argument
+	)
+	{
+		this.command = command;
+		this.subCommands = subCommands;
+		this.subCommandIndices = subCommandIndices;
+		this.argument = argument;
+	}
+
+	/**
+	 * Creates a key for the argument at the given route, starting from the given command. The route is made of the
+	 * names of the Sub-Commands and the argument, separated by the <code>.</code> character.
+	 * See {@link ParsedArguments#get(String)} for more info about routes.
+	 * @param command The command that the route starts from.
+	 * @param argRoute The route to the argument.
+	 * @param <T> The type of the value of the argument. A type that does not match the argument's type will result in
+	 *  a {@link ClassCastException} when getting the value.
+	 * @return The key for the argument.
+	 * @throws CommandNotFoundException If a command specified in the route does not exist
+	 * @throws ArgumentNotFoundException If the argument specified in the route does not exist
+	 */
+	@SuppressWarnings("unchecked") // we'll just have to trust the user
+	public static <T> @NotNull ArgumentKey<T> of(@NotNull Command command, @NotNull String argRoute) {
+		final String[] route = UtlString.split(argRoute, '.');
+		final var subCommands = new Command[route.length - 1];
+		final var subCommandIndices = new int[route.length - 1];
+
+		Command current = command;
+		for (int i = 0; i < route.length - 1; i++) {
+			final Command next = current.getCommand(route[i]);
+			subCommands[i] = next;
+			subCommandIndices[i] = next.ordinal;
+			current = next;
+		}
+
+		return new ArgumentKey<>(
+			command, subCommands, subCommandIndices, (Argument<?, T>)current.getArgument(route[route.length - 1])
+		);
+	}
+
+	/**
+	 * Creates a key for the given argument. The value of the argument can be obtained with it from the parse results
+	 * of the command that the argument belongs to.
+	 * @param argument The argument.
+	 * @param <T> The type of the value of the argument.
+	 * @return The key for the argument.
+	 */
+	public static <T> @NotNull ArgumentKey<T> of(@NotNull Argument<?, T> argument) {
+		final Command command = argument.getParentCommand();
+		if (command == null)
+			throw new IllegalArgumentException("argument must be added to a command first");
+
+		return new ArgumentKey<>(command, new Command[0], new int[0], argument);
+	}
+
+	/** Returns the argument that this key refers to. */
+	public @NotNull Argument<?, T> getArgument() {
+		return this.argument;
+	}
+}
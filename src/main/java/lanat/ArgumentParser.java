@@ -1,20 +1,38 @@
 package lanat;
 
+import lanat.events.CallbacksEvent;
+import lanat.events.ErrorFormattingEvent;
+import lanat.events.ParseEvent;
+import lanat.events.TokenizeEvent;
 import lanat.exceptions.CommandTemplateException;
 import lanat.exceptions.IncompatibleCommandTemplateType;
+import lanat.exceptions.ParseLimitExceededException;
+import lanat.parsing.ParseBudget;
 import lanat.parsing.Tokenizer;
 import lanat.parsing.errors.ErrorsCollector;
+import lanat.parsing.errors.TokenizeErrors;
 import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import textFormatter.TextFormatter;
 import utils.UtlReflection;
 
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -28,6 +46,10 @@ public class ArgumentParser extends Command {
 	private boolean isParsed = false;
 	private @Nullable String license;
 	private @Nullable String version;
+	private @Nullable Executor validationExecutor;
+	private @Nullable ParseCache parseCache;
+	private @Nullable ParseRecorder parseRecorder;
+	private @NotNull ParseLimits parseLimits = ParseLimits.NONE;
 
 
 	/**
@@ -171,6 +193,54 @@ public class ArgumentParser extends Command {
 	 * @see AfterParseOptions
 	 */
 	public @NotNull AfterParseOptions parse(@NotNull CLInput input) {
+		if (this.parseRecorder == null)
+			return this.parse$run(input);
+
+		final long start = System.nanoTime();
+		final var options = this.parse$run(input);
+
+		try {
+			this.parseRecorder.record(this.createParseRecord(input, System.nanoTime() - start, options));
+		} catch (UncheckedIOException e) {
+			// recording must not change the result of parsing. The recorder stops, and keeps the error
+		}
+
+		return options;
+	}
+
+	/**
+	 * Parses the given command line arguments, and returns a record of the outcome. The parse recorder is not used.
+	 * @param input The command line arguments to parse.
+	 * @see ParseReplay
+	 */
+	@NotNull ParseRecord parseToRecord(@NotNull CLInput input) {
+		final long start = System.nanoTime();
+		final var options = this.parse$run(input);
+		return this.createParseRecord(input, System.nanoTime() - start, options);
+	}
+
+	private @NotNull ParseRecord createParseRecord(
+		@NotNull CLInput input,
+		long durationNanos,
+		@NotNull AfterParseOptions options
+	)
+	{
+		// cached results were not tokenized, so the tokens of the parser belong to another input
+		return ParseRecord.of(
+			input.args, durationNanos, options.errorsCollector == null ? List.of() : this.getFullTokenList(), options
+		);
+	}
+
+	private @NotNull AfterParseOptions parse$run(@NotNull CLInput input) {
+		// too long inputs are not even looked up in the cache, since that requires reading them
+		final boolean inputTooLong = input.args.length() > this.parseLimits.maxInputLength();
+
+		if (this.parseCache != null && !inputTooLong) {
+			final var cached = this.parseCache.get(input.args);
+			if (cached != null)
+				return new AfterParseOptions(cached, !input.isEmpty());
+		}
+
 		if (this.isParsed) {
 			// reset all parsing related things to the initial state
 			this.resetState();
@@ -179,20 +249,56 @@ public class ArgumentParser extends Command {
 		// pass the properties of this Sub-Command to its children recursively (most of the time this is what the user will want)
 		this.passPropertiesToChildren();
 
-		this.tokenize(input.args); // first. This will tokenize all Sub-Commands recursively
-
-		var errorsCollector = new ErrorsCollector(this.getFullTokenList(), input.args);
+		final var budget = new ParseBudget(this.parseLimits);
+		// the input is not read at all if it is too long
+		final String args = inputTooLong ? "" : input.args;
+		ParseLimitExceededException limitExceeded = inputTooLong
+			? new ParseLimitExceededException(ParseLimits.Limit.INPUT_LENGTH, this.parseLimits.maxInputLength())
+			: null;
+
+		try {
+			final var tokenizeEvent = new TokenizeEvent();
+			tokenizeEvent.begin();
+			this.tokenize(args, budget); // first. This will tokenize all Sub-Commands recursively
+			tokenizeEvent.commitFor(this);
+
+			// do not parse anything if there are any errors in the tokenizer
+			if (limitExceeded == null && this.tokenizationSucceeded()) {
+				final var parseEvent = new ParseEvent();
+				parseEvent.begin();
+				this.parseTokens(budget); // same thing, this parses all the stuff recursively
+				this.runAsyncValidations(budget);
+				parseEvent.commitFor(this);
+			}
+		} catch (ParseLimitExceededException e) {
+			limitExceeded = e;
+		}
 
-		// do not parse anything if there are any errors in the tokenizer
-		if (this.tokenizationSucceeded()) {
-			this.parseTokens(); // same thing, this parses all the stuff recursively
+		// callbacks are not invoked for inputs that were not parsed completely
+		if (limitExceeded == null && this.tokenizationSucceeded()) {
+			final var callbacksEvent = new CallbacksEvent();
+			callbacksEvent.begin();
 			this.invokeCallbacks();
+			callbacksEvent.commitFor(this);
+		}
+
+		if (limitExceeded != null) {
+			this.getTokenizer().addError(
+				new TokenizeErrors.ParseLimitExceededError(limitExceeded.getLimit(), limitExceeded.getMaximum())
+			);
 		}
 
+		final var errorsCollector = new ErrorsCollector(this.getFullTokenList(), args, this.parseLimits.maxErrors());
 		this.getTokenizer().getTokenizedCommands().forEach(errorsCollector::collect);
 		this.isParsed = true;
 
-		return new AfterParseOptions(errorsCollector, !input.isEmpty());
+		final var options = new AfterParseOptions(errorsCollector, !input.isEmpty());
+
+		// a parse that was stopped may not be stopped the next time, so it is not stored
+		if (this.parseCache != null && limitExceeded == null && this.isLastParseRepeatable())
+			this.parseCache.put(input.args, options.detach());
+
+		return options;
 	}
 
 	private boolean tokenizationSucceeded() {
@@ -201,11 +307,11 @@ public class ArgumentParser extends Command {
 			.noneMatch(Tokenizer::hasDisplayErrors);
 	}
 
-	private void tokenize(@NotNull String args) {
-		this.getTokenizer().tokenize(args, null);
+	private void tokenize(@NotNull String args, @NotNull ParseBudget budget) {
+		this.getTokenizer().tokenize(args, budget);
 	}
 
-	private void parseTokens() {
+	private void parseTokens(@NotNull ParseBudget budget) {
 		// first, we need to set the tokens of all tokenized subCommands
 		Command cmd = this;
 		do {
@@ -213,15 +319,110 @@ public class ArgumentParser extends Command {
 		} while ((cmd = cmd.getTokenizer().getTokenizedSubCommand()) != null);
 
 		// this parses recursively!
-		this.getParser().parseTokens(null);
+		this.getParser().parseTokens(budget);
 	}
 
 
+	/**
+	 * Runs the validations added by the argument types of all the parsed commands while parsing, and adds the errors of
+	 * the ones that fail to their argument types.
+	 * <p>
+	 * If the parse has a timeout, the validations are only waited for until its deadline. The ones that have not
+	 * completed by then are abandoned: the ones running are interrupted, the ones not started yet never run, and their
+	 * results are discarded.
+	 * </p>
+	 * @param budget the budget of the parse
+	 * @throws ParseLimitExceededException if the deadline is reached before the validations complete
+	 * @see ArgumentType#addAsyncValidation(java.util.function.Supplier)
+	 */
+	private void runAsyncValidations(@NotNull ParseBudget budget) {
+		final var argTypes = new ArrayList<ArgumentType<?>>();
+		final var validations = new ArrayList<ArgumentType.AsyncValidation>();
+
+		for (final var command : this.getTokenizer().getTokenizedCommands()) {
+			for (final var argument : command.getArguments()) {
+				for (final var validation : argument.argType.takeAsyncValidations()) {
+					argTypes.add(argument.argType);
+					validations.add(validation);
+				}
+			}
+		}
+
+		if (validations.isEmpty())
+			return;
+
+		// no need to use another thread for a single one, unless it has to be stopped at the deadline
+		if (validations.size() == 1 && this.parseLimits.timeout() == null) {
+			final String message = validations.get(0).validation().get();
+			if (message != null)
+				argTypes.get(0).addAsyncValidationError(validations.get(0), message);
+			return;
+		}
+
+		final var executor = Objects.requireNonNullElse(this.validationExecutor, DefaultValidationExecutor.INSTANCE);
+		// unlike CompletableFuture, cancelling a FutureTask interrupts the thread running it
+		final var results = validations.stream()
+			.map(v -> new FutureTask<>(v.validation()::get))
+			.toList();
+
+		try {
+			for (final var result : results) {
+				try {
+					executor.execute(result);
+				} catch (RejectedExecutionException e) {
+					// the executor can't take more tasks, so this thread runs it instead
+					result.run();
+				}
+			}
+
+			// errors are added in order and from this thread, so the result is the same as if they were run sequentially
+			for (int i = 0; i < results.size(); i++) {
+				final String message = ArgumentParser.runAsyncValidations$await(results.get(i), budget);
+				if (message != null)
+					argTypes.get(i).addAsyncValidationError(validations.get(i), message);
+			}
+		} finally {
+			// the results are not needed anymore if the parse was stopped. Completed ones are not affected
+			final boolean anyCancelled = results.stream()
+				.map(result -> result.cancel(true))
+				.reduce(false, Boolean::logicalOr);
+
+			// remove the ones that were not started from the queue of the pool, so they don't wait there for nothing
+			if (anyCancelled && executor == DefaultValidationExecutor.INSTANCE)
+				DefaultValidationExecutor.INSTANCE.purge();
+		}
+	}
+
+	private static @Nullable String runAsyncValidations$await(
+		@NotNull FutureTask<String> result,
+		@NotNull ParseBudget budget
+	)
+	{
+		try {
+			return budget.await(result);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (e.getCause() instanceof Error error)
+				throw error;
+			throw new CompletionException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		}
+	}
+
 	@Override
 	@NotNull ParsedArgumentsRoot getParsedArguments() {
+		return (ParsedArgumentsRoot)super.getParsedArguments();
+	}
+
+	@Override
+	@NotNull ParsedArgumentsRoot createParsedArguments() {
 		return new ParsedArgumentsRoot(
 			this,
-			this.getParser().getParsedArgumentsHashMap(),
+			this.getParser().getParsedValues(),
+			this.getParser().getUsedArguments(),
 			this.getCommands().stream().map(Command::getParsedArguments).toList(),
 			this.getForwardValue()
 		);
@@ -282,15 +483,156 @@ public class ArgumentParser extends Command {
 		return this.version;
 	}
 
+	/**
+	 * Sets the executor used to run the validations added by argument types with
+	 * {@link ArgumentType#addAsyncValidation(java.util.function.Supplier)}. By default, a shared pool of daemon threads
+	 * is used, with at most four threads per available processor. Further validations wait for a thread to be free.
+	 * <p>
+	 * If the parse has a timeout and it is reached, the validations that have not completed are abandoned. The ones
+	 * running are interrupted, so they should stop when they notice it. A validation that ignores interruption keeps
+	 * using its thread until it completes, and its result is discarded.
+	 * </p>
+	 * <p>
+	 * If the executor rejects a validation, it is run on the thread that is parsing instead.
+	 * </p>
+	 * @param executor The executor to use.
+	 */
+	public void setValidationExecutor(@NotNull Executor executor) {
+		this.validationExecutor = executor;
+	}
+
+
+	/**
+	 * Sets the maximum number of parse results to keep in the parse cache. By default, the cache is disabled.
+	 * <p>
+	 * When enabled, parsing an input that was parsed before returns the same result without tokenizing or parsing it
+	 * again. The least recently used results are removed when the cache is full. Results are only stored if parsing
+	 * had no other effects, so inputs that invoke callbacks, use non-deterministic argument types (like stdin or files
+	 * that must exist), or are parsed with response files enabled are always parsed again.
+	 * </p>
+	 * <p>
+	 * Each parse gets its own copy of the cached values. Arrays and lists are copied (lists into unmodifiable ones),
+	 * but other values are shared between all the parses of the same input, so they should not be modified.
+	 * </p>
+	 * <p>
+	 * The cache is cleared when arguments, groups, Sub-Commands or callbacks are added, when the parse limits or
+	 * response files setting change, and results are parsed again if {@link TextFormatter#enableSequences} changes.
+	 * After any other change to this parser, it must be cleared with {@link #clearParseCache()}.
+	 * </p>
+	 * @param maxSize The maximum number of results to keep. {@code 0} disables the cache.
+	 * @see ArgumentType#isDeterministic()
+	 */
+	public void setParseCacheSize(int maxSize) {
+		if (maxSize < 0)
+			throw new IllegalArgumentException("maxSize must be at least 0");
+
+		this.parseCache = maxSize == 0 ? null : new ParseCache(maxSize);
+	}
+
+	/**
+	 * Removes all the results from the parse cache, and resets its statistics.
+	 * @see #setParseCacheSize(int)
+	 */
+	public void clearParseCache() {
+		if (this.parseCache != null)
+			this.parseCache = new ParseCache(this.parseCache.maxSize);
+	}
+
+	/** Removes all the results from the parse cache, keeping its statistics. */
+	void clearParseCacheEntries() {
+		if (this.parseCache != null)
+			this.parseCache.clear();
+	}
+
+	/**
+	 * Returns the statistics of the parse cache, or {@link Optional#empty()} if it is disabled.
+	 * @see #setParseCacheSize(int)
+	 */
+	public @NotNull Optional<ParseCacheStats> getParseCacheStats() {
+		return Optional.ofNullable(this.parseCache).map(ParseCache::getStats);
+	}
+
+	/**
+	 * Sets the recorder that stores the input and the outcome of every parse of this parser, or {@code null} to stop
+	 * recording. By default, parses are not recorded.
+	 * <p>
+	 * The recorder is not closed by this parser. If a record can't be written, parsing is not affected, and the
+	 * recorder stops recording. The error can be obtained with {@link ParseRecorder#getFailure()}.
+	 * </p>
+	 * @param recorder The recorder to use.
+	 * @see ParseReplay
+	 */
+	public void setParseRecorder(@Nullable ParseRecorder recorder) {
+		this.parseRecorder = recorder;
+	}
+
+	/**
+	 * Sets the limits on the resources that each parse of this parser may use. By default, there are no limits.
+	 * <p>
+	 * When a limit is exceeded, parsing stops as soon as possible, no callbacks are invoked, and an error that
+	 * describes the limit is shown.
+	 * </p>
+	 * @param limits The limits to use.
+	 * @see ParseLimits
+	 */
+	public void setParseLimits(@NotNull ParseLimits limits) {
+		this.parseLimits = limits;
+		// the cached results may have exceeded the new limits
+		this.clearParseCacheEntries();
+	}
+
+	/**
+	 * Returns the limits on the resources that each parse of this parser may use.
+	 * @see #setParseLimits(ParseLimits)
+	 */
+	public @NotNull ParseLimits getParseLimits() {
+		return this.parseLimits;
+	}
+
+	/**
+	 * Statistics of the parse cache.
+	 * @param hits the number of parses that returned a cached result
+	 * @param misses the number of parses that did not find a cached result
+	 * @param size the number of results in the cache
+	 */
+	public record ParseCacheStats(long hits, long misses, int size) { }
+
+
+	/**
+	 * Holds the executor used to run validations when no other one is set, so it is only created when needed.
+	 */
+	private static final class DefaultValidationExecutor {
+		/**
+		 * Validations will usually be waiting for I/O, so there are more threads than processors. The number is bounded,
+		 * so validations that never complete can't keep creating new ones. Idle threads are stopped after a while.
+		 */
+		static final ThreadPoolExecutor INSTANCE = DefaultValidationExecutor.create();
+
+		private static @NotNull ThreadPoolExecutor create() {
+			final int maxThreads = Runtime.getRuntime().availableProcessors() * 4;
+			final var executor = new ThreadPoolExecutor(
+				maxThreads, maxThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+					final var thread = new Thread(runnable, "lanat-validation");
+					thread.setDaemon(true);
+					return thread;
+				}
+			);
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+
 
 	/**
 	 * Provides utilities for the parsed arguments after parsing is done.
 	 */
 	public class AfterParseOptions {
-		private final @NotNull ErrorsCollector errorsCollector;
+		private final @Nullable ErrorsCollector errorsCollector;
 		private List<@NotNull String> errors;
 		private final int errorCode;
 		private final boolean receivedArguments;
+		/** Set if the result does not depend on the state of the parser. */
+		private @Nullable ParsedArgumentsRoot parsedArguments;
 
 		private AfterParseOptions(@NotNull ErrorsCollector errorsCollector, boolean receivedArguments) {
 			this.errorsCollector = errorsCollector;
@@ -298,12 +640,40 @@ public class ArgumentParser extends Command {
 			this.receivedArguments = receivedArguments;
 		}
 
+		private AfterParseOptions(@NotNull ParseCache.Entry cached, boolean receivedArguments) {
+			this.errorsCollector = null;
+			this.errors = cached.errors();
+			this.errorCode = cached.errorCode();
+			this.receivedArguments = receivedArguments;
+			// each result gets its own copy, so modifying its values does not change the cached ones
+			this.parsedArguments = cached.parsedArguments().copy();
+		}
+
+		/**
+		 * Collects the errors and the parsed arguments, so this result no longer depends on the state of the parser,
+		 * and returns them to be stored in the parse cache. The stored values are a copy of the ones of this result, so
+		 * that modifying the ones of this result does not change the cached ones.
+		 */
+		private @NotNull ParseCache.Entry detach() {
+			this.errors = List.copyOf(this.getErrors());
+			this.parsedArguments = ArgumentParser.this.getParsedArguments();
+			return new ParseCache.Entry(
+				this.parsedArguments.copy(), this.errors, this.errorCode, TextFormatter.enableSequences
+			);
+		}
+
 		/**
 		 * Returns a list of all the error messages that occurred during parsing.
 		 */
 		public @NotNull List<@NotNull String> getErrors() {
-			if (this.errors == null)
+			if (this.errors == null) {
+				assert this.errorsCollector != null;
+				final var event = new ErrorFormattingEvent();
+				event.begin();
 				this.errors = this.errorsCollector.handleErrors();
+				event.errorCount = this.errors.size();
+				event.commitFor(ArgumentParser.this);
+			}
 			return this.errors;
 		}
 
@@ -362,7 +732,7 @@ public class ArgumentParser extends Command {
 		 * Returns a {@link ParsedArgumentsRoot} object that contains all the parsed arguments.
 		 */
 		public @NotNull ParsedArgumentsRoot getParsedArguments() {
-			return ArgumentParser.this.getParsedArguments();
+			return this.parsedArguments != null ? this.parsedArguments : ArgumentParser.this.getParsedArguments();
 		}
 
 		/**
@@ -378,6 +748,33 @@ public class ArgumentParser extends Command {
 			return AfterParseOptions.into(clazz, this.getParsedArguments());
 		}
 
+		/**
+		 * Creates a new instance of the given record or class, passing the parsed values of the arguments to its
+		 * constructor. Unlike {@link #into(Class)}, this allows the type to be immutable.
+		 * <p>
+		 * For records, the canonical constructor is used. Each component receives the value of the argument with its
+		 * name, or with the first name in its {@link Argument.Define} annotation if it has one. For other classes, the
+		 * constructor with parameters annotated with {@link Argument.Define} is used in the same way.
+		 * Parameters of types annotated with {@link Command.Define} receive the values of the Sub-Command with their
+		 * name, bound recursively in the same way. Parameters of type {@link Optional} receive the value wrapped.
+		 * </p>
+		 * The constructor is only looked up the first time a type is used.
+		 * <h4>Example:</h4>
+		 * <pre>{@code
+		 * record Options(String name, @Argument.Define(names = "n") int number, Optional<File> file) { }
+		 *
+		 * Options options = parser.parse(input).bind(Options.class);
+		 * }</pre>
+		 * @param type The record or class to instantiate.
+		 * @return The new instance.
+		 * @param <T> The type to instantiate.
+		 * @throws CommandTemplateException If the type does not have a suitable constructor.
+		 * @throws IncompatibleCommandTemplateType If a parsed value can't be passed to its parameter.
+		 */
+		public <T> @NotNull T bind(@NotNull Class<T> type) {
+			return ConstructorBinder.of(type).bind(this.getParsedArguments());
+		}
+
 		/**
 		 * {@link #into(Class)} helper method.
 		 * @param templateClass The Command Template class to instantiate.
@@ -446,7 +843,7 @@ public class ArgumentParser extends Command {
 					instance,
 					field.getType().isAssignableFrom(Optional.class)
 						? parsedValue
-						: AfterParseOptions.into$getNewFieldValue(field, parsedValue)
+						: AfterParseOptions.into$getNewFieldValue(field.getType(), field.getName(), parsedValue)
 				);
 			} catch (IllegalArgumentException e) {
 				if (parsedValue.isEmpty())
@@ -504,14 +901,17 @@ public class ArgumentParser extends Command {
 		/**
 		 * {@link #into(Class)} helper method. Returns the new value for the given field based on the parsed value.
 		 * If the parsed value is {@code null}, this method will return {@code null} as well.
-		 * If both the field and the parsed value are arrays, this method will return a new array with the same type.
-		 * @param commandAccesorField The field to get the new value for.
+		 * If both the field and the parsed value are arrays of different types, this method will return a new array with
+		 * the type of the field.
+		 * @param fieldType The type of the field to get the new value for.
+		 * @param fieldName The name of the field to get the new value for.
 		 * @param parsedValue The parsed value to get the new value from.
 		 * @return The new value for the given field based on the parsed value. This will be {@code null} if the parsed
 		 *  value is {@code null}.
 		 */
-		private static Object into$getNewFieldValue(
-			@NotNull Field commandAccesorField,
+		static Object into$getNewFieldValue(
+			@NotNull Class<?> fieldType,
+			@NotNull String fieldName,
 			@NotNull Optional<?> parsedValue
 		) {
 			if (parsedValue.isEmpty())
@@ -519,17 +919,18 @@ public class ArgumentParser extends Command {
 
 			final Object value = parsedValue.get();
 
-			if (!(commandAccesorField.getType().isArray() && value.getClass().isArray()))
+			// if the value is already of the type of the field (e.g. primitive arrays), there is nothing to convert
+			if (!(fieldType.isArray() && value.getClass().isArray()) || fieldType.isInstance(value))
 				return value;
 
 
 			// handle array types
-			final var fieldType = commandAccesorField.getType().getComponentType();
+			final var componentType = fieldType.getComponentType();
 			final var originalArray = (Object[])value; // to get rid of warnings
 
 			try {
 				// create a new array of the same type as the field.
-				var newArray = (Object[])Array.newInstance(fieldType, Array.getLength(originalArray));
+				var newArray = (Object[])Array.newInstance(componentType, Array.getLength(originalArray));
 
 				// copy the values from the original array to the new array
 				System.arraycopy(originalArray, 0, newArray, 0, originalArray.length);
@@ -537,8 +938,8 @@ public class ArgumentParser extends Command {
 				return newArray;
 			} catch (ClassCastException e) {
 				throw new IncompatibleCommandTemplateType(
-					"Field '" + commandAccesorField.getName() + "' of type '" + commandAccesorField.getType().getSimpleName()
-						+ "' is not compatible with the type (" + fieldType.arrayType() + ") of the parsed argument"
+					"Field '" + fieldName + "' of type '" + fieldType.getSimpleName()
+						+ "' is not compatible with the type (" + componentType.arrayType() + ") of the parsed argument"
 				);
 			}
 		}
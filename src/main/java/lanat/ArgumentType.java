@@ -3,6 +3,7 @@ package lanat;
 import lanat.argumentTypes.FromParseableArgumentType;
 import lanat.argumentTypes.IntegerArgumentType;
 import lanat.argumentTypes.Parseable;
+import lanat.parsing.ParseBudget;
 import lanat.parsing.errors.CustomErrorImpl;
 import lanat.parsing.errors.Error;
 import lanat.utils.ErrorsContainerImpl;
@@ -13,7 +14,9 @@ import utils.Pair;
 import utils.Range;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * <h2>Argument Type</h2>
@@ -84,6 +87,12 @@ public abstract class ArgumentType<T>
 	private @Nullable ArgumentType<?> parentArgType;
 	private final @NotNull ArrayList<@NotNull ArgumentType<?>> subTypes = new ArrayList<>();
 
+	/** The validations added with {@link ArgumentType#addAsyncValidation(Supplier)} that have not been run yet. */
+	private final @NotNull ArrayList<@NotNull AsyncValidation> asyncValidations = new ArrayList<>();
+
+	/** The budget of the parse that is using this argument type. {@code null} if it is not being parsed. */
+	private @Nullable ParseBudget parseBudget;
+
 
 	/**
 	 * Constructs a new argument type with the specified initial value.
@@ -105,11 +114,19 @@ public abstract class ArgumentType<T>
 
 	/**
 	 * Saves the specified tokenIndex and the number of values received, and then parses the values.
+	 * @param budget The budget of the parse, checked by {@link ArgumentType#checkParseDeadline()}.
 	 * @param tokenIndex The index of the token that caused the parsing of this argument type.
 	 * @param inTuple Whether the values were received in a tuple.
 	 * @param values The values to parse.
 	 */
-	public final void parseAndUpdateValue(int tokenIndex, boolean inTuple, @NotNull String... values) {
+	public final void parseAndUpdateValue(
+		@NotNull ParseBudget budget,
+		int tokenIndex,
+		boolean inTuple,
+		@NotNull String... values
+	)
+	{
+		this.parseBudget = budget;
 		this.usageCount++;
 		this.lastTokenIndex = tokenIndex;
 		this.lastInTuple = inTuple;
@@ -117,6 +134,17 @@ public abstract class ArgumentType<T>
 		this.currentValue = this.parseValues(values);
 	}
 
+	/**
+	 * Saves the specified tokenIndex and the number of values received, and then parses the values, without any limits.
+	 * @param tokenIndex The index of the token that caused the parsing of this argument type.
+	 * @param inTuple Whether the values were received in a tuple.
+	 * @param values The values to parse.
+	 * @see ArgumentType#parseAndUpdateValue(ParseBudget, int, boolean, String...)
+	 */
+	public final void parseAndUpdateValue(int tokenIndex, boolean inTuple, @NotNull String... values) {
+		this.parseAndUpdateValue(new ParseBudget(ParseLimits.NONE), tokenIndex, inTuple, values);
+	}
+
 	/**
 	 * By registering a subtype, this allows you to listen for errors that occurred in this subtype during parsing. The
 	 * {@link ArgumentType#onSubTypeError(Error.CustomError)} method will be called when an error occurs.
@@ -199,6 +227,20 @@ public abstract class ArgumentType<T>
 		return Range.ONE;
 	}
 
+	/**
+	 * Returns {@code true} if the value parsed by this argument type only depends on the values received, so parsing
+	 * the same values again always gives the same result. Types that read from other sources, like stdin or the file
+	 * system, must return {@code false}.
+	 * <p>
+	 * Results of inputs that use non-deterministic types are never stored in the parse cache.
+	 * (See {@link ArgumentParser#setParseCacheSize(int)})
+	 * </p>
+	 * By default, this returns {@code true} if all the sub-types registered are deterministic.
+	 */
+	public boolean isDeterministic() {
+		return this.subTypes.stream().allMatch(ArgumentType::isDeterministic);
+	}
+
 	/**
 	 * Adds an error to the list of errors that occurred during parsing at the current token index.
 	 * @param message The message to display related to the error.
@@ -244,8 +286,9 @@ public abstract class ArgumentType<T>
 	 */
 	@Override
 	public void addError(@NotNull Error.CustomError error) {
-		// the index of the error should never be less than 0 or greater than the max value count
-		if (error.getIndex() < 0 || error.getIndex() >= this.getRequiredArgValueCount().end()) {
+		// the index of the error should never be less than 0 or greater than the max value count.
+		// types that take no values may still add errors at index 0
+		if (error.getIndex() < 0 || error.getIndex() >= Math.max(1, this.getRequiredArgValueCount().end())) {
 			throw new IndexOutOfBoundsException("Index " + error.getIndex() + " is out of range for " + this.getClass().getName());
 		}
 
@@ -262,6 +305,75 @@ public abstract class ArgumentType<T>
 		super.addError(error);
 	}
 
+	/**
+	 * Adds a validation that will be run once all the arguments have been parsed, before their final values are
+	 * obtained. Validations of all the argument types are run concurrently, on the executor set with
+	 * {@link ArgumentParser#setValidationExecutor(java.util.concurrent.Executor)}, so this is useful for checks that
+	 * may take a while, like ones that access the file system.
+	 * <p>
+	 * The validation must return an error message if the value is invalid, or {@code null} otherwise. If it fails,
+	 * the error is shown on the value being parsed when this method was called, and
+	 * {@link ArgumentType#onAsyncValidationFailed(int)} is called on the argument type at the top of the hierarchy to
+	 * discard that value.
+	 * </p>
+	 * <p>
+	 * <strong>Note: </strong> The validation runs on another thread. It must not access the state of this argument type
+	 * (including calling {@link ArgumentType#addError(String)}), so any value that it needs should be captured before.
+	 * If this is a subtype, the validation is run by the argument type at the top of the hierarchy, so
+	 * {@link ArgumentType#onSubTypeError(Error.CustomError)} is not called for its error.
+	 * </p>
+	 * <p>
+	 * If the parse times out before the validation completes, its thread is interrupted and its result is discarded.
+	 * See {@link ArgumentParser#setValidationExecutor(java.util.concurrent.Executor)}.
+	 * </p>
+	 * @param validation The validation to run. Returns an error message, or {@code null} if the value is valid.
+	 */
+	protected final void addAsyncValidation(@NotNull Supplier<@Nullable String> validation) {
+		// compute the index that the error would have after being dispatched to the root type
+		ArgumentType<?> root = this;
+		int valueIndex = this.currentArgValueIndex;
+		while (root.parentArgType != null) {
+			root = root.parentArgType;
+			valueIndex += root.currentArgValueIndex;
+		}
+
+		root.asyncValidations.add(new AsyncValidation(validation, valueIndex, root.lastTokenIndex + valueIndex));
+	}
+
+	/**
+	 * Returns the validations that have been added since the last call to this method, and forgets them.
+	 */
+	@NotNull List<@NotNull AsyncValidation> takeAsyncValidations() {
+		if (this.asyncValidations.isEmpty())
+			return List.of();
+
+		final var validations = List.copyOf(this.asyncValidations);
+		this.asyncValidations.clear();
+		return validations;
+	}
+
+	/**
+	 * Adds the error returned by the given validation, and discards the value that failed.
+	 * @param validation The validation that failed.
+	 * @param message The error message returned by the validation.
+	 */
+	void addAsyncValidationError(@NotNull AsyncValidation validation, @NotNull String message) {
+		// the index is already absolute, so skip the offsetting done by addError
+		super.addError(new CustomErrorImpl(message, ErrorLevel.ERROR, validation.tokenIndex()));
+		this.onAsyncValidationFailed(validation.valueIndex());
+	}
+
+	/**
+	 * Called when a validation added with {@link ArgumentType#addAsyncValidation(Supplier)} fails, after its error has
+	 * been added. By default, this argument type is left without a value. Argument types that take multiple values
+	 * should override this to only discard the value that failed, keeping the rest.
+	 * @param valueIndex The index of the value that was being parsed when the validation was added, among the values
+	 *  that this argument type received.
+	 */
+	protected void onAsyncValidationFailed(int valueIndex) {
+		this.currentValue = null;
+	}
+
 	/**
 	 * Returns the index of the last token that was parsed.
 	 */
@@ -294,11 +406,28 @@ public abstract class ArgumentType<T>
 	 */
 	protected final void forEachArgValue(@NotNull String @NotNull [] args, @NotNull Consumer<@NotNull String> consumer) {
 		for (int i = 0; i < args.length; i++) {
+			this.checkParseDeadline();
 			this.currentArgValueIndex = i;
 			consumer.accept(args[i]);
 		}
 	}
 
+	/**
+	 * Stops parsing if it has taken longer than the timeout set in the {@link ParseLimits} of the parser. Argument
+	 * types that may take long to parse their values (e.g. by reading files) should call this regularly while doing
+	 * so. It is called for each value by {@link ArgumentType#forEachArgValue(String[], Consumer)}.
+	 * <p>
+	 * Sub-types use the budget of the argument type they are registered to.
+	 * </p>
+	 * @throws lanat.exceptions.ParseLimitExceededException if the timeout was exceeded. This should not be caught.
+	 * @see ArgumentParser#setParseLimits(ParseLimits)
+	 */
+	protected final void checkParseDeadline() {
+		final var budget = this.getRoot().parseBudget;
+		if (budget != null)
+			budget.checkDeadline();
+	}
+
 	@Override
 	public void resetState() {
 		super.resetState();
@@ -309,6 +438,8 @@ public abstract class ArgumentType<T>
 		this.lastReceivedValuesNum = 0;
 		this.usageCount = 0;
 		this.lastInTuple = false;
+		this.asyncValidations.clear();
+		this.parseBudget = null;
 
 		// reset the state of the subtypes.
 		this.subTypes.forEach(ArgumentType::resetState);
@@ -318,4 +449,13 @@ public abstract class ArgumentType<T>
 	public @Nullable ArgumentType<?> getParent() {
 		return this.parentArgType;
 	}
-}
\ No newline at end of file
+
+
+	/**
+	 * A validation added with {@link ArgumentType#addAsyncValidation(Supplier)}.
+	 * @param validation the validation to run
+	 * @param valueIndex the index of the value that the validation checks, among the values of the argument type
+	 * @param tokenIndex the index of the token that the error is shown on if the validation fails
+	 */
+	record AsyncValidation(@NotNull Supplier<@Nullable String> validation, int valueIndex, int tokenIndex) { }
+}
@@ -3,10 +3,17 @@ package lanat;
 import lanat.argumentTypes.*;
 import lanat.exceptions.ArgumentTypeInferException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import utils.Range;
 
 import java.io.File;
-import java.util.HashMap;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -32,13 +39,75 @@ public class ArgumentTypeInfer {
 	 * Mapping of types to their corresponding argument types. Used for inferring.
 	 * Argument types are stored as suppliers so that we have no shared references.
 	 * */
-	private static final HashMap<Class<?>, Supplier<? extends ArgumentType<?>>> INFER_ARGUMENT_TYPES_MAP = new HashMap<>();
+	private static final ConcurrentHashMap<Class<?>, Supplier<? extends ArgumentType<?>>> INFER_ARGUMENT_TYPES_MAP =
+		new ConcurrentHashMap<>();
+
+	/**
+	 * Cache of the classes that have already been resolved, including the ones that could not be resolved. A class
+	 * value does not keep the classes (and their class loaders) from being unloaded. Entries resolved before the last
+	 * registration are outdated, and resolved again when used.
+	 */
+	private static final ClassValue<CachedResolution> CLASS_RESOLUTIONS = new ClassValue<>() {
+		@Override
+		protected CachedResolution computeValue(@NotNull Class<?> clazz) {
+			// read the count before resolving, so that a registration that races with it makes the entry outdated
+			final int registrationsCount = ArgumentTypeInfer.REGISTRATIONS_COUNT.get();
+			return new CachedResolution(ArgumentTypeInfer.resolveClass(clazz), registrationsCount);
+		}
+	};
+
+	/**
+	 * A cached resolution of a class.
+	 * @param resolution the resolution of the class
+	 * @param registrationsCount the number of registrations when it was resolved
+	 */
+	private record CachedResolution(@NotNull Resolution resolution, int registrationsCount) { }
+
+	/**
+	 * The result of resolving a type. Either the supplier of its argument type, or why the type cannot be inferred.
+	 * The exception is created every time it is thrown, so that its stack trace is the one of the caller.
+	 * @param supplier the supplier of the argument type, or {@code null} if the type cannot be inferred
+	 * @param failedType the type that could not be inferred. May be an element type of the resolved type.
+	 * @param reason why the type cannot be inferred, or {@code null} if there is no argument type registered for it
+	 */
+	private record Resolution(
+		@Nullable Supplier<? extends ArgumentType<?>> supplier,
+		@Nullable Type failedType,
+		@Nullable String reason
+	) {
+		/** The resolution of a type that has no argument type registered for it. */
+		private static final Resolution NOT_FOUND = new Resolution(null, null, null);
+
+		private static @NotNull Resolution of(@NotNull Supplier<? extends ArgumentType<?>> supplier) {
+			return new Resolution(supplier, null, null);
+		}
+
+		private static @NotNull Resolution failed(@NotNull Type type, @NotNull String reason) {
+			return new Resolution(null, type, reason);
+		}
+
+		private boolean isResolved() {
+			return this.supplier != null;
+		}
+
+		private @NotNull ArgumentType<?> getArgumentType(@NotNull Type type) {
+			if (this.supplier != null)
+				return this.supplier.get();
+
+			throw this.reason == null
+				? new ArgumentTypeInferException(type)
+				: new ArgumentTypeInferException(Objects.requireNonNull(this.failedType), this.reason);
+		}
+	}
+
+	/** Incremented on every registration, so that resolutions that raced with one are not cached. */
+	private static final AtomicInteger REGISTRATIONS_COUNT = new AtomicInteger();
 
 	/** The default range to use for argument types that accept multiple values. */
 	public static final Range DEFAULT_TYPE_RANGE = Range.AT_LEAST_ONE;
 
 	/**
-	 * Registers an argument type to be inferred for the specified type/s.
+	 * Registers an argument type to be inferred for the specified type/s. This method is thread-safe.
 	 * @param type The argument type to infer.
 	 * @param infer The types to infer the argument type for.
 	 */
@@ -47,34 +116,169 @@ public class ArgumentTypeInfer {
 			throw new IllegalArgumentException("Must specify at least one type to infer the argument type for.");
 
 		for (Class<?> clazz : infer) {
-			if (clazz.isArray() && clazz.getComponentType().isPrimitive())
-				throw new IllegalArgumentException("Cannot infer argument type for primitive array type: " + clazz.getName());
-
-			if (ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.containsKey(clazz))
+			if (ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.putIfAbsent(clazz, type) != null)
 				throw new IllegalArgumentException("Argument type already registered for type: " + clazz.getName());
-
-			ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.put(clazz, type);
 		}
+
+		// a new type may change how other types are resolved
+		ArgumentTypeInfer.REGISTRATIONS_COUNT.incrementAndGet();
 	}
 
 	/**
 	 * Returns a new argument type instance for the specified type.
+	 * <p>
+	 * If there is no argument type registered for the type itself, the one registered for the closest subtype of it is
+	 * used (e.g. {@code CharSequence} uses the one registered for {@code String}), since the values it returns are
+	 * assignable to the type.
+	 * </p>
 	 * @param clazz The type to infer the argument type for.
 	 * @return The argument type that should be inferred for the specified type.
 	 * @throws ArgumentTypeInferException If no argument type is found for the specified type.
 	 */
 	public static ArgumentType<?> get(@NotNull Class<?> clazz) {
-		var result = ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.get(clazz);
+		return ArgumentTypeInfer.get((Type)clazz);
+	}
+
+	/**
+	 * Returns a new argument type instance for the specified type. Along with what {@link #get(Class)} supports,
+	 * this also handles generic types:
+	 * <ul>
+	 *     <li>{@code Optional<T>}: the argument type of {@code T} is used.</li>
+	 *     <li>{@code List<T>}, {@code Collection<T>} and {@code Iterable<T>}: a {@link ListArgumentType} that uses the
+	 *     argument type of {@code T} for each value.</li>
+	 *     <li>Wildcards and type variables: their upper bound is used.</li>
+	 * </ul>
+	 * Resolved classes are cached, including the ones that cannot be inferred, so the type hierarchy is only walked
+	 * once per class.
+	 * @param type The type to infer the argument type for.
+	 * @return The argument type that should be inferred for the specified type.
+	 * @throws ArgumentTypeInferException If no argument type is found for the specified type.
+	 */
+	public static ArgumentType<?> get(@NotNull Type type) {
+		return ArgumentTypeInfer.resolve(type).getArgumentType(type);
+	}
+
+	/**
+	 * Returns the cached resolution of the given class, resolving it again if a type was registered since it was
+	 * cached.
+	 * @param clazz The class to resolve.
+	 */
+	private static @NotNull Resolution getClassResolution(@NotNull Class<?> clazz) {
+		var cached = ArgumentTypeInfer.CLASS_RESOLUTIONS.get(clazz);
+
+		if (cached.registrationsCount() != ArgumentTypeInfer.REGISTRATIONS_COUNT.get()) {
+			ArgumentTypeInfer.CLASS_RESOLUTIONS.remove(clazz);
+			cached = ArgumentTypeInfer.CLASS_RESOLUTIONS.get(clazz);
+		}
+
+		return cached.resolution();
+	}
+
+	/**
+	 * Finds the supplier of the argument type for the given type.
+	 * @param type The type to resolve.
+	 * @return The supplier, or why the type cannot be inferred.
+	 */
+	private static @NotNull Resolution resolve(@NotNull Type type) {
+		if (type instanceof Class<?> clazz)
+			return ArgumentTypeInfer.getClassResolution(clazz);
+
+		if (type instanceof WildcardType wildcard)
+			return ArgumentTypeInfer.resolve(wildcard.getUpperBounds()[0]);
+
+		if (type instanceof TypeVariable<?> variable)
+			return ArgumentTypeInfer.resolve(variable.getBounds()[0]);
+
+		if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> rawType) {
+			final Type elementType = parameterized.getActualTypeArguments()[0];
+
+			// into() already wraps the values of Optional fields
+			if (rawType == Optional.class)
+				return ArgumentTypeInfer.resolve(elementType);
+
+			if (rawType == List.class || rawType == Collection.class || rawType == Iterable.class) {
+				final var elementResolution = ArgumentTypeInfer.resolve(elementType);
+				if (!elementResolution.isResolved()) return elementResolution;
+
+				// ListArgumentType only accepts argument types that take a single value
+				final var elementArgType = elementResolution.supplier();
+				final Range valueCount = elementArgType.get().getRequiredArgValueCount();
+				if (valueCount.isRange() || valueCount.start() != 1)
+					return Resolution.failed(type, "the argument type of each element must take a single value");
+
+				return Resolution.of(() -> new ListArgumentType<>(DEFAULT_TYPE_RANGE, elementArgType.get()));
+			}
+
+			return ArgumentTypeInfer.getClassResolution(rawType);
+		}
+
+		return Resolution.NOT_FOUND;
+	}
+
+	/**
+	 * Finds the supplier of the argument type for the given class, or for its closest registered subtype.
+	 * @param clazz The class to resolve.
+	 * @return The supplier, or why the class cannot be inferred. Fails if more than one registered subtype is equally
+	 * 	close to the class.
+	 */
+	private static @NotNull Resolution resolveClass(@NotNull Class<?> clazz) {
+		final var exact = ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.get(clazz);
+		if (exact != null) return Resolution.of(exact);
+		if (clazz.isPrimitive()) return Resolution.NOT_FOUND;
+
+		Supplier<? extends ArgumentType<?>> closest = null;
+		final var closestTypes = new ArrayList<Class<?>>();
+		int closestDistance = Integer.MAX_VALUE;
+
+		for (var entry : ArgumentTypeInfer.INFER_ARGUMENT_TYPES_MAP.entrySet()) {
+			final Class<?> registered = entry.getKey();
+			if (registered.isPrimitive() || !clazz.isAssignableFrom(registered)) continue;
+
+			final int distance = ArgumentTypeInfer.getHierarchyDistance(registered, clazz);
+			if (distance < 0 || distance > closestDistance) continue;
+
+			if (distance < closestDistance) {
+				closestTypes.clear();
+				closestDistance = distance;
+				closest = entry.getValue();
+			}
+			closestTypes.add(registered);
+		}
+
+		if (closestTypes.size() > 1)
+			return Resolution.failed(clazz, "multiple argument types match equally "
+				+ closestTypes.stream().map(Class::getSimpleName).sorted().toList());
+
+		return closest == null ? Resolution.NOT_FOUND : Resolution.of(closest);
+	}
+
+	/**
+	 * Returns the number of steps needed to go from {@code from} up to {@code to} in the type hierarchy, counting
+	 * both superclasses and interfaces, or {@code -1} if {@code to} is not reachable.
+	 */
+	private static int getHierarchyDistance(@NotNull Class<?> from, @NotNull Class<?> to) {
+		var current = List.<Class<?>>of(from);
+
+		for (int distance = 0; !current.isEmpty(); distance++) {
+			final var next = new ArrayList<Class<?>>();
 
-		if (result == null)
-			throw new ArgumentTypeInferException(clazz);
+			for (var type : current) {
+				if (type == to) return distance;
 
-		return result.get();
+				if (type.getSuperclass() != null) next.add(type.getSuperclass());
+				next.addAll(Arrays.asList(type.getInterfaces()));
+			}
+
+			current = next;
+		}
+
+		return -1;
 	}
 
 	/**
 	 * Registers a numeric argument type with the specified tuple type as well.
-	 * Note that for arrays, only the non-primitive types are inferred.
+	 * Note that for arrays, only the non-primitive types are inferred here. Primitive arrays are handled by the
+	 * {@link PrimitiveArrayArgumentType} implementations.
 	 * @param type The type of the numeric argument type.
 	 * @param array The default value of the numeric argument type.
 	 * @param inferPrimitive The <strong>non-array</strong> types to infer the argument type for.
@@ -114,5 +318,9 @@ public class ArgumentTypeInfer {
 		registerNumericWithTuple(LongArgumentType::new, new Long[] {}, long.class, Long.class);
 		registerNumericWithTuple(ShortArgumentType::new, new Short[] {}, short.class, Short.class);
 		registerNumericWithTuple(ByteArgumentType::new, new Byte[] {}, byte.class, Byte.class);
+
+		register(() -> new IntArrayArgumentType(DEFAULT_TYPE_RANGE), int[].class);
+		register(() -> new LongArrayArgumentType(DEFAULT_TYPE_RANGE), long[].class);
+		register(() -> new DoubleArrayArgumentType(DEFAULT_TYPE_RANGE), double[].class);
 	}
 }
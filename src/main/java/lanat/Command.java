@@ -1,6 +1,8 @@
 package lanat;
 
+import lanat.events.HelpGenerationEvent;
 import lanat.exceptions.CommandAlreadyExistsException;
+import lanat.exceptions.CommandNotFoundException;
 import lanat.exceptions.CommandTemplateException;
 import lanat.helpRepresentation.HelpFormatter;
 import lanat.parsing.Parser;
@@ -8,8 +10,10 @@ import lanat.parsing.Token;
 import lanat.parsing.TokenType;
 import lanat.parsing.Tokenizer;
 import lanat.parsing.errors.Error;
+import lanat.utils.BKTree;
 import lanat.utils.ErrorCallbacks;
 import lanat.utils.ErrorsContainerImpl;
+import lanat.utils.PrefixTree;
 import lanat.utils.Resettable;
 import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
@@ -23,7 +27,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -52,10 +58,33 @@ public class Command
 	private @Nullable String description;
 	private final @NotNull ArrayList<@NotNull Argument<?, ?>> arguments = new ArrayList<>();
 	private final @NotNull ArrayList<@NotNull Command> subCommands = new ArrayList<>();
+	/** The Sub-Commands by each of their names. Built when needed. */
+	private @Nullable HashMap<@NotNull String, @NotNull Command> subCommandsByName;
+	/** The names of the Sub-Commands, for resolving abbreviations. Built when needed. */
+	private @Nullable PrefixTree<@NotNull Command> subCommandsPrefixTree;
+	/** The names of the arguments and Sub-Commands, for suggesting similar ones. Built when needed. */
+	private @Nullable BKTree similarNamesTree;
+	/** The indices of the arguments that allow being used alone. Built when needed. */
+	private @Nullable BitSet uniqueAllowedArguments;
+	/** The indices of the arguments that have callbacks or non-deterministic argument types. Built when needed. */
+	private @Nullable BitSet effectfulArguments;
+	/**
+	 * Whether this command or any of its Sub-Commands has callbacks or response files enabled. {@code null} if it has
+	 * to be found again.
+	 */
+	private @Nullable Boolean hasParseEffects;
 	private Command parentCommand;
+
+	/**
+	 * The index of this Command in the Sub-Commands of {@link #parentCommand}. Used for finding the parsed arguments of
+	 * a Sub-Command without searching for it.
+	 */
+	int ordinal = -1;
 	private final @NotNull ArrayList<@NotNull ArgumentGroup> argumentGroups = new ArrayList<>();
 	private final @NotNull ModifyRecord<@NotNull TupleChar> tupleChars = ModifyRecord.of(TupleChar.SQUARE_BRACKETS);
 	private final @NotNull ModifyRecord<@NotNull Integer> errorCode = ModifyRecord.of(1);
+	private final @NotNull ModifyRecord<@NotNull Boolean> responseFilesEnabled = ModifyRecord.of(false);
+	private final @NotNull ModifyRecord<@NotNull Boolean> commandAbbreviationsEnabled = ModifyRecord.of(false);
 
 	// error handling callbacks
 	private @Nullable Consumer<Command> onErrorCallback;
@@ -115,6 +144,9 @@ public class Command
 		argument.registerToCommand(this);
 		this.arguments.add(argument);
 		this.checkUniqueArguments();
+		this.clearSimilarNamesIndex();
+		this.clearUniqueAllowedArguments();
+		this.clearEffectfulArguments();
 	}
 
 	/**
@@ -137,6 +169,7 @@ public class Command
 		group.registerToCommand(this);
 		this.argumentGroups.add(group);
 		this.checkUniqueGroups();
+		this.clearRootParseCache();
 	}
 
 	@Override
@@ -157,6 +190,8 @@ public class Command
 		cmd.registerToCommand(this);
 		this.subCommands.add(cmd);
 		this.checkUniqueSubCommands();
+		this.clearSubCommandsIndex();
+		this.clearHasParseEffects();
 	}
 
 	@Override
@@ -166,6 +201,7 @@ public class Command
 		}
 
 		this.parentCommand = parentCommand;
+		this.ordinal = parentCommand.getCommands().size();
 	}
 
 	/**
@@ -178,6 +214,94 @@ public class Command
 		return Collections.unmodifiableList(this.subCommands);
 	}
 
+	@Override
+	public boolean hasCommand(@NotNull String name) {
+		return this.getSubCommandsByName().containsKey(name);
+	}
+
+	@Override
+	public @NotNull Command getCommand(@NotNull String name) {
+		final var command = this.getSubCommandsByName().get(name);
+		if (command == null)
+			throw new CommandNotFoundException(name);
+		return command;
+	}
+
+	/**
+	 * Returns the Sub-Command with the given name, or {@code null} if there is none. Abbreviations are not accepted.
+	 * @param name the name of the Sub-Command
+	 */
+	@Nullable Command findCommand(@NotNull String name) {
+		return this.getSubCommandsByName().get(name);
+	}
+
+	/**
+	 * Returns the Sub-Command with the given name. If there is none, and abbreviations are enabled, returns the
+	 * Sub-Command that has a name starting with the given one, if there is only one.
+	 * @param name the name or abbreviation of the Sub-Command
+	 * @return the Sub-Command found, or {@code null} if there is none
+	 * @see #setCommandAbbreviationsEnabled(boolean)
+	 */
+	public @Nullable Command resolveCommand(@NotNull String name) {
+		final var command = this.getSubCommandsByName().get(name);
+		if (command != null || !this.areCommandAbbreviationsEnabled())
+			return command;
+
+		if (this.subCommandsPrefixTree == null) {
+			final var prefixTree = new PrefixTree<Command>();
+			this.subCommands.forEach(cmd -> cmd.names.forEach(n -> prefixTree.put(n, cmd)));
+			this.subCommandsPrefixTree = prefixTree;
+		}
+
+		return this.subCommandsPrefixTree.getUnique(name);
+	}
+
+	/** Returns the Sub-Commands by each of their names, building the index if needed. */
+	private @NotNull HashMap<@NotNull String, @NotNull Command> getSubCommandsByName() {
+		if (this.subCommandsByName == null) {
+			final var index = new HashMap<String, Command>();
+			this.subCommands.forEach(cmd -> cmd.names.forEach(n -> index.put(n, cmd)));
+			this.subCommandsByName = index;
+		}
+		return this.subCommandsByName;
+	}
+
+	/** Discards the indexes of the Sub-Commands, so they are built again with the current names. */
+	private void clearSubCommandsIndex() {
+		this.subCommandsByName = null;
+		this.subCommandsPrefixTree = null;
+		this.clearSimilarNamesIndex();
+	}
+
+	/**
+	 * Returns the names of the arguments and Sub-Commands of this command that are similar to the given string, closest
+	 * first. Names of arguments include their prefix, as they would be written in the input.
+	 * <p>
+	 * The names are looked up in an index that is built once, so this does not compare the string with every name.
+	 * </p>
+	 * @param str the string to find similar names to
+	 * @return the similar names found, if any
+	 */
+	public @NotNull List<@NotNull String> getSimilarNames(@NotNull String str) {
+		if (this.similarNamesTree == null) {
+			final var tree = new BKTree();
+			this.arguments.forEach(arg -> {
+				final char prefix = arg.getPrefix().character;
+				arg.getNames().forEach(n -> tree.add("" + prefix + (n.length() > 1 ? prefix : "") + n));
+			});
+			this.subCommands.forEach(cmd -> cmd.names.forEach(tree::add));
+			this.similarNamesTree = tree;
+		}
+
+		// allow more differences in longer strings, but not so many that unrelated names are suggested
+		return this.similarNamesTree.search(str, Math.min(3, Math.max(1, str.length() / 4)));
+	}
+
+	/** Discards the index of similar names, so it is built again with the current names. */
+	void clearSimilarNamesIndex() {
+		this.similarNamesTree = null;
+	}
+
 
 	/**
 	 * Specifies the error code that the program should return when this command failed to parse. When multiple commands
@@ -207,6 +331,43 @@ public class Command
 		return this.tupleChars.get();
 	}
 
+	/**
+	 * Sets whether values with the form {@code @path} are response files. When enabled, the contents of the file at
+	 * the path given are read as if they were part of the input, in place of the reference. Response files may
+	 * reference other response files, relative to their own location.
+	 * <p>
+	 * A value can be prevented from being read as a response file by wrapping it in quotes.
+	 * </p>
+	 * <p>By default, this is disabled.</p>
+	 * @param enabled Whether response files are enabled.
+	 */
+	public void setResponseFilesEnabled(boolean enabled) {
+		this.responseFilesEnabled.set(enabled);
+
+		// the Sub-Commands that inherit this property are changed too
+		this.getRoot().clearHasParseEffects$subCommands();
+		this.clearRootParseCache();
+	}
+
+	public boolean isResponseFilesEnabled() {
+		return this.responseFilesEnabled.get();
+	}
+
+	/**
+	 * Sets whether Sub-Commands can be specified by an abbreviation of their names. When enabled, a value that is the
+	 * start of the names of a single Sub-Command is taken as that Sub-Command, e.g. {@code serv st} may be used for
+	 * {@code server status}. Values that are the start of the names of several Sub-Commands are not abbreviations.
+	 * <p>By default, this is disabled.</p>
+	 * @param enabled Whether abbreviations of Sub-Commands are enabled.
+	 */
+	public void setCommandAbbreviationsEnabled(boolean enabled) {
+		this.commandAbbreviationsEnabled.set(enabled);
+	}
+
+	public boolean areCommandAbbreviationsEnabled() {
+		return this.commandAbbreviationsEnabled.get();
+	}
+
 	@Override
 	public void addNames(@NotNull String... names) {
 		if (names.length == 0)
@@ -222,8 +383,10 @@ public class Command
 
 		// now let the parent command know that this command has been modified. This is necessary to check
 		// for duplicate names
-		if (this.parentCommand != null)
+		if (this.parentCommand != null) {
 			this.parentCommand.checkUniqueSubCommands();
+			this.parentCommand.clearSubCommandsIndex();
+		}
 	}
 
 	@Override
@@ -273,7 +436,14 @@ public class Command
 	 * @return The help message of this command.
 	 */
 	public @NotNull String getHelp() {
-		return this.helpFormatter.get().generate(this);
+		final var event = new HelpGenerationEvent();
+		event.begin();
+
+		final String help = this.helpFormatter.get().generate(this);
+
+		event.helpLength = help.length();
+		event.commitFor(this);
+		return help;
 	}
 
 	@Override
@@ -290,14 +460,40 @@ public class Command
 	}
 
 	/**
-	 * Returns {@code true} if an argument with allowsUnique set in the command was used.
-	 * @return {@code true} if an argument with {@link Argument#setAllowUnique(boolean)} in the command was used.
+	 * Returns {@code true} if an argument with allowsUnique set was used in this command or its Sub-Commands.
+	 * @return {@code true} if an argument with {@link Argument#setAllowUnique(boolean)} in the command or its
+	 * 	Sub-Commands was used.
+	 */
+	boolean uniqueArgumentReceivedValue() {
+		// only the tokenized Sub-Commands can have used arguments
+		Command cmd = this;
+		do {
+			if (cmd.parser.getUsedArguments().intersects(cmd.getUniqueAllowedArguments()))
+				return true;
+		} while ((cmd = cmd.tokenizer.getTokenizedSubCommand()) != null);
+
+		return false;
+	}
+
+	/**
+	 * Returns the indices of the arguments of this command that have {@link Argument#setAllowUnique(boolean)} set. It
+	 * is only built the first time this is called after the arguments change.
 	 */
-	boolean uniqueArgumentReceivedValue(@Nullable Argument<?, ?> exclude) {
-		return this.arguments.stream()
-			.filter(a -> a != exclude)
-			.anyMatch(a -> a.getUsageCount() >= 1 && a.isUniqueAllowed())
-		|| this.subCommands.stream().anyMatch(cmd -> cmd.uniqueArgumentReceivedValue(exclude));
+	private @NotNull BitSet getUniqueAllowedArguments() {
+		if (this.uniqueAllowedArguments == null) {
+			final var mask = new BitSet(this.arguments.size());
+			for (final var argument : this.arguments) {
+				if (argument.isUniqueAllowed())
+					mask.set(argument.ordinal);
+			}
+			this.uniqueAllowedArguments = mask;
+		}
+		return this.uniqueAllowedArguments;
+	}
+
+	/** Discards the indices of the arguments that allow being used alone, so they are found again. */
+	void clearUniqueAllowedArguments() {
+		this.uniqueAllowedArguments = null;
 	}
 
 
@@ -310,13 +506,21 @@ public class Command
 	}
 
 	/**
-	 * Returns a new {@link ParsedArguments} object that contains all the parsed arguments of this command and all its
-	 * Sub-Commands.
+	 * Returns a {@link ParsedArguments} object that contains all the parsed arguments of this command and all its
+	 * Sub-Commands. It is only created the first time this is called after parsing.
 	 */
 	@NotNull ParsedArguments getParsedArguments() {
+		if (this.parsedArguments == null)
+			this.parsedArguments = this.createParsedArguments();
+		return this.parsedArguments;
+	}
+
+	/** Returns a new {@link ParsedArguments} object with the results of the last parse. */
+	@NotNull ParsedArguments createParsedArguments() {
 		return new ParsedArguments(
 			this,
-			this.parser.getParsedArgumentsHashMap(),
+			this.parser.getParsedValues(),
+			this.parser.getUsedArguments(),
 			this.subCommands.stream().map(Command::getParsedArguments).toList()
 		);
 	}
@@ -327,7 +531,8 @@ public class Command
 	 * @return A list of all the tokens of all Sub-Commands.
 	 */
 	public @NotNull List<@NotNull Token> getFullTokenList() {
-		final List<Token> list = Command.this.getTokenizer().getFinalTokens();
+		// a copy, so the tokens of the tokenizer are not modified
+		final List<Token> list = new ArrayList<>(Command.this.getTokenizer().getFinalTokens());
 
 		final Command subCmd = this.getTokenizer().getTokenizedSubCommand();
 
@@ -346,6 +551,8 @@ public class Command
 		this.getMinimumExitErrorLevel().setIfNotModified(parent.getMinimumExitErrorLevel());
 		this.getMinimumDisplayErrorLevel().setIfNotModified(parent.getMinimumDisplayErrorLevel());
 		this.errorCode.setIfNotModified(parent.errorCode);
+		this.responseFilesEnabled.setIfNotModified(parent.responseFilesEnabled);
+		this.commandAbbreviationsEnabled.setIfNotModified(parent.commandAbbreviationsEnabled);
 		this.helpFormatter.setIfNotModified(parent.helpFormatter);
 		this.callbackInvocationOption.setIfNotModified(parent.callbackInvocationOption);
 
@@ -470,6 +677,7 @@ public class Command
 	@Override
 	public void setOnErrorCallback(@Nullable Consumer<@NotNull Command> callback) {
 		this.onErrorCallback = callback;
+		this.clearHasParseEffects();
 	}
 
 	/**
@@ -482,21 +690,29 @@ public class Command
 	@Override
 	public void setOnOkCallback(@Nullable Consumer<@NotNull ParsedArguments> callback) {
 		this.onCorrectCallback = callback;
+		this.clearHasParseEffects();
 	}
 
 	@Override
 	public void invokeCallbacks() {
+		/* The arguments of a command that was not tokenized were not used, so they have no callbacks to invoke. Unless
+		 * it or its Sub-Commands have callbacks, its values are not gathered, so its parser is left untouched. */
+		final boolean tokenized = this.tokenizer.hasFinished();
+		if (!tokenized && !this.hasParseEffects())
+			return;
+
 		if (this.shouldExecuteCorrectCallback()) {
 			if (this.onCorrectCallback != null) this.onCorrectCallback.accept(this.getParsedArguments());
 		} else {
 			if (this.onErrorCallback != null) this.onErrorCallback.accept(this);
 		}
 
-		this.parser.getParsedArgumentsHashMap()
-			.entrySet()
-			.stream()
-			.sorted((x, y) -> Argument.compareByPriority(x.getKey(), y.getKey())) // sort by priority when invoking callbacks!
-			.forEach(e -> e.getKey().invokeCallbacks(e.getValue()));
+		if (tokenized) {
+			final var parsedValues = this.parser.getParsedValues();
+			this.arguments.stream()
+				.sorted(Argument::compareByPriority) // sort by priority when invoking callbacks!
+				.forEach(a -> a.invokeCallbacks(parsedValues[a.ordinal]));
+		}
 
 		// invoke the callbacks of the Sub-Commands recursively
 		this.subCommands.forEach(Command::invokeCallbacks);
@@ -514,6 +730,94 @@ public class Command
 		};
 	}
 
+	/**
+	 * Returns {@code true} if the last parse of this command and its Sub-Commands had no effects other than its result,
+	 * and parsing the same input again would give the same result. This is not the case if any callbacks were
+	 * invoked, if any non-deterministic argument types were used, or if response files are enabled.
+	 * <p>
+	 * Only the arguments of the tokenized commands that have callbacks or non-deterministic types are checked, since
+	 * the rest can't have had any effects.
+	 * </p>
+	 * @see ArgumentType#isDeterministic()
+	 */
+	boolean isLastParseRepeatable() {
+		if (this.hasParseEffects())
+			return false;
+
+		for (final var command : this.tokenizer.getTokenizedCommands()) {
+			final var effectful = command.getEffectfulArguments();
+
+			for (int i = effectful.nextSetBit(0); i >= 0; i = effectful.nextSetBit(i + 1)) {
+				if (!command.arguments.get(i).isLastParseRepeatable())
+					return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns {@code true} if this command or any of its Sub-Commands has callbacks or response files enabled, which
+	 * make every parse have effects. It is only found again after any of those change.
+	 */
+	private boolean hasParseEffects() {
+		if (this.hasParseEffects == null) {
+			this.hasParseEffects = this.onCorrectCallback != null
+				|| this.onErrorCallback != null
+				|| this.isResponseFilesEnabled()
+				|| this.subCommands.stream().anyMatch(Command::hasParseEffects);
+		}
+		return this.hasParseEffects;
+	}
+
+	/** Forgets whether this command and the ones above it have effects, so it is found again. */
+	private void clearHasParseEffects() {
+		Command cmd = this;
+		do {
+			cmd.hasParseEffects = null;
+		} while ((cmd = cmd.parentCommand) != null);
+
+		this.clearRootParseCache();
+	}
+
+	/** Forgets whether this command and all its Sub-Commands have effects, so it is found again. */
+	private void clearHasParseEffects$subCommands() {
+		this.hasParseEffects = null;
+		this.subCommands.forEach(Command::clearHasParseEffects$subCommands);
+	}
+
+	/**
+	 * Removes the results stored in the parse cache of the root command, since they may not be the same after this
+	 * command changes.
+	 * @see ArgumentParser#setParseCacheSize(int)
+	 */
+	void clearRootParseCache() {
+		if (this.getRoot() instanceof ArgumentParser argumentParser)
+			argumentParser.clearParseCacheEntries();
+	}
+
+	/**
+	 * Returns the indices of the arguments of this command that have callbacks or non-deterministic argument types.
+	 * It is only built the first time this is called after the arguments change.
+	 */
+	private @NotNull BitSet getEffectfulArguments() {
+		if (this.effectfulArguments == null) {
+			final var mask = new BitSet(this.arguments.size());
+			for (final var argument : this.arguments) {
+				if (argument.hasCallbacks() || !argument.argType.isDeterministic())
+					mask.set(argument.ordinal);
+			}
+			this.effectfulArguments = mask;
+		}
+		return this.effectfulArguments;
+	}
+
+	/** Discards the indices of the arguments that have callbacks or non-deterministic types, so they are found again. */
+	void clearEffectfulArguments() {
+		this.effectfulArguments = null;
+		this.clearRootParseCache();
+	}
+
 	private boolean hasExitErrorsNotIncludingSubCommands() {
 		return super.hasExitErrors()
 			|| this.arguments.stream().anyMatch(Argument::hasExitErrors)
@@ -574,8 +878,9 @@ public class Command
 	//                                         Argument tokenization and parsing    							      //
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	private @NotNull Tokenizer tokenizer = new Tokenizer(this);
-	private @NotNull Parser parser = new Parser(this);
+	private final @NotNull Tokenizer tokenizer = new Tokenizer(this);
+	private final @NotNull Parser parser = new Parser(this);
+	private @Nullable ParsedArguments parsedArguments;
 
 	/** Returns the current tokenizer of this command. */
 	public @NotNull Tokenizer getTokenizer() {
@@ -588,17 +893,35 @@ public class Command
 	}
 
 
+	/**
+	 * Resets the state left by the last parse. Only the parts of the command tree that were used by it are reset, so
+	 * the cost does not depend on the size of the tree.
+	 */
 	@Override
 	public void resetState() {
+		// a Sub-Command can only be used if its parent was, so there is nothing to reset below an unused command
+		if (!this.hasParseState()) return;
+
 		super.resetState();
-		this.tokenizer = new Tokenizer(this);
-		this.parser = new Parser(this);
-		this.arguments.forEach(Argument::resetState);
-		this.argumentGroups.forEach(ArgumentGroup::resetState);
+
+		// only the arguments that received values have changed
+		this.parser.getTouchedArguments().forEach(Argument::resetState);
+
+		this.tokenizer.resetState();
+		this.parser.resetState();
+		this.parsedArguments = null;
 
 		this.subCommands.forEach(Command::resetState);
 	}
 
+	/** Returns {@code true} if this command has any state left by the last parse. */
+	private boolean hasParseState() {
+		return this.tokenizer.isDirty()
+			|| this.parser.isDirty()
+			|| this.parsedArguments != null
+			|| this.hasAnyErrors();
+	}
+
 	@Override
 	public @Nullable Command getParent() {
 		return this.parentCommand;
@@ -0,0 +1,212 @@
+package lanat;
+
+import lanat.exceptions.CommandNotFoundException;
+import lanat.exceptions.CommandTemplateException;
+import lanat.exceptions.IncompatibleCommandTemplateType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Creates instances of a record or a class from parsed arguments, by passing the values of the arguments to its
+ * constructor.
+ * <p>
+ * The constructor used is the canonical constructor for records, and the constructor with parameters annotated with
+ * {@link Argument.Define} for other classes. Each parameter receives the value of the argument with the name given in
+ * the annotation, or with the name of the record component or parameter if there is none. Parameters of types
+ * annotated with {@link Command.Define} receive the values of the Sub-Command with that name, bound recursively.
+ * </p>
+ * The constructor is looked up once per type, and called through a method handle.
+ * @see ArgumentParser.AfterParseOptions#bind(Class)
+ */
+final class ConstructorBinder {
+	/** The type of the method handles stored in {@link #constructor}. */
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	/** The binder of each type. */
+	private static final ClassValue<ConstructorBinder> BINDERS = new ClassValue<>() {
+		@Override
+		protected ConstructorBinder computeValue(@NotNull Class<?> type) {
+			return new ConstructorBinder(type);
+		}
+	};
+
+	private final @NotNull Class<?> type;
+
+	/** The constructor of the type. Its type is always {@code (Object[])Object}. */
+	private final @NotNull MethodHandle constructor;
+
+	private final @NotNull BoundParameter @NotNull [] parameters;
+
+	/**
+	 * A parameter of the constructor.
+	 * @param name the name of the argument or Sub-Command that the parameter receives
+	 * @param type the type of the parameter
+	 * @param isSubCommand whether the parameter receives the values of a Sub-Command
+	 */
+	private record BoundParameter(@NotNull String name, @NotNull Class<?> type, boolean isSubCommand) { }
+
+	private ConstructorBinder(@NotNull Class<?> type) {
+		this.type = type;
+
+		final Constructor<?> constructor = ConstructorBinder.findConstructor(type);
+		final Parameter[] parameters = constructor.getParameters();
+		final RecordComponent[] components = type.getRecordComponents();
+
+		this.parameters = new BoundParameter[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			this.parameters[i] = ConstructorBinder.getBoundParameter(
+				parameters[i], components == null ? null : components[i].getName()
+			);
+		}
+
+		// the type may be in a module that we don't read yet. Method handles are subject to that check.
+		ConstructorBinder.class.getModule().addReads(type.getModule());
+		try {
+			constructor.trySetAccessible();
+			this.constructor = MethodHandles.lookup().unreflectConstructor(constructor)
+				.asSpreader(Object[].class, parameters.length)
+				.asType(CONSTRUCTOR_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new CommandTemplateException("Unable to access the constructor of type " + type.getName() + ".", e);
+		}
+	}
+
+	/**
+	 * Returns the binder of the given type.
+	 * @param type the type to create instances of
+	 * @throws CommandTemplateException if the type has no suitable constructor
+	 */
+	static @NotNull ConstructorBinder of(@NotNull Class<?> type) {
+		return BINDERS.get(type);
+	}
+
+	/** Returns the canonical constructor of a record, or the constructor with annotated parameters of a class. */
+	private static @NotNull Constructor<?> findConstructor(@NotNull Class<?> type) {
+		try {
+			if (type.isRecord()) {
+				return type.getDeclaredConstructor(
+					Stream.of(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new)
+				);
+			}
+		} catch (NoSuchMethodException e) {
+			throw new AssertionError("records always have a canonical constructor", e);
+		}
+
+		final List<Constructor<?>> constructors = Stream.of(type.getDeclaredConstructors())
+			.filter(c -> Stream.of(c.getParameters()).anyMatch(p -> p.isAnnotationPresent(Argument.Define.class)))
+			.toList();
+
+		if (constructors.size() != 1)
+			throw new CommandTemplateException(
+				"Type " + type.getName() + " must be a record, or have a single constructor with parameters "
+					+ "annotated with @Argument.Define."
+			);
+
+		return constructors.get(0);
+	}
+
+	/**
+	 * Returns the name and type of the value that the given parameter receives.
+	 * @param parameter the parameter of the constructor
+	 * @param componentName the name of the record component of the parameter, if the type is a record
+	 */
+	private static @NotNull BoundParameter getBoundParameter(
+		@NotNull Parameter parameter,
+		@Nullable String componentName
+	)
+	{
+		final Class<?> type = parameter.getType();
+		final var argAnnotation = parameter.getAnnotation(Argument.Define.class);
+		final var cmdAnnotation = type.getAnnotation(Command.Define.class);
+
+		// Sub-Commands are named after the type
+		if (argAnnotation == null && cmdAnnotation != null) {
+			return new BoundParameter(
+				cmdAnnotation.names().length == 0 ? type.getSimpleName() : cmdAnnotation.names()[0], type, true
+			);
+		}
+
+		if (argAnnotation != null && argAnnotation.names().length > 0)
+			return new BoundParameter(argAnnotation.names()[0], type, false);
+
+		if (componentName != null)
+			return new BoundParameter(componentName, type, false);
+
+		if (!parameter.isNamePresent())
+			throw new CommandTemplateException(
+				"The name of the argument of parameter " + parameter.getName() + " of the constructor of type "
+					+ parameter.getDeclaringExecutable().getDeclaringClass().getName() + " must be specified in its "
+					+ "@Argument.Define annotation, or the class must be compiled with the -parameters option."
+			);
+
+		return new BoundParameter(parameter.getName(), type, false);
+	}
+
+	/**
+	 * Creates a new instance of the type with the values of the given parsed arguments.
+	 * @param parsedArgs the parsed arguments of the command that corresponds to the type
+	 * @param <T> the type
+	 * @return the new instance
+	 */
+	@SuppressWarnings("unchecked")
+	<T> @NotNull T bind(@NotNull ParsedArguments parsedArgs) {
+		final var values = new Object[this.parameters.length];
+
+		for (int i = 0; i < values.length; i++)
+			values[i] = this.getValue(this.parameters[i], parsedArgs);
+
+		try {
+			final Object result = this.constructor.invokeExact(values);
+			return (T)result;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/** Returns the value to pass to the given parameter. */
+	private @Nullable Object getValue(@NotNull BoundParameter parameter, @NotNull ParsedArguments parsedArgs) {
+		if (parameter.isSubCommand) {
+			final var subParsedArgs = parsedArgs.getSubParsedArgs(parameter.name);
+			if (subParsedArgs == null)
+				throw new CommandNotFoundException(parameter.name);
+
+			return ConstructorBinder.of(parameter.type).bind(subParsedArgs);
+		}
+
+		final Optional<?> parsedValue = parsedArgs.get(parameter.name);
+
+		if (parameter.type == Optional.class)
+			return parsedValue;
+
+		final Object value = ArgumentParser.AfterParseOptions.into$getNewFieldValue(
+			parameter.type, parameter.name, parsedValue
+		);
+
+		if (value == null ? parameter.type.isPrimitive() : !ConstructorBinder.isAssignable(parameter.type, value))
+			throw new IncompatibleCommandTemplateType(
+				"Parameter '" + parameter.name + "' of type '" + parameter.type.getSimpleName() + "' of the constructor "
+					+ "of type '" + this.type.getSimpleName() + "' is not compatible with the "
+					+ (value == null ? "null value" : "type (" + value.getClass().getSimpleName() + ")")
+					+ " of the parsed argument"
+			);
+
+		return value;
+	}
+
+	/** Returns {@code true} if the given value can be passed to a parameter of the given type. */
+	private static boolean isAssignable(@NotNull Class<?> type, @NotNull Object value) {
+		return (type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type).isInstance(value);
+	}
+}
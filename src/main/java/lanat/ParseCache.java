@@ -0,0 +1,93 @@
+package lanat;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.TextFormatter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of parse results, keyed by the input that produced them. When full, the least recently used result
+ * is removed.
+ * @see ArgumentParser#setParseCacheSize(int)
+ */
+final class ParseCache {
+	/** The maximum number of results to keep. */
+	final int maxSize;
+	private final @NotNull LinkedHashMap<@NotNull String, @NotNull Entry> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * A parse result stored in the cache. It does not reference the state of the parser, so it is not affected by
+	 * later parses. Its parsed arguments must be copied before being handed out, so that a caller that modifies the
+	 * values does not change the result of the next parses.
+	 * @param parsedArguments the parsed arguments
+	 * @param errors the formatted error messages
+	 * @param errorCode the error code
+	 * @param sequencesEnabled the value of {@link TextFormatter#enableSequences} when the errors were formatted
+	 */
+	record Entry(
+		@NotNull ParsedArgumentsRoot parsedArguments,
+		@NotNull List<@NotNull String> errors,
+		int errorCode,
+		boolean sequencesEnabled
+	) { }
+
+	/**
+	 * Creates a new cache.
+	 * @param maxSize the maximum number of results to keep
+	 */
+	ParseCache(int maxSize) {
+		this.maxSize = maxSize;
+		// access order, so the eldest entry is the least recently used one
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the result stored for the given input, or {@code null} if there is none. Results whose errors were
+	 * formatted with {@link TextFormatter#enableSequences} set to another value are removed.
+	 * @param input the input string
+	 */
+	@Nullable Entry get(@NotNull String input) {
+		var entry = this.entries.get(input);
+
+		if (entry != null && entry.sequencesEnabled() != TextFormatter.enableSequences) {
+			this.entries.remove(input);
+			entry = null;
+		}
+
+		if (entry == null)
+			this.misses++;
+		else
+			this.hits++;
+
+		return entry;
+	}
+
+	/**
+	 * Stores the result of parsing the given input.
+	 * @param input the input string
+	 * @param entry the result
+	 */
+	void put(@NotNull String input, @NotNull Entry entry) {
+		this.entries.put(input, entry);
+	}
+
+	/** Removes all the results, keeping the statistics. */
+	void clear() {
+		this.entries.clear();
+	}
+
+	/** Returns the statistics of this cache. */
+	@NotNull ArgumentParser.ParseCacheStats getStats() {
+		return new ArgumentParser.ParseCacheStats(this.hits, this.misses, this.entries.size());
+	}
+}
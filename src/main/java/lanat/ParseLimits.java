@@ -0,0 +1,127 @@
+package lanat;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Limits on the resources that a single parse of an {@link ArgumentParser} may use. These protect programs that parse
+ * untrusted input from inputs that would take too long to parse.
+ * <p>
+ * When any of the limits is exceeded (except for {@link #maxErrors()}), parsing stops right away, no callbacks are
+ * invoked, and an error that describes the limit is shown.
+ * </p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ * parser.setParseLimits(ParseLimits.NONE
+ *     .withMaxInputLength(4096)
+ *     .withMaxNestingDepth(8)
+ *     .withTimeout(Duration.ofMillis(50))
+ * );
+ * }</pre>
+ * @param maxInputLength the maximum number of characters of the input
+ * @param maxTokens the maximum number of tokens of all the commands together
+ * @param maxValuesPerArgument the maximum number of values that an argument may receive at once
+ * @param maxNestingDepth the maximum number of nested Sub-Commands used
+ * @param maxErrors the maximum number of errors to show. The rest are ignored, but they still count for the error
+ *  code.
+ * @param timeout the maximum time that a parse may take, or {@code null} for no limit. Argument types only stop when
+ *  they check it, so a type that waits for input (like stdin) may take longer.
+ * @see ArgumentParser#setParseLimits(ParseLimits)
+ */
+public record ParseLimits(
+	int maxInputLength,
+	int maxTokens,
+	int maxValuesPerArgument,
+	int maxNestingDepth,
+	int maxErrors,
+	@Nullable Duration timeout
+)
+{
+	/** No limits at all. This is the default. */
+	public static final ParseLimits NONE = new ParseLimits(
+		Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, null
+	);
+
+	public ParseLimits {
+		if (maxInputLength < 0)
+			throw new IllegalArgumentException("maxInputLength cannot be negative");
+		if (maxTokens < 0)
+			throw new IllegalArgumentException("maxTokens cannot be negative");
+		if (maxValuesPerArgument < 1)
+			throw new IllegalArgumentException("maxValuesPerArgument must be at least 1");
+		if (maxNestingDepth < 0)
+			throw new IllegalArgumentException("maxNestingDepth cannot be negative");
+		if (maxErrors < 1)
+			throw new IllegalArgumentException("maxErrors must be at least 1");
+		if (timeout != null && (timeout.isNegative() || timeout.isZero()))
+			throw new IllegalArgumentException("timeout must be positive");
+	}
+
+	/** Returns a copy of these limits with the given maximum number of characters of the input. */
+	public @NotNull ParseLimits withMaxInputLength(int maxInputLength) {
+		return new ParseLimits(
+			maxInputLength, this.maxTokens, this.maxValuesPerArgument, this.maxNestingDepth, this.maxErrors, this.timeout
+		);
+	}
+
+	/** Returns a copy of these limits with the given maximum number of tokens. */
+	public @NotNull ParseLimits withMaxTokens(int maxTokens) {
+		return new ParseLimits(
+			this.maxInputLength, maxTokens, this.maxValuesPerArgument, this.maxNestingDepth, this.maxErrors, this.timeout
+		);
+	}
+
+	/** Returns a copy of these limits with the given maximum number of values per argument. */
+	public @NotNull ParseLimits withMaxValuesPerArgument(int maxValuesPerArgument) {
+		return new ParseLimits(
+			this.maxInputLength, this.maxTokens, maxValuesPerArgument, this.maxNestingDepth, this.maxErrors, this.timeout
+		);
+	}
+
+	/** Returns a copy of these limits with the given maximum number of nested Sub-Commands. */
+	public @NotNull ParseLimits withMaxNestingDepth(int maxNestingDepth) {
+		return new ParseLimits(
+			this.maxInputLength, this.maxTokens, this.maxValuesPerArgument, maxNestingDepth, this.maxErrors, this.timeout
+		);
+	}
+
+	/** Returns a copy of these limits with the given maximum number of errors to show. */
+	public @NotNull ParseLimits withMaxErrors(int maxErrors) {
+		return new ParseLimits(
+			this.maxInputLength, this.maxTokens, this.maxValuesPerArgument, this.maxNestingDepth, maxErrors, this.timeout
+		);
+	}
+
+	/** Returns a copy of these limits with the given maximum time that a parse may take. */
+	public @NotNull ParseLimits withTimeout(@Nullable Duration timeout) {
+		return new ParseLimits(
+			this.maxInputLength, this.maxTokens, this.maxValuesPerArgument, this.maxNestingDepth, this.maxErrors, timeout
+		);
+	}
+
+
+	/** A limit that stops parsing when exceeded. */
+	public enum Limit {
+		INPUT_LENGTH("The input is longer than the maximum of %d characters."),
+		TOKENS("The input has more than the maximum of %d tokens."),
+		VALUES_PER_ARGUMENT("An argument received more than the maximum of %d values."),
+		NESTING_DEPTH("The input uses more than the maximum of %d nested Sub-Commands."),
+		TIMEOUT("Parsing took longer than the maximum of %d milliseconds.");
+
+		private final @NotNull String message;
+
+		Limit(@NotNull String message) {
+			this.message = message;
+		}
+
+		/**
+		 * Returns the message that describes this limit being exceeded.
+		 * @param maximum the value of the limit
+		 */
+		public @NotNull String getMessage(long maximum) {
+			return this.message.formatted(maximum);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package lanat;
+
+import lanat.parsing.Token;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The input and the outcome of a parse, as stored by a {@link ParseRecorder}.
+ * @param input the input string that was parsed
+ * @param durationNanos the time taken by the parse, in nanoseconds
+ * @param tokens the tokens of all the commands. Empty if the result was taken from the parse cache.
+ * @param values the string representation of the values of the arguments that were used, by their route
+ *  (e.g. {@code "subCommand.arg"})
+ * @param errors the formatted error messages
+ * @param errorCode the error code
+ * @see ParseRecorder
+ * @see ParseReplay
+ */
+public record ParseRecord(
+	@NotNull String input,
+	long durationNanos,
+	@NotNull List<@NotNull Token> tokens,
+	@NotNull Map<@NotNull String, @NotNull String> values,
+	@NotNull List<@NotNull String> errors,
+	int errorCode
+)
+{
+	public ParseRecord {
+		tokens = List.copyOf(tokens);
+		values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+		errors = List.copyOf(errors);
+	}
+
+	/**
+	 * Creates a record of a parse.
+	 * @param input the input string that was parsed
+	 * @param durationNanos the time taken by the parse, in nanoseconds
+	 * @param tokens the tokens of all the commands
+	 * @param options the result of the parse
+	 */
+	static @NotNull ParseRecord of(
+		@NotNull String input,
+		long durationNanos,
+		@NotNull List<@NotNull Token> tokens,
+		@NotNull ArgumentParser.AfterParseOptions options
+	)
+	{
+		final var values = new LinkedHashMap<String, String>();
+		ParseRecord.of$collectValues(options.getParsedArguments(), "", values);
+
+		return new ParseRecord(input, durationNanos, tokens, values, options.getErrors(), options.getErrorCode());
+	}
+
+	/** Adds the values of the used arguments of the given parsed arguments and their Sub-Commands to the map. */
+	private static void of$collectValues(
+		@NotNull ParsedArguments parsedArgs,
+		@NotNull String routePrefix,
+		@NotNull Map<@NotNull String, @NotNull String> values
+	)
+	{
+		for (final var argument : parsedArgs.getCommand().getArguments()) {
+			if (!parsedArgs.wasUsed(argument)) continue;
+			values.put(routePrefix + argument.getName(), ParseRecord.valueToString(parsedArgs.get(argument).orElse(null)));
+		}
+
+		for (final var subParsedArgs : parsedArgs.getSubParsedArgs()) {
+			ParseRecord.of$collectValues(
+				subParsedArgs, routePrefix + subParsedArgs.getCommand().getName() + ".", values
+			);
+		}
+	}
+
+	/** Returns the string representation of a parsed value. Arrays show their elements. */
+	private static @NotNull String valueToString(@Nullable Object value) {
+		// wrapping the value makes deepToString handle arrays of primitives too
+		final String str = Arrays.deepToString(new Object[] { value });
+		return str.substring(1, str.length() - 1);
+	}
+
+	/**
+	 * Returns {@code true} if the given record has the same outcome as this one. The durations are not compared, and
+	 * neither are the tokens if any of the records has none.
+	 * @param other the record to compare with
+	 */
+	public boolean hasSameOutcome(@NotNull ParseRecord other) {
+		return this.input.equals(other.input)
+			&& (this.tokens.isEmpty() || other.tokens.isEmpty() || this.tokens.equals(other.tokens))
+			&& this.values.equals(other.values)
+			&& this.errors.equals(other.errors)
+			&& this.errorCode == other.errorCode;
+	}
+}
@@ -0,0 +1,353 @@
+package lanat;
+
+import lanat.parsing.Token;
+import lanat.parsing.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Stores the input and the outcome of every parse of an {@link ArgumentParser} in a binary log file, so they can be
+ * inspected or replayed later with {@link ParseReplay}.
+ * <p>
+ * Records are appended to the file at the given path through a buffer. When the file would grow larger than the
+ * maximum size, it is rotated: it is renamed to {@code <path>.1}, the previous {@code <path>.1} is renamed to
+ * {@code <path>.2}, and so on, removing the oldest one when there are more files than the maximum.
+ * </p>
+ * <p>
+ * Records are only guaranteed to be written to the file after {@link #flush()} or {@link #close()} are called.
+ * </p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ * try (var recorder = new ParseRecorder(Path.of("parses.log"))) {
+ *     parser.setParseRecorder(recorder);
+ *     ...
+ * }
+ * }</pre>
+ * @see ArgumentParser#setParseRecorder(ParseRecorder)
+ * @see ParseRecord
+ */
+public final class ParseRecorder implements Closeable {
+	/** The first bytes of every log file. ({@code LNTR}) */
+	private static final int MAGIC = 0x4C4E5452;
+	/** The version of the format of the log. Changes whenever the format changes. */
+	private static final short FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final @NotNull Path path;
+	private final long maxFileSize;
+	private final int maxFiles;
+	private final @NotNull ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private @NotNull FileChannel channel;
+	/** The error that made recording stop, if any. */
+	private @Nullable IOException failure;
+
+	/**
+	 * Creates a recorder that appends to the log file at the given path, creating it if it does not exist.
+	 * @param path the path of the log file
+	 * @param maxFileSize the size in bytes that the log file may reach before it is rotated
+	 * @param maxFiles the maximum number of files to keep, including the current one
+	 * @throws IOException if the file could not be opened, or it is not a log file
+	 */
+	public ParseRecorder(@NotNull Path path, long maxFileSize, int maxFiles) throws IOException {
+		if (maxFileSize <= HEADER_SIZE)
+			throw new IllegalArgumentException("maxFileSize must be greater than " + HEADER_SIZE);
+		if (maxFiles < 1)
+			throw new IllegalArgumentException("maxFiles must be at least 1");
+
+		this.path = path;
+		this.maxFileSize = maxFileSize;
+		this.maxFiles = maxFiles;
+		this.channel = this.openChannel();
+	}
+
+	/**
+	 * Creates a recorder that appends to the log file at the given path, creating it if it does not exist. The file is
+	 * rotated when it reaches 16 MiB, keeping up to 4 files.
+	 * @param path the path of the log file
+	 * @throws IOException if the file could not be opened, or it is not a log file
+	 */
+	public ParseRecorder(@NotNull Path path) throws IOException {
+		this(path, 16 * 1024 * 1024, 4);
+	}
+
+	/**
+	 * Opens the log file for appending, writing the header if it is empty. If the last record of the file is
+	 * incomplete (e.g. if the program was killed while writing it), it is removed, so that new records are appended
+	 * right after the last complete one.
+	 */
+	private @NotNull FileChannel openChannel() throws IOException {
+		final var channel = FileChannel.open(
+			this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ
+		);
+
+		try {
+			if (channel.size() == 0) {
+				channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(FORMAT_VERSION).flip());
+			} else {
+				final var header = ByteBuffer.allocate(HEADER_SIZE);
+				channel.read(header, 0);
+				ParseRecorder.checkHeader(header.flip(), this.path);
+
+				final long end = ParseRecorder.findEndOfRecords(channel);
+				if (end < channel.size())
+					channel.truncate(end);
+			}
+			channel.position(channel.size());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		return channel;
+	}
+
+	/**
+	 * Returns the position right after the last complete record of the given log file.
+	 * @param channel the channel of the log file, with a valid header
+	 */
+	private static long findEndOfRecords(@NotNull FileChannel channel) throws IOException {
+		final long size = channel.size();
+		final var sizeBuffer = ByteBuffer.allocate(Integer.BYTES);
+		long position = HEADER_SIZE;
+
+		while (position + Integer.BYTES <= size) {
+			sizeBuffer.clear();
+			while (sizeBuffer.hasRemaining())
+				channel.read(sizeBuffer, position + sizeBuffer.position());
+
+			final int recordSize = sizeBuffer.flip().getInt();
+			if (recordSize < 0 || position + Integer.BYTES + recordSize > size)
+				break;
+
+			position += Integer.BYTES + recordSize;
+		}
+
+		return position;
+	}
+
+	/**
+	 * Appends the given record to the log. If it could not be written, the recorder stops recording, and the error can
+	 * be obtained with {@link #getFailure()}.
+	 * @param record the record to append
+	 * @throws UncheckedIOException if the record could not be written
+	 */
+	public synchronized void record(@NotNull ParseRecord record) {
+		if (this.failure != null)
+			return;
+
+		final byte[] bytes = ParseRecorder.encode(record);
+		final int size = Integer.BYTES + bytes.length;
+
+		try {
+			if (this.channel.position() + this.buffer.position() + size > this.maxFileSize
+				&& this.channel.position() + this.buffer.position() > HEADER_SIZE)
+				this.rotate();
+
+			if (this.buffer.remaining() < size)
+				this.writeBuffer();
+
+			if (size > this.buffer.capacity()) {
+				// too large for the buffer, so write it directly
+				final var direct = ByteBuffer.allocate(size).putInt(bytes.length).put(bytes).flip();
+				while (direct.hasRemaining())
+					this.channel.write(direct);
+			} else {
+				this.buffer.putInt(bytes.length).put(bytes);
+			}
+		} catch (IOException e) {
+			this.failure = e;
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the error that made this recorder stop recording, if a record could not be written.
+	 * @see #record(ParseRecord)
+	 */
+	public synchronized @NotNull Optional<IOException> getFailure() {
+		return Optional.ofNullable(this.failure);
+	}
+
+	/**
+	 * Writes the buffered records to the log file.
+	 * @throws IOException if the records could not be written
+	 */
+	public synchronized void flush() throws IOException {
+		this.writeBuffer();
+		this.channel.force(false);
+	}
+
+	private void writeBuffer() throws IOException {
+		this.buffer.flip();
+		while (this.buffer.hasRemaining())
+			this.channel.write(this.buffer);
+		this.buffer.clear();
+	}
+
+	/** Closes the current log file, shifts the names of the previous ones, and opens a new one. */
+	private void rotate() throws IOException {
+		this.writeBuffer();
+		this.channel.close();
+
+		if (this.maxFiles == 1) {
+			Files.delete(this.path);
+		} else {
+			Files.deleteIfExists(this.getRotatedPath(this.maxFiles - 1));
+			for (int i = this.maxFiles - 2; i >= 0; i--) {
+				final Path rotatedPath = this.getRotatedPath(i);
+				if (Files.exists(rotatedPath))
+					Files.move(rotatedPath, this.getRotatedPath(i + 1), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		this.channel = this.openChannel();
+	}
+
+	/**
+	 * Returns the path of the log file that was rotated the given number of times.
+	 * @param index the number of rotations. {@code 0} returns the path of the current file.
+	 */
+	public @NotNull Path getRotatedPath(int index) {
+		return index == 0 ? this.path : this.path.resolveSibling(this.path.getFileName() + "." + index);
+	}
+
+	/**
+	 * Writes the buffered records and closes the log file.
+	 * @throws IOException if the records could not be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			this.writeBuffer();
+		} finally {
+			this.channel.close();
+		}
+	}
+
+
+	/**
+	 * Reads the records of the given log file in order, passing each one to the given consumer as soon as it is read.
+	 * An incomplete record at the end of the file (e.g. if the program was killed while writing it) is ignored.
+	 * @param path the path of the log file
+	 * @param consumer the consumer of the records
+	 * @throws IOException if the file could not be read, or it is not a log file
+	 */
+	public static void read(@NotNull Path path, @NotNull Consumer<@NotNull ParseRecord> consumer) throws IOException {
+		try (final var stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+			ParseRecorder.checkHeader(ByteBuffer.wrap(stream.readNBytes(HEADER_SIZE)), path);
+
+			while (true) {
+				final byte[] sizeBytes = stream.readNBytes(Integer.BYTES);
+				if (sizeBytes.length < Integer.BYTES) return;
+
+				final int size = ByteBuffer.wrap(sizeBytes).getInt();
+				final byte[] bytes = stream.readNBytes(size);
+				if (bytes.length < size) return;
+
+				consumer.accept(ParseRecorder.decode(bytes));
+			}
+		}
+	}
+
+	private static void checkHeader(@NotNull ByteBuffer header, @NotNull Path path) throws IOException {
+		if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+			throw new IOException("File " + path + " is not a parse log.");
+
+		final short version = header.getShort();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Parse log " + path + " has an unsupported format version (" + version + ").");
+	}
+
+	/*
+	 * A record is stored as:
+	 * - input (string)
+	 * - duration in nanoseconds (long)
+	 * - number of tokens (int), and for each: type ordinal (byte), contents (string)
+	 * - number of values (int), and for each: route (string), value (string)
+	 * - number of errors (int), and for each: message (string)
+	 * - error code (int)
+	 * Strings are stored as their length in bytes (int) followed by their UTF-8 bytes.
+	 */
+
+	private static byte @NotNull [] encode(@NotNull ParseRecord record) {
+		final var bytes = new ByteArrayOutputStream(256);
+
+		try (final var out = new DataOutputStream(bytes)) {
+			ParseRecorder.writeString(out, record.input());
+			out.writeLong(record.durationNanos());
+
+			out.writeInt(record.tokens().size());
+			for (final var token : record.tokens()) {
+				out.writeByte(token.type().ordinal());
+				ParseRecorder.writeString(out, token.contents());
+			}
+
+			out.writeInt(record.values().size());
+			for (final var entry : record.values().entrySet()) {
+				ParseRecorder.writeString(out, entry.getKey());
+				ParseRecorder.writeString(out, entry.getValue());
+			}
+
+			out.writeInt(record.errors().size());
+			for (final var error : record.errors())
+				ParseRecorder.writeString(out, error);
+
+			out.writeInt(record.errorCode());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // never happens, we are writing to memory
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static @NotNull ParseRecord decode(byte @NotNull [] bytes) throws IOException {
+		final var in = new DataInputStream(new ByteArrayInputStream(bytes));
+		final var tokenTypes = TokenType.values();
+
+		final String input = ParseRecorder.readString(in);
+		final long durationNanos = in.readLong();
+
+		final int tokenCount = in.readInt();
+		final var tokens = new ArrayList<Token>(tokenCount);
+		for (int i = 0; i < tokenCount; i++)
+			tokens.add(new Token(tokenTypes[in.readByte()], ParseRecorder.readString(in)));
+
+		final int valueCount = in.readInt();
+		final var values = new LinkedHashMap<String, String>(valueCount);
+		for (int i = 0; i < valueCount; i++)
+			values.put(ParseRecorder.readString(in), ParseRecorder.readString(in));
+
+		final int errorCount = in.readInt();
+		final var errors = new ArrayList<String>(errorCount);
+		for (int i = 0; i < errorCount; i++)
+			errors.add(ParseRecorder.readString(in));
+
+		return new ParseRecord(input, durationNanos, tokens, values, errors, in.readInt());
+	}
+
+	private static void writeString(@NotNull DataOutputStream out, @NotNull String str) throws IOException {
+		final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static @NotNull String readString(@NotNull DataInputStream in) throws IOException {
+		final var bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
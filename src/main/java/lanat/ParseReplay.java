@@ -0,0 +1,81 @@
+package lanat;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the inputs stored in a log written by a {@link ParseRecorder} again, and compares the new outcomes with the
+ * recorded ones. This allows checking that changes to a parser do not change how real inputs are parsed, and comparing
+ * the time taken to parse them.
+ * <p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ * var result = ParseReplay.replay(parser, Path.of("parses.log"));
+ * for (var mismatch : result.mismatches())
+ *     System.out.println("Different outcome for input: " + mismatch.recorded().input());
+ * }</pre>
+ * @see ParseRecorder
+ */
+public final class ParseReplay {
+	private ParseReplay() {}
+
+	/**
+	 * The outcome of a replay.
+	 * @param count the number of records replayed
+	 * @param mismatches the records whose outcome was different when parsed again
+	 * @param recordedNanos the total time taken by the recorded parses, in nanoseconds
+	 * @param replayedNanos the total time taken to parse the inputs again, in nanoseconds
+	 */
+	public record Result(
+		int count,
+		@NotNull List<@NotNull Mismatch> mismatches,
+		long recordedNanos,
+		long replayedNanos
+	) {
+		/** Returns {@code true} if all the records had the same outcome when parsed again. */
+		public boolean isSuccessful() {
+			return this.mismatches.isEmpty();
+		}
+	}
+
+	/**
+	 * A record whose outcome was different when parsed again.
+	 * @param recorded the record stored in the log
+	 * @param replayed the record of parsing the same input again
+	 * @see ParseRecord#hasSameOutcome(ParseRecord)
+	 */
+	public record Mismatch(@NotNull ParseRecord recorded, @NotNull ParseRecord replayed) { }
+
+	/**
+	 * Parses each input stored in the given log file with the given parser, and compares the outcome with the recorded
+	 * one. The records are read one by one, so logs of any size can be replayed.
+	 * <p>
+	 * The parser should not invoke callbacks that have side effects, since they will run for every input.
+	 * </p>
+	 * @param parser the parser to parse the inputs with
+	 * @param path the path of the log file
+	 * @return the outcome of the replay
+	 * @throws IOException if the file could not be read, or it is not a log file
+	 */
+	public static @NotNull Result replay(@NotNull ArgumentParser parser, @NotNull Path path) throws IOException {
+		final var mismatches = new ArrayList<Mismatch>();
+		final long[] counters = new long[3]; // count, recorded nanos, replayed nanos
+
+		ParseRecorder.read(path, recorded -> {
+			final var replayed = parser.parseToRecord(CLInput.from(recorded.input()));
+
+			if (!recorded.hasSameOutcome(replayed))
+				mismatches.add(new Mismatch(recorded, replayed));
+
+			counters[0]++;
+			counters[1] += recorded.durationNanos();
+			counters[2] += replayed.durationNanos();
+		});
+
+		return new Result((int)counters[0], List.copyOf(mismatches), counters[1], counters[2]);
+	}
+}
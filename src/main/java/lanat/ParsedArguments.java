@@ -6,30 +6,79 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import utils.UtlString;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Container for all the parsed arguments and their respective values.
+ * <p>
+ * The values are stored in an array, in the same order as the arguments of the command, so getting the value of an
+ * argument is just indexing the array.
+ * </p>
  */
 public class ParsedArguments {
-	private final @NotNull HashMap<@NotNull Argument<?, ?>, @Nullable Object> parsedArgs;
+	/** The parsed values, in the same order as the arguments of {@link #cmd}. */
+	private final @Nullable Object @NotNull [] parsedValues;
+	/** The indices of the arguments of {@link #cmd} that were used. */
+	private final @NotNull BitSet usedArguments;
 	private final @NotNull Command cmd;
 	private final @NotNull List<@NotNull ParsedArguments> subParsedArguments;
 
 	ParsedArguments(
 		@NotNull Command cmd,
-		@NotNull HashMap<@NotNull Argument<?, ?>, @Nullable Object> parsedArgs,
+		@Nullable Object @NotNull [] parsedValues,
+		@NotNull BitSet usedArguments,
 		@NotNull List<@NotNull ParsedArguments> subParsedArguments
 	)
 	{
-		this.parsedArgs = parsedArgs;
+		this.parsedValues = parsedValues;
+		this.usedArguments = usedArguments;
 		this.cmd = cmd;
 		this.subParsedArguments = subParsedArguments;
 	}
 
+	/**
+	 * Creates a copy of the given parsed arguments, and of the ones of its Sub-Commands, that does not share the
+	 * arrays and lists among the values with them. Lists are copied into unmodifiable lists. Other values are shared.
+	 * @param other The parsed arguments to copy.
+	 */
+	ParsedArguments(@NotNull ParsedArguments other) {
+		this.parsedValues = new Object[other.parsedValues.length];
+		for (int i = 0; i < this.parsedValues.length; i++)
+			this.parsedValues[i] = ParsedArguments.copyValue(other.parsedValues[i]);
+
+		this.usedArguments = other.usedArguments;
+		this.cmd = other.cmd;
+		this.subParsedArguments = other.subParsedArguments.stream().map(ParsedArguments::copy).toList();
+	}
+
+	/**
+	 * Returns a copy of these parsed arguments that does not share the arrays and lists among the values with them.
+	 * @see #ParsedArguments(ParsedArguments)
+	 */
+	@NotNull ParsedArguments copy() {
+		return new ParsedArguments(this);
+	}
+
+	private static @Nullable Object copyValue(@Nullable Object value) {
+		if (value instanceof List<?> list)
+			return Collections.unmodifiableList(new ArrayList<>(list));
+
+		if (value != null && value.getClass().isArray()) {
+			// works for arrays of primitives too
+			final int length = Array.getLength(value);
+			final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			System.arraycopy(value, 0, copy, 0, length);
+			return copy;
+		}
+
+		return value;
+	}
+
 	/**
 	 * Returns the parsed value of the argument with the given name.
 	 * @param arg The argument to get the value of
@@ -39,11 +88,49 @@ public class ParsedArguments {
 	 */
 	@SuppressWarnings("unchecked") // we'll just have to trust the user
 	public <T> @NotNull Optional<T> get(@NotNull Argument<?, T> arg) {
-		if (!this.parsedArgs.containsKey(arg)) {
-			throw new ArgumentNotFoundException(arg);
+		return Optional.ofNullable((T)this.parsedValues[this.getOrdinal(arg)]);
+	}
+
+	/**
+	 * Returns {@code true} if the given argument was used in the input.
+	 * @param arg The argument to check
+	 * @return {@code true} if the argument was used, {@code false} otherwise
+	 */
+	public boolean wasUsed(@NotNull Argument<?, ?> arg) {
+		return this.usedArguments.get(this.getOrdinal(arg));
+	}
+
+	/**
+	 * Returns {@code true} if the argument with the given name was used in the input. In order to check arguments in
+	 * sub-commands, use the <code>.</code> separator to specify the route to the argument.
+	 * More info at {@link #get(String)}
+	 * @param argRoute The route to the argument, separated by the <code>.</code> character.
+	 * @return {@code true} if the argument was used, {@code false} otherwise
+	 * @throws CommandNotFoundException If the command specified in the route does not exist
+	 * @throws ArgumentNotFoundException If the argument specified in the route does not exist
+	 */
+	public boolean wasUsed(@NotNull String argRoute) {
+		final String[] route = UtlString.split(argRoute, '.');
+		ParsedArguments parsedArgs = this;
+
+		for (int i = 0; i < route.length - 1; i++) {
+			parsedArgs = parsedArgs.getSubParsedArgs(route[i]);
+			if (parsedArgs == null)
+				throw new CommandNotFoundException(route[i]);
 		}
 
-		return Optional.ofNullable((T)this.parsedArgs.get(arg));
+		return parsedArgs.wasUsed(parsedArgs.cmd.getArgument(route[route.length - 1]));
+	}
+
+	/**
+	 * Returns the index of the value of the given argument in {@link #parsedValues}.
+	 * @throws ArgumentNotFoundException If the argument does not belong to the command of this object
+	 */
+	private int getOrdinal(@NotNull Argument<?, ?> arg) {
+		if (arg.getParentCommand() != this.cmd || arg.ordinal >= this.parsedValues.length)
+			throw new ArgumentNotFoundException(arg);
+
+		return arg.ordinal;
 	}
 
 	/**
@@ -97,35 +184,73 @@ public class ParsedArguments {
 	 *  {@link Optional#empty()} if the argument was not found.
 	 * @param <T> The type of the value of the argument.
 	 */
-	@SuppressWarnings("unchecked") // we'll just have to trust the user
 	public <T> @NotNull Optional<T> get(@NotNull String... argRoute) {
 		if (argRoute.length == 0) {
 			throw new IllegalArgumentException("argument route must not be empty");
 		}
 
+		return this.get(argRoute, 0);
+	}
+
+	/**
+	 * {@link #get(String...)} helper method. Returns the parsed value of the argument at the given route, starting
+	 * from the given index of it.
+	 */
+	@SuppressWarnings("unchecked") // we'll just have to trust the user
+	private <T> @NotNull Optional<T> get(@NotNull String @NotNull [] argRoute, int index) {
 		ParsedArguments matchedParsedArgs;
 
-		if (argRoute.length == 1) {
-			return (Optional<T>)this.get(this.getArgument(argRoute[0]));
-		} else if ((matchedParsedArgs = this.getSubParsedArgs(argRoute[0])) != null) {
-			return matchedParsedArgs.get(Arrays.copyOfRange(argRoute, 1, argRoute.length));
+		if (index == argRoute.length - 1) {
+			return (Optional<T>)this.get(this.getArgument(argRoute[index]));
+		} else if ((matchedParsedArgs = this.getSubParsedArgs(argRoute[index])) != null) {
+			return matchedParsedArgs.get(argRoute, index + 1);
 		} else {
-			throw new CommandNotFoundException(argRoute[0]);
+			throw new CommandNotFoundException(argRoute[index]);
+		}
+	}
+
+	/**
+	 * Returns the parsed value of the argument that the given key refers to. This is faster than getting it by its
+	 * route, since the key has already been resolved.
+	 * @param key The key of the argument, created from the command of this object.
+	 * @param <T> The type of the value of the argument
+	 * @return An {@link Optional} containing the parsed value of the argument.
+	 * @throws IllegalArgumentException If the key was not created from the command of this object
+	 * @see ArgumentKey
+	 */
+	public <T> @NotNull Optional<T> get(@NotNull ArgumentKey<T> key) {
+		if (key.command != this.cmd)
+			throw new IllegalArgumentException("the key does not belong to the command of these parsed arguments");
+
+		ParsedArguments parsedArgs = this;
+		for (int i = 0; i < key.subCommandIndices.length; i++) {
+			parsedArgs = parsedArgs.subParsedArguments.get(key.subCommandIndices[i]);
+
+			// the Sub-Commands of a command should not change after parsing, but just in case
+			if (parsedArgs.cmd != key.subCommands[i])
+				throw new IllegalStateException("the Sub-Commands have changed since the key was created");
 		}
+
+		return parsedArgs.get(key.argument);
 	}
 
 	/**
-	 * Returns the argument in {@link #parsedArgs} with the given name.
+	 * Returns the argument of the command of this object with the given name.
 	 *
 	 * @throws ArgumentNotFoundException If no argument with the given name is found
 	 */
 	private @NotNull Argument<?, ?> getArgument(@NotNull String name) {
-		for (var arg : this.parsedArgs.keySet()) {
-			if (arg.hasName(name)) {
-				return arg;
-			}
-		}
-		throw new ArgumentNotFoundException(name);
+		return this.cmd.getArgument(name);
+	}
+
+	/** Returns the command that these parsed arguments belong to. */
+	@NotNull Command getCommand() {
+		return this.cmd;
+	}
+
+	/** Returns the parsed arguments of all the Sub-Commands of the command. */
+	@NotNull List<@NotNull ParsedArguments> getSubParsedArgs() {
+		return this.subParsedArguments;
 	}
 
 	/**
@@ -136,8 +261,8 @@ public class ParsedArguments {
 	 * @return The sub {@link ParsedArguments} with the given name, or {@code null} if none is found
 	 */
 	public ParsedArguments getSubParsedArgs(@NotNull String name) {
-		for (var sub : this.subParsedArguments)
-			if (sub.cmd.hasName(name)) return sub;
-		return null;
+		// the results of the Sub-Commands are in the same order as the Sub-Commands
+		final Command subCommand = this.cmd.findCommand(name);
+		return subCommand == null ? null : this.subParsedArguments.get(subCommand.ordinal);
 	}
 }
\ No newline at end of file
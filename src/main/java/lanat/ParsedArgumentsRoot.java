@@ -3,7 +3,7 @@ package lanat;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,15 +16,27 @@ public class ParsedArgumentsRoot extends ParsedArguments {
 
 	ParsedArgumentsRoot(
 		@NotNull ArgumentParser cmd,
-		@NotNull HashMap<@NotNull Argument<?, ?>, @Nullable Object> parsedArgs,
+		@Nullable Object @NotNull [] parsedValues,
+		@NotNull BitSet usedArguments,
 		@NotNull List<@NotNull ParsedArguments> subArgs,
 		@Nullable String forwardValue
 	)
 	{
-		super(cmd, parsedArgs, subArgs);
+		super(cmd, parsedValues, usedArguments, subArgs);
 		this.forwardValue = forwardValue;
 	}
 
+	/** @see ParsedArguments#ParsedArguments(ParsedArguments) */
+	private ParsedArgumentsRoot(@NotNull ParsedArgumentsRoot other) {
+		super(other);
+		this.forwardValue = other.forwardValue;
+	}
+
+	@Override
+	@NotNull ParsedArgumentsRoot copy() {
+		return new ParsedArgumentsRoot(this);
+	}
+
 	/**
 	 * Returns the forward value. The forward value is the string that is passed after the {@code --} token.
 	 * @return An {@link Optional} containing the forward value, or {@link Optional#empty()} if there is no forward
@@ -0,0 +1,64 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import utils.Range;
+
+import java.util.Arrays;
+
+/**
+ * An argument type that may be used multiple times, and accumulates the floating point numbers received in all of
+ * its usages into a {@code double[]}.
+ * @see AccumulatingNumbersArgumentType
+ */
+public class AccumulatingDoublesArgumentType extends AccumulatingNumbersArgumentType<double[]> {
+	private double @NotNull [] buffer;
+
+	/**
+	 * Creates a new {@link AccumulatingDoublesArgumentType}.
+	 * @param range The range of values that the argument will take on each usage.
+	 * @param expectedValues The number of values expected in total. Used for sizing the initial buffer.
+	 * @param options The options to enable for parsing each value.
+	 * @see NumberParser.Option
+	 */
+	public AccumulatingDoublesArgumentType(
+		@NotNull Range range,
+		int expectedValues,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, "Double", new double[0], options);
+		this.buffer = new double[expectedValues];
+	}
+
+	/**
+	 * Creates a new {@link AccumulatingDoublesArgumentType} that takes a single value on each usage.
+	 */
+	public AccumulatingDoublesArgumentType() {
+		this(Range.ONE, 16);
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		if (capacity > this.buffer.length)
+			this.buffer = Arrays.copyOf(this.buffer, AccumulatingNumbersArgumentType.grow(this.buffer.length, capacity));
+	}
+
+	@Override
+	protected boolean parseInto(@NotNull NumberParser parser, @NotNull String value, int index) {
+		if (!parser.parseDouble(value))
+			return false;
+
+		this.buffer[index] = parser.getDouble();
+		return true;
+	}
+
+	@Override
+	protected double @NotNull [] getBuffer() {
+		return this.buffer;
+	}
+
+	@Override
+	protected double @NotNull [] copyBuffer(int size) {
+		return Arrays.copyOf(this.buffer, size);
+	}
+}
@@ -0,0 +1,69 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.Range;
+
+import java.util.HashMap;
+
+/**
+ * An argument type that may be used multiple times, and accumulates the key-value pairs received in all of its usages
+ * into a single map. e.g. {@code -D a=1 -D b=2} results in {@code {a=1, b=2}}.
+ * <p>
+ * The pairs are added to the same map on every usage, so no copies are made. A key may still only be specified once.
+ * </p>
+ * @param <T> The type of the argument type used to parse the values.
+ * @param <Ts> The type of the values.
+ * @see KeyValuesArgumentType
+ */
+public class AccumulatingKeyValuesArgumentType<T extends ArgumentType<Ts>, Ts> extends KeyValuesArgumentType<T, Ts> {
+	private final int expectedPairs;
+	private @NotNull HashMap<@NotNull String, @NotNull Ts> pairs;
+
+	/**
+	 * Creates a new accumulating key-values argument type.
+	 * @param argumentType The argument type used to parse the values.
+	 * @param expectedPairs The number of pairs expected in total. Used for sizing the initial map.
+	 */
+	public AccumulatingKeyValuesArgumentType(@NotNull T argumentType, int expectedPairs) {
+		super(argumentType);
+		this.expectedPairs = expectedPairs;
+		this.pairs = this.createMap();
+	}
+
+	/**
+	 * Creates a new accumulating key-values argument type.
+	 * @param argumentType The argument type used to parse the values.
+	 */
+	public AccumulatingKeyValuesArgumentType(@NotNull T argumentType) {
+		this(argumentType, 16);
+	}
+
+	private @NotNull HashMap<@NotNull String, @NotNull Ts> createMap() {
+		// make sure the map does not need to be resized until it has more pairs than expected
+		return new HashMap<>((int)(this.expectedPairs / 0.75f) + 1);
+	}
+
+	@Override
+	protected @NotNull HashMap<@NotNull String, @NotNull Ts> getMapForUsage() {
+		return this.pairs;
+	}
+
+	@Override
+	public @NotNull Range getRequiredUsageCount() {
+		return Range.AT_LEAST_ONE;
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return super.getDescription() + " Can be used multiple times, and all the pairs are accumulated.";
+	}
+
+	@Override
+	public void resetState() {
+		super.resetState();
+		// a new map, since the previous one may still be referenced by the previous results
+		this.pairs = this.createMap();
+	}
+}
@@ -0,0 +1,64 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import utils.Range;
+
+import java.util.Arrays;
+
+/**
+ * An argument type that may be used multiple times, and accumulates the large integer numbers received in all of its
+ * usages into a {@code long[]}.
+ * @see AccumulatingNumbersArgumentType
+ */
+public class AccumulatingLongsArgumentType extends AccumulatingNumbersArgumentType<long[]> {
+	private long @NotNull [] buffer;
+
+	/**
+	 * Creates a new {@link AccumulatingLongsArgumentType}.
+	 * @param range The range of values that the argument will take on each usage.
+	 * @param expectedValues The number of values expected in total. Used for sizing the initial buffer.
+	 * @param options The options to enable for parsing each value.
+	 * @see NumberParser.Option
+	 */
+	public AccumulatingLongsArgumentType(
+		@NotNull Range range,
+		int expectedValues,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, "Long", new long[0], options);
+		this.buffer = new long[expectedValues];
+	}
+
+	/**
+	 * Creates a new {@link AccumulatingLongsArgumentType} that takes a single value on each usage.
+	 */
+	public AccumulatingLongsArgumentType() {
+		this(Range.ONE, 16);
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		if (capacity > this.buffer.length)
+			this.buffer = Arrays.copyOf(this.buffer, AccumulatingNumbersArgumentType.grow(this.buffer.length, capacity));
+	}
+
+	@Override
+	protected boolean parseInto(@NotNull NumberParser parser, @NotNull String value, int index) {
+		if (!parser.parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE))
+			return false;
+
+		this.buffer[index] = parser.getLong();
+		return true;
+	}
+
+	@Override
+	protected long @NotNull [] getBuffer() {
+		return this.buffer;
+	}
+
+	@Override
+	protected long @NotNull [] copyBuffer(int size) {
+		return Arrays.copyOf(this.buffer, size);
+	}
+}
@@ -0,0 +1,123 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.Range;
+
+/**
+ * Provides a base for argument types that may be used multiple times, and accumulate the numbers received in all of
+ * their usages into a single primitive array. e.g. {@code -n 1 -n 2 -n 3} results in {@code [1, 2, 3]}.
+ * <p>
+ * The numbers are stored in a buffer that grows as needed, so that adding more values does not require copying all
+ * the previous ones every time. The buffer is only trimmed to the final array once, when the final value is requested.
+ * If any of the values received is invalid, the argument has no value.
+ * </p>
+ * @param <T> The primitive array type that the argument will take. e.g. {@code int[]}
+ */
+public abstract class AccumulatingNumbersArgumentType<T> extends PrimitiveArrayArgumentType<T> {
+	/** The number of values stored in the buffer. */
+	private int size = 0;
+	/** Whether any of the values received was invalid. */
+	private boolean failed = false;
+
+	/**
+	 * Creates a new {@link AccumulatingNumbersArgumentType} with the specified range and default value.
+	 * @param range The range of values that the argument will take on each usage.
+	 * @param elementName The name of the type of each element. Used in the representation and error messages.
+	 * @param defaultValue The default value of the argument. This will be used if no values are provided.
+	 * @param options The options to enable for parsing each value.
+	 */
+	protected AccumulatingNumbersArgumentType(
+		@NotNull Range range,
+		@NotNull String elementName,
+		@NotNull T defaultValue,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, elementName, defaultValue, options);
+	}
+
+	/**
+	 * Makes sure that the buffer can hold at least the given number of values, growing it if needed.
+	 * @param capacity The number of values that the buffer must be able to hold.
+	 */
+	protected abstract void ensureCapacity(int capacity);
+
+	/**
+	 * Parses the given value and stores it in the buffer at the given index.
+	 * @param parser The number parser to use.
+	 * @param value The value to parse.
+	 * @param index The index of the buffer where to store the value.
+	 * @return {@code true} if the value is valid.
+	 */
+	protected abstract boolean parseInto(@NotNull NumberParser parser, @NotNull String value, int index);
+
+	/**
+	 * Returns the buffer, which may be longer than the number of values stored in it.
+	 */
+	protected abstract @NotNull T getBuffer();
+
+	/**
+	 * Returns a new array with the first values of the buffer.
+	 * @param size The number of values to copy.
+	 */
+	protected abstract @NotNull T copyBuffer(int size);
+
+	/**
+	 * Returns the new capacity of a buffer that must be able to hold at least the given number of values.
+	 * @param currentCapacity The current capacity of the buffer.
+	 * @param capacity The minimum capacity required.
+	 */
+	protected static int grow(int currentCapacity, int capacity) {
+		// grow by half of the current capacity at least, so that adding values is amortized O(1)
+		return Math.max(capacity, currentCapacity + (currentCapacity >> 1) + 1);
+	}
+
+	@Override
+	public @NotNull T parseValues(@NotNull String @NotNull [] args) {
+		final var parser = this.getNumberParser();
+		this.ensureCapacity(this.size + args.length);
+
+		// keep going after an invalid value, so that all of them are reported with their own index
+		for (int i = 0; i < args.length; i++) {
+			if (this.parseInto(parser, args[i], this.size)) {
+				this.size++;
+			} else {
+				this.addInvalidValueError(args[i], i);
+				this.failed = true;
+			}
+		}
+
+		return this.getBuffer();
+	}
+
+	@Override
+	public @Nullable T getFinalValue() {
+		if (this.failed)
+			return null;
+
+		// not used, so just the default value
+		if (this.size == 0)
+			return this.getInitialValue();
+
+		return this.copyBuffer(this.size);
+	}
+
+	@Override
+	public @NotNull Range getRequiredUsageCount() {
+		return Range.AT_LEAST_ONE;
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return super.getDescription() + " Can be used multiple times, and all the values are accumulated.";
+	}
+
+	@Override
+	public void resetState() {
+		super.resetState();
+		// the buffer itself is kept, since the final value is always a copy of it
+		this.size = 0;
+		this.failed = false;
+	}
+}
@@ -0,0 +1,85 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.Color;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An argument type that may be used multiple times, and accumulates the strings received in all of its usages into a
+ * single list. e.g. {@code -I a -I b -I c} results in {@code [a, b, c]}.
+ * <p>
+ * The values are added to the same list on every usage, so no copies are made. The final value is an unmodifiable
+ * view of that list.
+ * </p>
+ */
+public class AccumulatingStringsArgumentType extends ArgumentType<List<String>> {
+	private final @NotNull Range argCount;
+	private final int expectedValues;
+	private @NotNull ArrayList<@NotNull String> values;
+
+	/**
+	 * Creates a new {@link AccumulatingStringsArgumentType}.
+	 * @param range The range of values that the argument will take on each usage.
+	 * @param expectedValues The number of values expected in total. Used for sizing the initial list.
+	 */
+	public AccumulatingStringsArgumentType(@NotNull Range range, int expectedValues) {
+		super(List.of());
+		this.argCount = range;
+		this.expectedValues = expectedValues;
+		this.values = new ArrayList<>(expectedValues);
+	}
+
+	/**
+	 * Creates a new {@link AccumulatingStringsArgumentType} that takes a single value on each usage.
+	 */
+	public AccumulatingStringsArgumentType() {
+		this(Range.ONE, 16);
+	}
+
+	@Override
+	public @NotNull List<String> parseValues(@NotNull String @NotNull [] args) {
+		Collections.addAll(this.values, args);
+		return this.values;
+	}
+
+	@Override
+	public @NotNull List<String> getFinalValue() {
+		return this.values.isEmpty() ? this.getInitialValue() : Collections.unmodifiableList(this.values);
+	}
+
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return this.argCount;
+	}
+
+	@Override
+	public @NotNull Range getRequiredUsageCount() {
+		return Range.AT_LEAST_ONE;
+	}
+
+	@Override
+	public @NotNull TextFormatter getRepresentation() {
+		return new TextFormatter("string")
+			.concat(new TextFormatter(this.argCount.getRegexRange()).withForegroundColor(Color.BRIGHT_YELLOW));
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Takes " + this.argCount.getMessage("string")
+			+ ". Can be used multiple times, and all the values are accumulated.";
+	}
+
+	@Override
+	public void resetState() {
+		super.resetState();
+		// a new list, since the previous one may still be referenced by the previous results
+		this.values = new ArrayList<>(this.expectedValues);
+	}
+}
@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Byte
  */
 public class ByteArgumentType extends NumberArgumentType<Byte> {
+	/**
+	 * Creates a new {@link ByteArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public ByteArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link ByteArgumentType} that only accepts the standard decimal notation. */
+	public ByteArgumentType() { }
+
 	@Override
 	protected @NotNull Function<@NotNull String, @NotNull Byte> getParseFunction() {
 		return Byte::parseByte;
 	}
 
+	@Override
+	protected @Nullable Byte parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE) ? (byte)parser.getLong() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "A small integer value. (-128 to 127)";
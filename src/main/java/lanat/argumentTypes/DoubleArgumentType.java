@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Double
  */
 public class DoubleArgumentType extends NumberArgumentType<Double> {
+	/**
+	 * Creates a new {@link DoubleArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public DoubleArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link DoubleArgumentType} that only accepts the standard decimal notation. */
+	public DoubleArgumentType() { }
+
 	@Override
 	protected @NotNull Function<@NotNull String, @NotNull Double> getParseFunction() {
 		return Double::parseDouble;
 	}
 
+	@Override
+	protected @Nullable Double parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseDouble(value) ? parser.getDouble() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "A high precision floating point number.";
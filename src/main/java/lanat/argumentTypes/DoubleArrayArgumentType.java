@@ -0,0 +1,55 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.Range;
+
+/**
+ * An argument type that takes multiple high precision floating point numbers and stores them in a {@code double[]}.
+ * @see Double
+ */
+public class DoubleArrayArgumentType extends PrimitiveArrayArgumentType<double[]> {
+	/**
+	 * Creates a new {@link DoubleArrayArgumentType} with the specified range of values that the argument will take.
+	 * @param range The range of values that the argument will take.
+	 * @param defaultValue The default value of the argument. This will be used if no values are provided.
+	 * @param options The options to enable for parsing each value.
+	 * @see NumberParser.Option
+	 */
+	public DoubleArrayArgumentType(
+		@NotNull Range range,
+		double @NotNull [] defaultValue,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, "Double", defaultValue, options);
+	}
+
+	/**
+	 * Creates a new {@link DoubleArrayArgumentType} with the specified range of values that the argument will take.
+	 * The default value is an empty array.
+	 * @param range The range of values that the argument will take.
+	 */
+	public DoubleArrayArgumentType(@NotNull Range range) {
+		this(range, new double[0]);
+	}
+
+	@Override
+	public double @Nullable [] parseValues(@NotNull String @NotNull [] args) {
+		final var parser = this.getNumberParser();
+		final var result = new double[args.length];
+		boolean failed = false;
+
+		// keep going after an invalid value, so that all of them are reported with their own index
+		for (int i = 0; i < args.length; i++) {
+			if (parser.parseDouble(args[i])) {
+				result[i] = parser.getDouble();
+			} else {
+				this.addInvalidValueError(args[i], i);
+				failed = true;
+			}
+		}
+
+		return failed ? null : result;
+	}
+}
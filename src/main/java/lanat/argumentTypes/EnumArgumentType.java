@@ -7,44 +7,87 @@ import textFormatter.Color;
 import textFormatter.FormatOption;
 import textFormatter.TextFormatter;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * An argument type that takes an enum value.
  * By supplying a default value in the constructor, the enum type is inferred.
  * <p>
- * The user can specify the enum value by its name, case insensitive.
+ * The user can specify the enum value by its name, case insensitive. A {@code -} in the value is treated as an
+ * {@code _}, so {@code eu-west} matches {@code EU_WEST}. Optionally, unique prefixes of the names may be accepted as
+ * well (e.g. {@code eu-w} for {@code EU_WEST}).
  * </p>
  * @param <T> The enum type.
  */
 public class EnumArgumentType<T extends Enum<T>> extends ArgumentType<T> {
-	private final @NotNull T @NotNull [] values;
+	/** The lookup tables of each enum class. Built once and shared by all the instances for the same enum. */
+	private static final ClassValue<EnumLookup> LOOKUPS = new ClassValue<>() {
+		@Override
+		protected EnumLookup computeValue(@NotNull Class<?> type) {
+			return new EnumLookup((Enum<?>[])type.getEnumConstants());
+		}
+	};
+
+	private final @NotNull EnumLookup lookup;
+	private final boolean allowPrefixes;
+	private @Nullable String description;
 
 	/**
 	 * Creates a new enum argument type.
 	 * @param defaultValue The default value of the enum type. This is also used to infer the type of the enum.
 	 */
 	public EnumArgumentType(@NotNull T defaultValue) {
+		this(defaultValue, false);
+	}
+
+	/**
+	 * Creates a new enum argument type.
+	 * @param defaultValue The default value of the enum type. This is also used to infer the type of the enum.
+	 * @param allowPrefixes Whether to accept a prefix of a name as long as it only matches a single value.
+	 */
+	public EnumArgumentType(@NotNull T defaultValue, boolean allowPrefixes) {
 		super(defaultValue);
-		this.values = defaultValue.getDeclaringClass().getEnumConstants();
+		this.lookup = LOOKUPS.get(defaultValue.getDeclaringClass());
+		this.allowPrefixes = allowPrefixes;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public T parseValues(@NotNull String @NotNull [] args) {
-		for (var enumValue : this.values) {
-			if (enumValue.name().equalsIgnoreCase(args[0])) {
-				return enumValue;
+		final String key = EnumLookup.fold(args[0]);
+
+		final Enum<?> exactMatch = this.lookup.byName.get(key);
+		if (exactMatch != null)
+			return (T)exactMatch;
+
+		if (this.allowPrefixes) {
+			final int index = this.lookup.findPrefixMatch(key);
+
+			if (index >= 0)
+				return (T)this.lookup.sortedValues[index];
+
+			if (index == EnumLookup.AMBIGUOUS) {
+				this.addError("Ambiguous enum value: '" + args[0] + "'. Could be any of: "
+					+ String.join(", ", this.lookup.getPrefixMatchNames(key)) + ".");
+				return null;
 			}
 		}
+
 		this.addError("Invalid enum value: '" + args[0] + "'.");
 		return null;
 	}
 
 	@Override
 	public @NotNull TextFormatter getRepresentation() {
+		// this is not cached, since the formatter returned may be modified by the caller
+		final var values = this.lookup.values;
 		final var fmt = new TextFormatter("(");
-		for (var i = 0; i < this.values.length; i++) {
-			final var value = this.values[i];
+		for (var i = 0; i < values.length; i++) {
+			final var value = values[i];
 
 			// if value is the default value, make it bold and yellow
 			if (value == this.getInitialValue())
@@ -56,7 +99,7 @@ public class EnumArgumentType<T extends Enum<T>> extends ArgumentType<T> {
 				fmt.concat(value.name());
 
 
-			if (i < this.values.length - 1)
+			if (i < values.length - 1)
 				fmt.concat(" | ");
 		}
 		return fmt.concat(")");
@@ -64,8 +107,80 @@ public class EnumArgumentType<T extends Enum<T>> extends ArgumentType<T> {
 
 	@Override
 	public @Nullable String getDescription() {
-		return "Specify one of the following values (case is ignored): "
-			+ String.join(", ", Stream.of(this.values).map(Enum::name).toList())
-			+ ". Default is " + this.getInitialValue().name() + ".";
+		if (this.description == null)
+			this.description = "Specify one of the following values (case is ignored"
+				+ (this.allowPrefixes ? ", unique prefixes are accepted" : "") + "): "
+				+ this.lookup.joinedNames
+				+ ". Default is " + this.getInitialValue().name() + ".";
+
+		return this.description;
+	}
+
+
+	/**
+	 * Lookup tables for the constants of an enum class.
+	 */
+	private static final class EnumLookup {
+		/** Returned by {@link #findPrefixMatch(String)} when more than one value starts with the prefix. */
+		static final int AMBIGUOUS = -2;
+		/** Returned by {@link #findPrefixMatch(String)} when no value starts with the prefix. */
+		static final int NOT_FOUND = -1;
+
+		/** The constants, in declaration order. */
+		final @NotNull Enum<?> @NotNull [] values;
+		/** The folded names of the constants, mapped to the constant. */
+		final @NotNull HashMap<@NotNull String, @NotNull Enum<?>> byName;
+		/** The folded names of the constants, sorted. */
+		final @NotNull String @NotNull [] sortedNames;
+		/** The constants, in the same order as {@link #sortedNames}. */
+		final @NotNull Enum<?> @NotNull [] sortedValues;
+		/** The names of the constants, separated by commas. */
+		final @NotNull String joinedNames;
+
+		EnumLookup(@NotNull Enum<?> @NotNull [] values) {
+			this.values = values;
+			this.byName = new HashMap<>(values.length * 2);
+			// if two constants only differ in case, the first one declared is the one that is matched
+			for (var value : values)
+				this.byName.putIfAbsent(EnumLookup.fold(value.name()), value);
+
+			this.sortedNames = this.byName.keySet().stream().sorted().toArray(String[]::new);
+			this.sortedValues = Stream.of(this.sortedNames).map(this.byName::get).toArray(Enum<?>[]::new);
+			this.joinedNames = Stream.of(values).map(Enum::name).collect(Collectors.joining(", "));
+		}
+
+		/**
+		 * Returns the index in {@link #sortedValues} of the only value that starts with the given folded prefix,
+		 * {@link #NOT_FOUND} if none do, or {@link #AMBIGUOUS} if more than one does.
+		 */
+		int findPrefixMatch(@NotNull String prefix) {
+			// the first name that is greater than or equal to the prefix is the first one that may start with it
+			int index = Arrays.binarySearch(this.sortedNames, prefix);
+			if (index < 0) index = -index - 1;
+
+			if (index >= this.sortedNames.length || !this.sortedNames[index].startsWith(prefix))
+				return NOT_FOUND;
+
+			if (index + 1 < this.sortedNames.length && this.sortedNames[index + 1].startsWith(prefix))
+				return AMBIGUOUS;
+
+			return index;
+		}
+
+		/** Returns the names of all the values that start with the given folded prefix. */
+		@NotNull String @NotNull [] getPrefixMatchNames(@NotNull String prefix) {
+			return Stream.of(this.sortedValues)
+				.filter(v -> EnumLookup.fold(v.name()).startsWith(prefix))
+				.map(Enum::name)
+				.toArray(String[]::new);
+		}
+
+		/**
+		 * Returns the key used for matching the given name. Lowercase names without {@code -} are returned as is,
+		 * so no new string is created for them.
+		 */
+		static @NotNull String fold(@NotNull String name) {
+			return name.toLowerCase(Locale.ROOT).replace('-', '_');
+		}
 	}
 }
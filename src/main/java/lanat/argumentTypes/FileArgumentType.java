@@ -9,7 +9,8 @@ import java.io.File;
 
 /**
  * An argument type that takes a file path and returns a {@link File} instance representing it.
- * This argument type can also check if the file exists and if it is a regular file or a directory.
+ * This argument type can also check if the file exists and if it is a regular file or a directory. These checks may be
+ * run concurrently with the ones of other arguments after parsing (see {@link #FileArgumentType(boolean, FileType, boolean)}).
  * @see File
  */
 public class FileArgumentType extends ArgumentType<File> {
@@ -24,7 +25,7 @@ public class FileArgumentType extends ArgumentType<File> {
 		 * @param shortName whether to return a short name or not
 		 * @return a string representation of the file type
 		 */
-		private @NotNull String toString(boolean shortName) {
+		@NotNull String toString(boolean shortName) {
 			return switch (this) {
 				case REGULAR_FILE -> "file";
 				case DIRECTORY -> "directory";
@@ -35,16 +36,30 @@ public class FileArgumentType extends ArgumentType<File> {
 
 	private final boolean mustExist;
 	private final @NotNull FileType fileType;
+	private final boolean checkAsync;
 
 
 	/**
 	 * Creates a new file argument type.
 	 * @param mustExist whether the file must exist or not
 	 * @param fileType the type of the file (regular file, directory, or any)
+	 * @param checkAsync whether to check the file after parsing, concurrently with other validations. If enabled,
+	 *  {@link #getFileError(File)} is used for checking the file instead of {@link #checkFile(File)}.
+	 * @see lanat.ArgumentParser#setValidationExecutor(java.util.concurrent.Executor)
 	 */
-	public FileArgumentType(boolean mustExist, @NotNull FileType fileType) {
+	public FileArgumentType(boolean mustExist, @NotNull FileType fileType, boolean checkAsync) {
 		this.mustExist = mustExist;
 		this.fileType = fileType;
+		this.checkAsync = checkAsync;
+	}
+
+	/**
+	 * Creates a new file argument type.
+	 * @param mustExist whether the file must exist or not
+	 * @param fileType the type of the file (regular file, directory, or any)
+	 */
+	public FileArgumentType(boolean mustExist, @NotNull FileType fileType) {
+		this(mustExist, fileType, false);
 	}
 
 	/**
@@ -61,30 +76,54 @@ public class FileArgumentType extends ArgumentType<File> {
 	 * @return whether the file is valid or not
 	 */
 	protected boolean checkFile(@NotNull File file) {
-		if (this.mustExist && !file.exists()) {
-			this.addError("File does not exist.");
+		final String error = this.getFileError(file);
+		if (error != null) {
+			this.addError(error);
 			return false;
 		}
 
-		if (this.fileType == FileType.REGULAR_FILE && !file.isFile()) {
-			this.addError("File is not a regular file.");
-			return false;
-		}
+		return true;
+	}
 
-		if (this.fileType == FileType.DIRECTORY && !file.isDirectory()) {
-			this.addError("File is not a directory.");
-			return false;
-		}
+	/**
+	 * Returns the error message for the file, or {@code null} if the file is valid.
+	 * <p>
+	 * This may be called from another thread, so it must not modify the state of the argument type.
+	 * </p>
+	 * @param file the file to check
+	 * @return the error message, or {@code null} if the file is valid
+	 */
+	protected @Nullable String getFileError(@NotNull File file) {
+		if (this.mustExist && !file.exists())
+			return "File does not exist.";
 
-		return true;
+		if (this.fileType == FileType.REGULAR_FILE && !file.isFile())
+			return "File is not a regular file.";
+
+		if (this.fileType == FileType.DIRECTORY && !file.isDirectory())
+			return "File is not a directory.";
+
+		return null;
 	}
 
 	@Override
 	public File parseValues(@NotNull String @NotNull [] args) {
 		File file = new File(args[0]);
+
+		if (this.checkAsync) {
+			this.addAsyncValidation(() -> this.getFileError(file));
+			return file;
+		}
+
 		return this.checkFile(file) ? file : null;
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		// the file system is only checked if any of these are set
+		return !this.mustExist && this.fileType == FileType.ANY;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "A file path of"
@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Float
  */
 public class FloatArgumentType extends NumberArgumentType<Float> {
+	/**
+	 * Creates a new {@link FloatArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public FloatArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link FloatArgumentType} that only accepts the standard decimal notation. */
+	public FloatArgumentType() { }
+
 	@Override
 	protected @NotNull Function<@NotNull String, @NotNull Float> getParseFunction() {
 		return Float::parseFloat;
 	}
 
+	@Override
+	protected @Nullable Float parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseFloat(value) ? parser.getFloat() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "A floating point number.";
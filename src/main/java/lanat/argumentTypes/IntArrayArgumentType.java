@@ -0,0 +1,55 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.Range;
+
+/**
+ * An argument type that takes multiple integer numbers and stores them in an {@code int[]}.
+ * @see Integer
+ */
+public class IntArrayArgumentType extends PrimitiveArrayArgumentType<int[]> {
+	/**
+	 * Creates a new {@link IntArrayArgumentType} with the specified range of values that the argument will take.
+	 * @param range The range of values that the argument will take.
+	 * @param defaultValue The default value of the argument. This will be used if no values are provided.
+	 * @param options The options to enable for parsing each value.
+	 * @see NumberParser.Option
+	 */
+	public IntArrayArgumentType(
+		@NotNull Range range,
+		int @NotNull [] defaultValue,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, "Integer", defaultValue, options);
+	}
+
+	/**
+	 * Creates a new {@link IntArrayArgumentType} with the specified range of values that the argument will take.
+	 * The default value is an empty array.
+	 * @param range The range of values that the argument will take.
+	 */
+	public IntArrayArgumentType(@NotNull Range range) {
+		this(range, new int[0]);
+	}
+
+	@Override
+	public int @Nullable [] parseValues(@NotNull String @NotNull [] args) {
+		final var parser = this.getNumberParser();
+		final var result = new int[args.length];
+		boolean failed = false;
+
+		// keep going after an invalid value, so that all of them are reported with their own index
+		for (int i = 0; i < args.length; i++) {
+			if (parser.parseLong(args[i], Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+				result[i] = (int)parser.getLong();
+			} else {
+				this.addInvalidValueError(args[i], i);
+				failed = true;
+			}
+		}
+
+		return failed ? null : result;
+	}
+}
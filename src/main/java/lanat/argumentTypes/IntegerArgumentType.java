@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Integer
  */
 public class IntegerArgumentType extends NumberArgumentType<Integer> {
+	/**
+	 * Creates a new {@link IntegerArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public IntegerArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link IntegerArgumentType} that only accepts the standard decimal notation. */
+	public IntegerArgumentType() { }
+
 	@Override
 	protected @NotNull Function<String, Integer> getParseFunction() {
 		return Integer::parseInt;
 	}
 
+	@Override
+	protected @Nullable Integer parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE) ? (int)parser.getLong() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "An integer number.";
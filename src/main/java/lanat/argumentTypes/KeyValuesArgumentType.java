@@ -40,9 +40,18 @@ public class KeyValuesArgumentType<T extends ArgumentType<Ts>, Ts> extends Argum
 		return Range.AT_LEAST_ONE;
 	}
 
+	/**
+	 * Returns the map where the key-value pairs received on a usage of this argument type will be stored.
+	 * By default, this is a new map every time.
+	 * @return The map to store the key-value pairs in.
+	 */
+	protected @NotNull HashMap<@NotNull String, @NotNull Ts> getMapForUsage() {
+		return new HashMap<>();
+	}
+
 	@Override
 	public HashMap<@NotNull String, @NotNull Ts> parseValues(String @NotNull [] args) {
-		HashMap<String, Ts> tempHashMap = new HashMap<>();
+		final HashMap<String, Ts> tempHashMap = this.getMapForUsage();
 
 		this.forEachArgValue(args, arg -> {
 			final var split = UtlString.split(arg, '=');
@@ -0,0 +1,73 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.Color;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An argument type that takes multiple values, parses each one of them with the argument type given, and returns them
+ * in a {@link List}.
+ * @param <T> The type of each value of the list.
+ */
+public class ListArgumentType<T> extends ArgumentType<List<T>> {
+	private final @NotNull Range argCount;
+	private final @NotNull ArgumentType<T> argumentType;
+
+	/**
+	 * Creates a new {@link ListArgumentType} with the specified range and argument type.
+	 * The default value is an empty list.
+	 * @param range The range of values that the argument will take.
+	 * @param argumentType The argument type that will be used to parse each value. It must take a single value.
+	 */
+	public ListArgumentType(@NotNull Range range, @NotNull ArgumentType<T> argumentType) {
+		super(List.of());
+
+		if (argumentType.getRequiredArgValueCount().isRange() || argumentType.getRequiredArgValueCount().start() != 1)
+			throw new IllegalArgumentException("The argument type of each value must take a single value.");
+
+		this.argCount = range;
+		this.registerSubType(this.argumentType = argumentType);
+	}
+
+	@Override
+	public @NotNull List<T> parseValues(@NotNull String @NotNull [] args) {
+		final var result = new ArrayList<T>(args.length);
+		this.forEachArgValue(args, arg -> result.add(this.argumentType.parseValues(arg)));
+		return result;
+	}
+
+	/** Only the value that failed is discarded, the same way as values that the argument type fails to parse. */
+	@Override
+	protected void onAsyncValidationFailed(int valueIndex) {
+		final var values = this.getValue();
+		if (values != null && valueIndex < values.size())
+			values.set(valueIndex, null);
+	}
+
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return this.argCount;
+	}
+
+	@Override
+	public @Nullable TextFormatter getRepresentation() {
+		var argTypeRepr = this.argumentType.getRepresentation();
+		if (argTypeRepr == null)
+			return null;
+
+		return argTypeRepr
+			.concat(new TextFormatter(this.argCount.getRegexRange()).withForegroundColor(Color.BRIGHT_YELLOW));
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Takes " + this.argCount.getMessage("value")
+			+ " of type " + this.argumentType.getRepresentation() + ".";
+	}
+}
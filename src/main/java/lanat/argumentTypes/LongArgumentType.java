@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Long
  */
 public class LongArgumentType extends NumberArgumentType<Long> {
+	/**
+	 * Creates a new {@link LongArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public LongArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link LongArgumentType} that only accepts the standard decimal notation. */
+	public LongArgumentType() { }
+
 	@Override
 	protected @NotNull Function<@NotNull String, @NotNull Long> getParseFunction() {
 		return Long::parseLong;
 	}
 
+	@Override
+	protected @Nullable Long parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE) ? parser.getLong() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "A large integer number.";
@@ -0,0 +1,55 @@
+package lanat.argumentTypes;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.Range;
+
+/**
+ * An argument type that takes multiple large integer numbers and stores them in a {@code long[]}.
+ * @see Long
+ */
+public class LongArrayArgumentType extends PrimitiveArrayArgumentType<long[]> {
+	/**
+	 * Creates a new {@link LongArrayArgumentType} with the specified range of values that the argument will take.
+	 * @param range The range of values that the argument will take.
+	 * @param defaultValue The default value of the argument. This will be used if no values are provided.
+	 * @param options The options to enable for parsing each value.
+	 * @see NumberParser.Option
+	 */
+	public LongArrayArgumentType(
+		@NotNull Range range,
+		long @NotNull [] defaultValue,
+		@NotNull NumberParser.Option... options
+	) {
+		super(range, "Long", defaultValue, options);
+	}
+
+	/**
+	 * Creates a new {@link LongArrayArgumentType} with the specified range of values that the argument will take.
+	 * The default value is an empty array.
+	 * @param range The range of values that the argument will take.
+	 */
+	public LongArrayArgumentType(@NotNull Range range) {
+		this(range, new long[0]);
+	}
+
+	@Override
+	public long @Nullable [] parseValues(@NotNull String @NotNull [] args) {
+		final var parser = this.getNumberParser();
+		final var result = new long[args.length];
+		boolean failed = false;
+
+		// keep going after an invalid value, so that all of them are reported with their own index
+		for (int i = 0; i < args.length; i++) {
+			if (parser.parseLong(args[i], Long.MIN_VALUE, Long.MAX_VALUE)) {
+				result[i] = parser.getLong();
+			} else {
+				this.addInvalidValueError(args[i], i);
+				failed = true;
+			}
+		}
+
+		return failed ? null : result;
+	}
+}
@@ -1,31 +1,64 @@
 package lanat.argumentTypes;
 
 import lanat.ArgumentType;
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Function;
 
 /**
  * An abstract class for argument types that are numbers. This class provides an implementation
- * of {@link #parseValues(String[])} that will parse the first argument as a number using the
- * function returned by {@link #getParseFunction()}.
+ * of {@link #parseValues(String[])} that will parse the first argument as a number using
+ * {@link #parseNumber(NumberParser, String)}.
+ * <p>
+ * The number argument types provided by Lanat use a {@link NumberParser}, which does not rely on exceptions for
+ * invalid input, and can be configured to accept extra syntax with {@link NumberParser.Option}s.
+ * </p>
  * @param <T> The type of number that this argument type is.
  * @see Number
  */
 public abstract class NumberArgumentType<T extends Number> extends ArgumentType<T> {
+	private final @NotNull NumberParser numberParser;
+
+	/**
+	 * Creates a new number argument type with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	protected NumberArgumentType(@NotNull NumberParser.Option... options) {
+		this.numberParser = new NumberParser(options);
+	}
+
 	/**
 	 * Returns the function that will parse a string as a number. e.g. {@link Integer#parseInt(String)}.
+	 * This is used by the default implementation of {@link #parseNumber(NumberParser, String)}.
 	 * @return The function that will parse a string as a number.
 	 */
 	protected abstract @NotNull Function<@NotNull String, @NotNull T> getParseFunction();
 
-	@Override
-	public T parseValues(@NotNull String @NotNull [] args) {
+	/**
+	 * Parses the given string as a number. By default, this uses the function returned by {@link #getParseFunction()},
+	 * treating a {@link NumberFormatException} as an invalid value.
+	 * @param parser The number parser of this argument type, configured with the options given in the constructor.
+	 * @param value The string to parse.
+	 * @return The parsed number, or {@code null} if the value is not valid.
+	 */
+	protected @Nullable T parseNumber(@NotNull NumberParser parser, @NotNull String value) {
 		try {
-			return this.getParseFunction().apply(args[0]);
+			return this.getParseFunction().apply(value);
 		} catch (NumberFormatException e) {
-			this.addError("Invalid " + this.getName() + " value: '" + args[0] + "'.");
 			return null;
 		}
 	}
+
+	@Override
+	public T parseValues(@NotNull String @NotNull [] args) {
+		final T result = this.parseNumber(this.numberParser, args[0]);
+
+		if (result == null)
+			this.addError("Invalid " + this.getName() + " value: '" + args[0] + "'.");
+
+		return result;
+	}
 }
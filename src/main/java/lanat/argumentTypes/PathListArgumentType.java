@@ -0,0 +1,265 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.Color;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An argument type that takes paths and glob patterns, and returns a list with all the paths found.
+ * <p>
+ * Each value may be a path, or a glob pattern such as {@code logs/**}{@code /*.gz}
+ * (see {@link FileSystem#getPathMatcher(String)} for the syntax). A leading {@code **}{@code /} in a pattern also
+ * matches no directories at all, so {@code logs/**}{@code /*.gz} matches {@code logs/a.gz} too.
+ * </p>
+ * <p>
+ * Directories are walked in parallel on a {@link ForkJoinPool}, one task per directory. The attributes of each path
+ * are read once while walking, and returned along with it, so there is no need to query the file system again for
+ * them. Symbolic links are not followed while walking.
+ * </p>
+ * @see FoundPath
+ */
+public class PathListArgumentType extends ArgumentType<List<PathListArgumentType.FoundPath>> {
+	/** The characters that make a path segment a glob pattern. */
+	private static final String GLOB_CHARS = "*?[{\\";
+
+	private final @NotNull Range argCount;
+	private final @NotNull FileArgumentType.FileType fileType;
+	private final @NotNull ForkJoinPool pool;
+
+	/**
+	 * A path found by a {@link PathListArgumentType}.
+	 * @param path the path found
+	 * @param attributes the attributes of the path, read when it was found
+	 */
+	public record FoundPath(@NotNull Path path, @NotNull BasicFileAttributes attributes) { }
+
+	/**
+	 * Creates a new path list argument type.
+	 * @param range The range of values that the argument will take.
+	 * @param fileType The type of the files to return. Paths of other types are ignored.
+	 * @param pool The pool used to walk the directories.
+	 */
+	public PathListArgumentType(
+		@NotNull Range range,
+		@NotNull FileArgumentType.FileType fileType,
+		@NotNull ForkJoinPool pool
+	) {
+		super(List.of());
+		this.argCount = range;
+		this.fileType = fileType;
+		this.pool = pool;
+	}
+
+	/**
+	 * Creates a new path list argument type that walks the directories on the common pool.
+	 * @param range The range of values that the argument will take.
+	 * @param fileType The type of the files to return. Paths of other types are ignored.
+	 */
+	public PathListArgumentType(@NotNull Range range, @NotNull FileArgumentType.FileType fileType) {
+		this(range, fileType, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new path list argument type that takes at least one value and returns any kind of file.
+	 */
+	public PathListArgumentType() {
+		this(Range.AT_LEAST_ONE, FileArgumentType.FileType.ANY);
+	}
+
+	@Override
+	public @Nullable List<FoundPath> parseValues(@NotNull String @NotNull [] args) {
+		final var result = new ArrayList<FoundPath>();
+
+		this.forEachArgValue(args, arg -> {
+			final var found = this.expand(arg);
+
+			if (found.isEmpty())
+				this.addError("No " + this.fileType.toString(false) + " found matching '" + arg + "'.");
+
+			result.addAll(found);
+		});
+
+		return result;
+	}
+
+	/**
+	 * Returns the paths matching the given path or glob pattern.
+	 * @param pattern the path or glob pattern
+	 * @return the paths found, sorted
+	 */
+	private @NotNull List<FoundPath> expand(@NotNull String pattern) {
+		final String normalized = pattern.replace(File.separatorChar, '/');
+		final String[] segments = normalized.split("/", -1);
+
+		// the segments before the first one with glob characters are the directory to walk
+		int globStart = 0;
+		while (globStart < segments.length && !PathListArgumentType.isGlob(segments[globStart]))
+			globStart++;
+
+		// not a pattern, just a path
+		if (globStart == segments.length) {
+			final var path = Path.of(pattern);
+			try {
+				final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+				return this.isWantedType(attributes) ? List.of(new FoundPath(path, attributes)) : List.of();
+			} catch (IOException | InvalidPathException e) {
+				return List.of();
+			}
+		}
+
+		final String base = String.join("/", List.of(segments).subList(0, globStart));
+		final String glob = String.join("/", List.of(segments).subList(globStart, segments.length));
+
+		try {
+			final var walker = new Walker(
+				// a pattern starting with '/' leaves an empty first segment
+				base.isEmpty() && normalized.startsWith("/") ? Path.of("/") : Path.of(base),
+				glob
+			);
+
+			final var found = this.pool.invoke(walker.new DirectoryTask(Path.of(""), 1));
+			found.sort(Comparator.comparing(FoundPath::path));
+			return found;
+		} catch (IllegalArgumentException e) {
+			// invalid glob or path
+			return List.of();
+		}
+	}
+
+	/** Returns {@code true} if a path with the given attributes is of the type of files to return. */
+	private boolean isWantedType(@NotNull BasicFileAttributes attributes) {
+		return switch (this.fileType) {
+			case REGULAR_FILE -> attributes.isRegularFile();
+			case DIRECTORY -> attributes.isDirectory();
+			case ANY -> true;
+		};
+	}
+
+	/** Returns {@code true} if the given path segment contains glob characters. */
+	private static boolean isGlob(@NotNull String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (PathListArgumentType.GLOB_CHARS.indexOf(segment.charAt(i)) != -1)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return this.argCount;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
+	@Override
+	public @NotNull TextFormatter getRepresentation() {
+		return new TextFormatter("path" + File.separator + "to" + File.separator + "*")
+			.concat(new TextFormatter(this.argCount.getRegexRange()).withForegroundColor(Color.BRIGHT_YELLOW));
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Takes " + this.argCount.getMessage("path") + " to a " + this.fileType.toString(false)
+			+ ". Glob patterns are accepted.";
+	}
+
+
+	/**
+	 * Walks a directory looking for the paths that match a glob pattern.
+	 */
+	private final class Walker {
+		/** The directory to walk. The pattern is matched against the paths relative to it. */
+		private final @NotNull Path base;
+		private final @NotNull PathMatcher matcher;
+		/** Matches the pattern without its leading {@code **}{@code /}, if it has one. */
+		private final @Nullable PathMatcher shallowMatcher;
+		/** The maximum depth that the pattern can match, relative to the base. */
+		private final int maxDepth;
+
+		Walker(@NotNull Path base, @NotNull String glob) {
+			final var fileSystem = base.getFileSystem();
+			this.base = base;
+			this.matcher = fileSystem.getPathMatcher("glob:" + glob);
+			this.shallowMatcher = glob.startsWith("**/")
+				? fileSystem.getPathMatcher("glob:" + glob.substring(3))
+				: null;
+			this.maxDepth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("/").length;
+		}
+
+		private boolean matches(@NotNull Path relativePath) {
+			return this.matcher.matches(relativePath)
+				|| (this.shallowMatcher != null && this.shallowMatcher.matches(relativePath));
+		}
+
+		/**
+		 * Lists a directory, and forks a new task for each subdirectory that may contain matches.
+		 */
+		private final class DirectoryTask extends RecursiveTask<List<FoundPath>> {
+			/** The directory to list, relative to the base. */
+			private final @NotNull Path directory;
+			/** The depth of the entries of the directory, relative to the base. */
+			private final int depth;
+
+			DirectoryTask(@NotNull Path directory, int depth) {
+				this.directory = directory;
+				this.depth = depth;
+			}
+
+			@Override
+			protected List<FoundPath> compute() {
+				PathListArgumentType.this.checkParseDeadline();
+
+				final var found = new ArrayList<FoundPath>();
+				final var subTasks = new ArrayList<DirectoryTask>();
+				final Path absoluteDirectory = Walker.this.base.resolve(this.directory);
+
+				try (var entries = Files.newDirectoryStream(
+					// the empty path is the working directory, but it can't be listed as is
+					absoluteDirectory.toString().isEmpty() ? Path.of(".") : absoluteDirectory
+				)) {
+					for (final var entry : entries) {
+						final Path relativePath = this.directory.resolve(entry.getFileName());
+						final BasicFileAttributes attributes;
+
+						try {
+							attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+						} catch (IOException e) {
+							// the entry may have been removed after listing the directory
+							continue;
+						}
+
+						if (Walker.this.matches(relativePath) && PathListArgumentType.this.isWantedType(attributes))
+							found.add(new FoundPath(Walker.this.base.resolve(relativePath), attributes));
+
+						if (attributes.isDirectory() && this.depth < Walker.this.maxDepth)
+							subTasks.add(new DirectoryTask(relativePath, this.depth + 1));
+					}
+				} catch (IOException e) {
+					// directories that can't be read are skipped, as a shell would do
+				}
+
+				for (final var task : ForkJoinTask.invokeAll(subTasks))
+					found.addAll(task.join());
+
+				return found;
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.Color;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+/**
+ * Provides a base for argument types that take multiple numbers and store them in a primitive array, instead of
+ * boxing every single value like {@link MultipleNumbersArgumentType} does.
+ * Shows a properly formatted description and representation.
+ * @param <T> The primitive array type that the argument will take. e.g. {@code int[]}
+ */
+public abstract class PrimitiveArrayArgumentType<T> extends ArgumentType<T> {
+	private final @NotNull Range argCount;
+	private final @NotNull String elementName;
+	private final @NotNull NumberParser numberParser;
+
+	/**
+	 * Creates a new {@link PrimitiveArrayArgumentType} with the specified range and default value.
+	 * @param range The range of values that the argument will take.
+	 * @param elementName The name of the type of each element. Used in the representation and error messages.
+	 * @param defaultValue The default value of the argument. This will be used if no values are provided.
+	 * @param options The options to enable for parsing each value.
+	 */
+	protected PrimitiveArrayArgumentType(
+		@NotNull Range range,
+		@NotNull String elementName,
+		@NotNull T defaultValue,
+		@NotNull NumberParser.Option... options
+	) {
+		super(defaultValue);
+		this.argCount = range;
+		this.elementName = elementName;
+		this.numberParser = new NumberParser(options);
+	}
+
+	/** Returns the number parser used for parsing each value. */
+	protected @NotNull NumberParser getNumberParser() {
+		return this.numberParser;
+	}
+
+	/**
+	 * Adds an error for the value at the given index, which could not be parsed.
+	 * @param value The value that could not be parsed.
+	 * @param index The index of the value in the values received.
+	 */
+	protected void addInvalidValueError(@NotNull String value, int index) {
+		this.addError("Invalid " + this.elementName + " value: '" + value + "'.", index);
+	}
+
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return this.argCount;
+	}
+
+	@Override
+	public @NotNull TextFormatter getRepresentation() {
+		return new TextFormatter(this.elementName)
+			.concat(new TextFormatter(this.argCount.getRegexRange()).withForegroundColor(Color.BRIGHT_YELLOW));
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Takes " + this.argCount.getMessage("value") + " of type " + this.elementName + ".";
+	}
+}
@@ -1,5 +1,6 @@
 package lanat.argumentTypes;
 
+import lanat.utils.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,11 +11,28 @@ import java.util.function.Function;
  * @see Short
  */
 public class ShortArgumentType extends NumberArgumentType<Short> {
+	/**
+	 * Creates a new {@link ShortArgumentType} with the given options enabled for parsing.
+	 * @param options The options to enable.
+	 * @see NumberParser.Option
+	 */
+	public ShortArgumentType(@NotNull NumberParser.Option... options) {
+		super(options);
+	}
+
+	/** Creates a new {@link ShortArgumentType} that only accepts the standard decimal notation. */
+	public ShortArgumentType() { }
+
 	@Override
 	protected @NotNull Function<@NotNull String, @NotNull Short> getParseFunction() {
 		return Short::parseShort;
 	}
 
+	@Override
+	protected @Nullable Short parseNumber(@NotNull NumberParser parser, @NotNull String value) {
+		return parser.parseLong(value, Short.MIN_VALUE, Short.MAX_VALUE) ? (short)parser.getLong() : null;
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "An integer number (-32,768 to 32,767)";
@@ -1,41 +1,122 @@
 package lanat.argumentTypes;
 
 import lanat.ArgumentType;
+import lanat.exceptions.ArgumentTypeException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import textFormatter.TextFormatter;
 import utils.Range;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStreamReader;
 
 /**
  * An argument type that takes input from stdin (Standard Input).
  * This waits for the user to input something. May be useful for piping input from other programs.
+ * <p>
+ * The whole input is read into a string. Line separators are replaced with {@code \n}, and the last line always ends
+ * with one. A maximum length may be specified, in which case reading stops as soon as the value is found to be
+ * longer, and an error is shown. For inputs that may be very large, consider using
+ * {@link StdinStreamArgumentType} or {@link StdinReaderArgumentType} instead, which do not read the input at all.
+ * </p>
  */
 public class StdinArgumentType extends ArgumentType<String> {
+	/** The size of the buffer used to read the input. */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** The maximum number of characters to read from stdin. */
+	private final int maxLength;
+
+	/**
+	 * Creates a new stdin argument type that reads the whole input, regardless of its length.
+	 */
+	public StdinArgumentType() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a new stdin argument type that reads at most the given number of characters.
+	 * @param maxLength The maximum number of characters the value may have, counting its line separators. If the value
+	 *  is longer than this, an error is shown.
+	 */
+	public StdinArgumentType(int maxLength) {
+		if (maxLength < 0)
+			throw new IllegalArgumentException("maxLength cannot be negative");
+
+		this.maxLength = maxLength;
+	}
+
 	@Override
 	public @NotNull Range getRequiredArgValueCount() {
 		return Range.NONE;
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
 	@Override
 	public TextFormatter getRepresentation() {
 		return null;
 	}
 
 	@Override
-	public String parseValues(@NotNull String @NotNull [] args) {
+	public @Nullable String parseValues(@NotNull String @NotNull [] args) {
 		final var input = new StringBuilder();
+		final var buffer = new char[BUFFER_SIZE];
+		boolean afterCarriageReturn = false;
 
-		try (var scanner = new Scanner(System.in)) {
-			while (scanner.hasNextLine()) {
-				input.append(scanner.nextLine()).append('\n');
+		try (var reader = new InputStreamReader(System.in)) {
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				this.checkParseDeadline();
+
+				for (int i = 0; i < read; i++) {
+					final char c = buffer[i];
+
+					// "\r\n" is a single line separator
+					if (c == '\n' && afterCarriageReturn) {
+						afterCarriageReturn = false;
+						continue;
+					}
+					afterCarriageReturn = c == '\r';
+
+					if (!this.parseValues$append(input, StdinArgumentType.isLineSeparator(c) ? '\n' : c))
+						return null;
+				}
 			}
+		} catch (IOException e) {
+			throw new ArgumentTypeException("Unable to read from stdin.", e);
 		}
 
+		// the last line always ends with a line separator
+		if (!input.isEmpty() && input.charAt(input.length() - 1) != '\n' && !this.parseValues$append(input, '\n'))
+			return null;
+
 		return input.toString();
 	}
 
+	/**
+	 * Appends the given character to the input, unless that would make it longer than the maximum length, in which
+	 * case an error is added.
+	 * @return {@code true} if the character was appended.
+	 */
+	private boolean parseValues$append(@NotNull StringBuilder input, char c) {
+		if (input.length() >= this.maxLength) {
+			this.addError("Input from stdin is longer than " + this.maxLength + " characters.");
+			return false;
+		}
+
+		input.append(c);
+		return true;
+	}
+
+	/** Returns {@code true} if the given character ends a line, as {@link java.util.Scanner#nextLine()} does. */
+	private static boolean isLineSeparator(char c) {
+		return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+	}
+
 	@Override
 	public @Nullable String getDescription() {
 		return "Accepts input from stdin (Standard Input).";
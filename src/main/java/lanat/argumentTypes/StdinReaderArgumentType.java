@@ -0,0 +1,65 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * An argument type that gives access to stdin (Standard Input) as a {@link BufferedReader}, without reading anything
+ * from it while parsing.
+ * <p>
+ * Unlike {@link StdinArgumentType}, the input is not stored in memory, so this is suitable for very large inputs that
+ * should be consumed incrementally, for instance line by line with {@link BufferedReader#lines()}. Nothing is read
+ * until the reader returned is used.
+ * </p>
+ * @see StdinStreamArgumentType
+ */
+public class StdinReaderArgumentType extends ArgumentType<BufferedReader> {
+	private final @NotNull Charset charset;
+
+	/**
+	 * Creates a new stdin reader argument type that decodes the input with the given charset.
+	 * @param charset The charset used to decode the input.
+	 */
+	public StdinReaderArgumentType(@NotNull Charset charset) {
+		this.charset = charset;
+	}
+
+	/**
+	 * Creates a new stdin reader argument type that decodes the input with the default charset.
+	 */
+	public StdinReaderArgumentType() {
+		this(Charset.defaultCharset());
+	}
+
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return Range.NONE;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
+	@Override
+	public TextFormatter getRepresentation() {
+		return null;
+	}
+
+	@Override
+	public @NotNull BufferedReader parseValues(@NotNull String @NotNull [] args) {
+		return new BufferedReader(new InputStreamReader(new StdinStreamArgumentType.LazyStdinStream(), this.charset));
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Accepts input from stdin (Standard Input).";
+	}
+}
@@ -0,0 +1,111 @@
+package lanat.argumentTypes;
+
+import lanat.ArgumentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import textFormatter.TextFormatter;
+import utils.Range;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * An argument type that gives access to stdin (Standard Input) as an {@link InputStream}, without reading anything
+ * from it while parsing.
+ * <p>
+ * Unlike {@link StdinArgumentType}, the input is not stored in memory, so this is suitable for very large inputs that
+ * should be consumed incrementally. Nothing is read until the stream returned is used. The stream may be wrapped in a
+ * channel with {@link #asChannel(InputStream)}.
+ * </p>
+ * @see StdinReaderArgumentType
+ */
+public class StdinStreamArgumentType extends ArgumentType<InputStream> {
+	@Override
+	public @NotNull Range getRequiredArgValueCount() {
+		return Range.NONE;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
+	@Override
+	public TextFormatter getRepresentation() {
+		return null;
+	}
+
+	@Override
+	public @NotNull InputStream parseValues(@NotNull String @NotNull [] args) {
+		return new LazyStdinStream();
+	}
+
+	@Override
+	public @Nullable String getDescription() {
+		return "Accepts input from stdin (Standard Input).";
+	}
+
+	/**
+	 * Returns a channel that reads from the given stream.
+	 * @param stream The stream to read from. Usually the value returned by this argument type.
+	 * @return A channel that reads from the given stream.
+	 */
+	public static @NotNull ReadableByteChannel asChannel(@NotNull InputStream stream) {
+		return Channels.newChannel(stream);
+	}
+
+
+	/**
+	 * An input stream that reads from {@link System#in}. The standard input stream is only obtained once the stream is
+	 * used for the first time, so that the value of {@link System#in} at that time is used.
+	 */
+	static final class LazyStdinStream extends InputStream {
+		private @Nullable InputStream stream;
+
+		private @NotNull InputStream stream() {
+			if (this.stream == null)
+				this.stream = System.in;
+			return this.stream;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return this.stream().read();
+		}
+
+		@Override
+		public int read(byte @NotNull [] b, int off, int len) throws IOException {
+			return this.stream().read(b, off, len);
+		}
+
+		@Override
+		public byte @NotNull [] readNBytes(int len) throws IOException {
+			return this.stream().readNBytes(len);
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			return this.stream().skip(n);
+		}
+
+		@Override
+		public int available() throws IOException {
+			return this.stream().available();
+		}
+
+		@Override
+		public long transferTo(@NotNull OutputStream out) throws IOException {
+			return this.stream().transferTo(out);
+		}
+
+		@Override
+		public void close() throws IOException {
+			// if never used, there's nothing to close
+			if (this.stream != null)
+				this.stream.close();
+		}
+	}
+}
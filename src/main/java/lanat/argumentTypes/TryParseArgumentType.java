@@ -5,12 +5,14 @@ import lanat.exceptions.ArgumentTypeException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Executable;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -19,11 +21,26 @@ import java.util.stream.Stream;
  * The type given must have a static {@code valueOf(String)}, {@code parse(String)}, or {@code from(String)} method,
  * or a constructor that takes a string. If none of these are found, an exception will be thrown.
  * </p>
+ * <p>
+ * The method or constructor found for each type is cached, so it is only searched for once per type, no matter how
+ * many instances of this argument type are created.
+ * </p>
  * @param <T> The type to parse the string into.
  */
 public class TryParseArgumentType<T> extends ArgumentType<T> {
-	/** The method used to parse the string into the type. */
-	private final Function<String, Object> parseMethod;
+	/** The type of the method handles stored in {@link #PARSE_METHODS}. */
+	private static final MethodType PARSE_METHOD_TYPE = MethodType.methodType(Object.class, String.class);
+
+	/** The method handles used to parse a string into each type. Empty if the type has no valid method. */
+	private static final ClassValue<Optional<MethodHandle>> PARSE_METHODS = new ClassValue<>() {
+		@Override
+		protected Optional<MethodHandle> computeValue(@NotNull Class<?> type) {
+			return Optional.ofNullable(TryParseArgumentType.getParseMethod(type));
+		}
+	};
+
+	/** The method used to parse the string into the type. Its type is always {@code (String)Object}. */
+	private final @NotNull MethodHandle parseMethod;
 
 	/** The type to parse the string into. */
 	private final @NotNull Class<T> type;
@@ -37,92 +54,87 @@ public class TryParseArgumentType<T> extends ArgumentType<T> {
 	 */
 	public TryParseArgumentType(@NotNull Class<T> type) {
 		this.type = type;
-
-		if ((this.parseMethod = this.getParseMethod()) == null)
-			throw new ArgumentTypeException(
+		this.parseMethod = PARSE_METHODS.get(type).orElseThrow(() ->
+			new ArgumentTypeException(
 				"Type " + type.getName() + " must have a static valueOf(String), parse(String), "
 					+ "or from(String) method, or a constructor that takes a string."
-			);
+			)
+		);
 	}
 
 	/**
-	 * Returns {@code true} if the given executable is a valid executable for this argument type.
+	 * Returns {@code true} if the given method is a valid method for parsing a string into the given type.
 	 * <p>
-	 * A valid executable is:
+	 * A valid method is:
 	 * <ul>
 	 * <li>Static</li>
 	 * <li>Has one parameter</li>
 	 * <li>The parameter is a string</li>
-	 * <li>The name of the executable is one of the names in {@link #TRY_PARSE_METHOD_NAMES}</li>
+	 * <li>The name of the method is one of the names in {@link #TRY_PARSE_METHOD_NAMES}</li>
+	 * <li>Has a return type of the type given</li>
 	 * </ul>
-	 * @param executable The executable to check
-	 * @return {@code true} if the given executable is a valid executable for this argument type
+	 * @param method The method to check
+	 * @param type The type that the method should return
+	 * @return {@code true} if the given method is a valid method for the given type
 	 */
-	private static boolean isValidExecutable(Executable executable) {
-		return Modifier.isStatic(executable.getModifiers())
-			&& executable.getParameterCount() == 1
-			&& executable.getParameterTypes()[0] == String.class
-			&& Arrays.asList(TryParseArgumentType.TRY_PARSE_METHOD_NAMES).contains(executable.getName());
+	private static boolean isValidMethod(@NotNull Method method, @NotNull Class<?> type) {
+		return Modifier.isStatic(method.getModifiers())
+			&& method.getReturnType() == type
+			&& TryParseArgumentType.takesSingleString(method.getParameterTypes())
+			&& Arrays.asList(TryParseArgumentType.TRY_PARSE_METHOD_NAMES).contains(method.getName());
+	}
+
+	/** Returns {@code true} if the parameter types given are just a single string. */
+	private static boolean takesSingleString(@NotNull Class<?> @NotNull [] parameterTypes) {
+		return parameterTypes.length == 1 && parameterTypes[0] == String.class;
 	}
 
 	/**
-	 * Returns {@code true} if the given method is a valid method for this argument type.
-	 * <p>
-	 * A valid method is:
-	 * <ul>
-	 * <li>One that is a valid executable (see {@link #isValidExecutable(Executable)})</li>
-	 * <li>Has a return type of the type given in the constructor</li>
-	 * </ul>
-	 * @param method
-	 * @return {@code true} if the given method is a valid method for this argument type
+	 * Searches the given type for a valid method or constructor for parsing a string into it, and returns a method
+	 * handle for it, adapted to the type {@code (String)Object}.
+	 * @param type The type to search
+	 * @return The method handle, or {@code null} if no valid method or constructor was found.
 	 */
-	private boolean isValidMethod(Method method) {
-		return method.getReturnType() == this.type && TryParseArgumentType.isValidExecutable(method);
-	}
+	private static @Nullable MethodHandle getParseMethod(@NotNull Class<?> type) {
+		// the type may be in a module that we don't read yet. Method handles are subject to that check.
+		TryParseArgumentType.class.getModule().addReads(type.getModule());
+		final var lookup = MethodHandles.lookup();
+
+		try {
+			// Get a static valueOf(String), a parse(String), or a from(String) method.
+			final var method = Stream.of(type.getMethods())
+				.filter(m -> TryParseArgumentType.isValidMethod(m, type))
+				.findFirst();
+
+			// if we found a method, return that.
+			if (method.isPresent())
+				return lookup.unreflect(method.get()).asType(PARSE_METHOD_TYPE);
 
+			// Otherwise, try to find a constructor that takes a string.
+			final Optional<Constructor<?>> constructor = Stream.of(type.getConstructors())
+				.filter(c -> TryParseArgumentType.takesSingleString(c.getParameterTypes()))
+				.findFirst();
 
-	private @Nullable Function<String, Object> getParseMethod() {
-		// Get a static valueOf(String), a parse(String), or a from(String) method.
-		final var method = Stream.of(this.type.getMethods())
-			.filter(this::isValidMethod)
-			.findFirst();
-
-		// if we found a method, return that.
-		if (method.isPresent()) {
-			return input -> {
-				try {
-					return method.get().invoke(null, input);
-				} catch (IllegalAccessException | InvocationTargetException exception) {
-					this.addError("Unable to parse value '" + input + "' as type " + this.type.getSimpleName() + ".");
-				}
-				return null;
-			};
+			if (constructor.isPresent())
+				return lookup.unreflectConstructor(constructor.get()).asType(PARSE_METHOD_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new ArgumentTypeException("Unable to access the parse method of type " + type.getName() + ".", e);
 		}
 
-		// Otherwise, try to find a constructor that takes a string.
-		return Stream.of(this.type.getConstructors())
-			.filter(TryParseArgumentType::isValidExecutable)
-			.findFirst()
-			.<Function<String, Object>>map(c -> input -> {
-				try {
-					return c.newInstance(input);
-				} catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
-					this.addError(
-						"Unable to instantiate type '" + this.type.getSimpleName() + "' with value '" + input + "'."
-					);
-				}
-				return null;
-			})
-			.orElse(null);
+		return null;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public @Nullable T parseValues(@NotNull String @NotNull [] args) {
 		try {
-			return (T)this.parseMethod.apply(args[0]);
-		} catch (Exception e) {
-			throw new ArgumentTypeException("Unable to cast value '" + args[0] + "' to type " + this.type.getSimpleName() + ".", e);
+			final Object result = this.parseMethod.invokeExact(args[0]);
+			return (T)result;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			this.addError("Unable to parse value '" + args[0] + "' as type " + this.type.getSimpleName() + ".");
+			return null;
 		}
 	}
 
@@ -130,4 +142,4 @@ public class TryParseArgumentType<T> extends ArgumentType<T> {
 	public @Nullable String getDescription() {
 		return "A value of type " + this.type.getSimpleName() + ".";
 	}
-}
\ No newline at end of file
+}
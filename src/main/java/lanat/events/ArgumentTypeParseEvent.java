@@ -0,0 +1,22 @@
+package lanat.events;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted every time an argument type parses the values it received.
+ * Stack traces are not recorded for this event, since it may be emitted many times per parse.
+ */
+@Name("lanat.ArgumentTypeParse")
+@Label("Argument Type Parse")
+@Description("Parsing of the values received by an argument")
+@StackTrace(false)
+public final class ArgumentTypeParseEvent extends LanatEvent {
+	@Label("Argument Name")
+	public String argumentName;
+
+	@Label("Argument Type")
+	public Class<?> argumentType;
+
+	@Label("Value Count")
+	public int valueCount;
+}
@@ -0,0 +1,11 @@
+package lanat.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Emitted when the callbacks of the commands and arguments are invoked after parsing. */
+@Name("lanat.Callbacks")
+@Label("Callbacks Invocation")
+@Description("Invocation of the callbacks of all commands and arguments")
+public final class CallbacksEvent extends LanatEvent { }
@@ -0,0 +1,14 @@
+package lanat.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Emitted when the errors collected while parsing are formatted into messages. */
+@Name("lanat.ErrorFormatting")
+@Label("Error Formatting")
+@Description("Formatting of all the errors collected while parsing")
+public final class ErrorFormattingEvent extends LanatEvent {
+	@Label("Error Count")
+	public int errorCount;
+}
@@ -0,0 +1,14 @@
+package lanat.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Emitted when the help message of a command is generated. */
+@Name("lanat.HelpGeneration")
+@Label("Help Generation")
+@Description("Generation of the help message of a command")
+public final class HelpGenerationEvent extends LanatEvent {
+	@Label("Help Length")
+	public int helpLength;
+}
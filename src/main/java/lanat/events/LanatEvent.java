@@ -0,0 +1,61 @@
+package lanat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import lanat.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+
+/**
+ * Base class for all the Java Flight Recorder events emitted by Lanat.
+ * <p>
+ * Every event carries the path of the command it belongs to (e.g. {@code "my-program sub-command"}) and the length of
+ * the whole input that was passed to the parser, so that latency spikes can be correlated with specific commands.
+ * </p>
+ * The usual way of using an event is:
+ * <pre>{@code
+ * final var event = new TokenizeEvent();
+ * event.begin();
+ * // ... do the work ...
+ * event.commitFor(command);
+ * }</pre>
+ */
+@Category("Lanat")
+public abstract class LanatEvent extends Event {
+	@Label("Command Path")
+	String commandPath;
+
+	@Label("Input Length")
+	int inputLength;
+
+	/**
+	 * Ends the event and commits it with the path of the given command and the length of the input that the root
+	 * command received, which is {@code 0} if it has not received any yet. The path is only computed if the event is
+	 * actually going to be committed.
+	 * @param command The command this event belongs to.
+	 */
+	public final void commitFor(@NotNull Command command) {
+		this.end();
+		if (!this.shouldCommit()) return;
+
+		this.commandPath = LanatEvent.getCommandPath(command);
+		this.inputLength = command.getRoot().getTokenizer().getInputLength();
+		this.commit();
+	}
+
+	/**
+	 * Returns the names of the given command and all its parents, starting from the root, separated by spaces.
+	 * @param command The command to get the path of.
+	 */
+	private static @NotNull String getCommandPath(@NotNull Command command) {
+		final var names = new ArrayList<String>();
+
+		for (Command cmd = command; cmd != null; cmd = cmd.getParent()) {
+			names.add(0, cmd.getName());
+		}
+
+		return String.join(" ", names);
+	}
+}
@@ -0,0 +1,11 @@
+package lanat.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Emitted when the tokens are parsed. This includes the parsing of all the Sub-Commands. */
+@Name("lanat.Parse")
+@Label("Parse")
+@Description("Parsing of the tokens, including all Sub-Commands")
+public final class ParseEvent extends LanatEvent { }
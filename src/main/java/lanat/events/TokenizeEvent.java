@@ -0,0 +1,11 @@
+package lanat.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Emitted when the input is tokenized. This includes the tokenization of all the Sub-Commands. */
+@Name("lanat.Tokenize")
+@Label("Tokenize")
+@Description("Tokenization of the input, including all Sub-Commands")
+public final class TokenizeEvent extends LanatEvent { }
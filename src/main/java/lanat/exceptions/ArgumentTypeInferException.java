@@ -1,10 +1,18 @@
 package lanat.exceptions;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Type;
+
 /**
  * Thrown when an error occurs when inferring types for an {@link lanat.ArgumentType}.
  */
 public class ArgumentTypeInferException extends ArgumentTypeException {
-	public ArgumentTypeInferException(Class<?> clazz) {
-		super("No argument type found for type: " + clazz.getName());
+	public ArgumentTypeInferException(@NotNull Type type) {
+		super("No argument type found for type: " + type.getTypeName());
+	}
+
+	public ArgumentTypeInferException(@NotNull Type type, @NotNull String reason) {
+		super("Cannot infer argument type for type " + type.getTypeName() + ": " + reason);
 	}
 }
@@ -0,0 +1,33 @@
+package lanat.exceptions;
+
+import lanat.ParseLimits;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown while parsing when one of the {@link ParseLimits} is exceeded, to stop parsing right away. It is caught by the
+ * {@link lanat.ArgumentParser}, which shows it as an error.
+ */
+public class ParseLimitExceededException extends LanatException {
+	private final @NotNull ParseLimits.Limit limit;
+	private final long maximum;
+
+	/**
+	 * @param limit the limit that was exceeded
+	 * @param maximum the value of the limit
+	 */
+	public ParseLimitExceededException(@NotNull ParseLimits.Limit limit, long maximum) {
+		super(limit.getMessage(maximum));
+		this.limit = limit;
+		this.maximum = maximum;
+	}
+
+	/** Returns the limit that was exceeded. */
+	public @NotNull ParseLimits.Limit getLimit() {
+		return this.limit;
+	}
+
+	/** Returns the value of the limit that was exceeded. */
+	public long getMaximum() {
+		return this.maximum;
+	}
+}
@@ -3,10 +3,10 @@ package lanat.helpRepresentation;
 import lanat.Argument;
 import lanat.ArgumentGroup;
 import lanat.helpRepresentation.descriptions.DescriptionFormatter;
+import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import textFormatter.FormatOption;
-import textFormatter.TextFormatter;
 
 import java.util.List;
 
@@ -31,11 +31,7 @@ public final class ArgumentGroupRepr {
 		if (description == null)
 			return null;
 
-		final var name = new TextFormatter(group.getName() + ':').addFormat(FormatOption.BOLD);
-		if (group.isExclusive())
-			name.addFormat(FormatOption.UNDERLINE);
-
-		return '\n' + name.toString() + '\n' + HelpFormatter.indent(description, group);
+		return '\n' + ArgumentGroupRepr.getName(group) + '\n' + HelpFormatter.indent(description, group);
 	}
 
 	/**
@@ -55,26 +51,32 @@ public final class ArgumentGroupRepr {
 	public static @NotNull String getDescriptions(@NotNull ArgumentGroup group) {
 		final var arguments = Argument.sortByPriority(group.getArguments());
 		final var buff = new StringBuilder();
-		final var name = new TextFormatter(group.getName() + ':').addFormat(FormatOption.BOLD);
 		final var description = DescriptionFormatter.parse(group);
 		final var argumentDescriptions = ArgumentRepr.getDescriptions(arguments);
 
 		if (description == null && argumentDescriptions.isEmpty())
 			return "";
 
-		if (group.isExclusive())
-			name.addFormat(FormatOption.UNDERLINE);
-
 		if (description != null)
 			buff.append(description).append("\n\n");
 
-		buff.append(ArgumentRepr.getDescriptions(arguments));
+		buff.append(argumentDescriptions);
 
 		for (final var subGroup : group.getGroups()) {
 			buff.append(ArgumentGroupRepr.getDescriptions(subGroup));
 		}
 
-		return '\n' + name.toString() + '\n' + HelpFormatter.indent(buff.toString(), group);
+		return '\n' + ArgumentGroupRepr.getName(group) + '\n' + HelpFormatter.indent(buff.toString(), group);
+	}
+
+	/** Returns the name of the given group followed by a colon, in bold. Underlined too if the group is exclusive. */
+	private static @NotNull String getName(@NotNull ArgumentGroup group) {
+		return UtlMisc.styled(group.getName() + ':', f -> {
+			f.addFormat(FormatOption.BOLD);
+			if (group.isExclusive())
+				f.addFormat(FormatOption.UNDERLINE);
+			return f;
+		});
 	}
 
 
@@ -31,11 +31,19 @@ public final class ArgumentRepr {
 	 */
 	public static @NotNull String getRepresentation(@NotNull Argument<?, ?> arg) {
 		final var repr = arg.argType.getRepresentation();
-
-		final var outText = new TextFormatter();
 		final String names = String.join("/", arg.getNames());
 		final char argPrefix = arg.getPrefix().character;
 
+		// nothing to style, so just build the text
+		if (!TextFormatter.enableSequences) {
+			if (arg.isPositional() && repr != null)
+				return repr + "(" + names + ")";
+
+			return "" + argPrefix + (names.length() > 1 ? argPrefix : "") + names + (repr == null ? "" : " " + repr);
+		}
+
+		final var outText = new TextFormatter();
+
 		if (arg.isRequired()) {
 			outText.addFormat(FormatOption.BOLD, FormatOption.UNDERLINE);
 		}
@@ -6,7 +6,6 @@ import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import textFormatter.FormatOption;
-import textFormatter.TextFormatter;
 
 /**
  * Contains methods for generating the help representations of {@link Command}s.
@@ -42,7 +41,7 @@ public final class CommandRepr {
 	public static @NotNull String getRepresentation(@NotNull Command cmd) {
 		return String.join(
 			"/",
-			cmd.getNames().stream().map(n -> new TextFormatter(n).addFormat(FormatOption.BOLD).toString()).toList()
+			cmd.getNames().stream().map(n -> UtlMisc.styled(n, f -> f.addFormat(FormatOption.BOLD))).toList()
 		);
 	}
 
@@ -3,10 +3,10 @@ package lanat.helpRepresentation;
 import lanat.Command;
 import lanat.CommandUser;
 import lanat.helpRepresentation.descriptions.Tag;
+import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
 import textFormatter.Color;
 import textFormatter.FormatOption;
-import textFormatter.TextFormatter;
 import utils.UtlString;
 
 import java.util.*;
@@ -173,10 +173,10 @@ public class HelpFormatter {
 				continue;
 
 			if (HelpFormatter.debugLayout)
-				buffer.append(new TextFormatter("LayoutItem " + i + ":\n")
-					.addFormat(FormatOption.UNDERLINE)
-					.withForegroundColor(Color.GREEN)
-				);
+				buffer.append(UtlMisc.styled(
+					"LayoutItem " + i + ":\n",
+					f -> f.addFormat(FormatOption.UNDERLINE).withForegroundColor(Color.GREEN)
+				));
 
 			buffer.append(UtlString.wrap(generatedContent, lineWrapMax)).append('\n');
 		}
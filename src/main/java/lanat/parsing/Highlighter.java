@@ -0,0 +1,180 @@
+package lanat.parsing;
+
+import lanat.Command;
+import lanat.TupleChar;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits an input line into spans with the {@link TokenType} that each part of it would have when tokenized, for
+ * showing the line with syntax highlighting while it is being typed.
+ * <p>
+ * Unlike tokenizing, this does not change the state of the commands, read response files, or report errors. The spans
+ * are found lazily as they are requested, so only the part of the line that is needed is read.
+ * </p>
+ * <strong>Example:</strong>
+ * <pre>{@code
+ * Highlighter.highlight(parser, line).forEach(span ->
+ *     output.color(span.start(), span.end(), span.type().color)
+ * );
+ * }</pre>
+ */
+public final class Highlighter implements Spliterator<Highlighter.Span> {
+	/** The command that the part of the line being read belongs to. */
+	private @NotNull Command command;
+	private final @NotNull String input;
+	/** The index of the next character to read. */
+	private int index = 0;
+	/** The number of Sub-Commands found so far. */
+	private int depth = 0;
+	private boolean tupleOpen = false;
+
+	/**
+	 * A part of the input line.
+	 * @param start the index of the first character of the span
+	 * @param end the index after the last character of the span
+	 * @param type the type of the token that the span would be
+	 * @param depth the nesting level of the command that the span belongs to. {@code 0} for the root command, {@code 1}
+	 *  for its Sub-Command, and so on
+	 */
+	public record Span(int start, int end, @NotNull TokenType type, int depth) { }
+
+	/**
+	 * Creates a new highlighter for the given input line.
+	 * @param command the command that receives the input
+	 * @param input the input line
+	 */
+	public Highlighter(@NotNull Command command, @NotNull String input) {
+		this.command = command;
+		this.input = input;
+	}
+
+	/**
+	 * Returns a stream of the spans of the given input line.
+	 * @param command the command that receives the input
+	 * @param input the input line
+	 * @return the spans, in order
+	 */
+	public static @NotNull Stream<@NotNull Span> highlight(@NotNull Command command, @NotNull String input) {
+		return StreamSupport.stream(new Highlighter(command, input), false);
+	}
+
+	@Override
+	public boolean tryAdvance(@NotNull Consumer<? super Span> action) {
+		final int length = this.input.length();
+
+		while (this.index < length && Character.isWhitespace(this.input.charAt(this.index)))
+			this.index++;
+
+		if (this.index >= length)
+			return false;
+
+		final int start = this.index;
+		final char cChar = this.input.charAt(start);
+		final TupleChar tupleChars = this.command.getTupleChars();
+
+		if (cChar == '"' || cChar == '\'') {
+			this.index = this.findStringEnd(cChar);
+			action.accept(new Span(start, this.index, TokenType.ARGUMENT_VALUE, this.depth));
+		} else if (cChar == tupleChars.open) {
+			this.index++;
+			this.tupleOpen = true;
+			action.accept(new Span(start, this.index, TokenType.ARGUMENT_VALUE_TUPLE_START, this.depth));
+		} else if (cChar == tupleChars.close) {
+			this.index++;
+			this.tupleOpen = false;
+			action.accept(new Span(start, this.index, TokenType.ARGUMENT_VALUE_TUPLE_END, this.depth));
+		} else if (this.input.startsWith("--", start) && this.isWhitespaceAt(start + 2)) {
+			// all the rest is forwarded
+			this.index = length;
+			action.accept(new Span(start, length, TokenType.FORWARD_VALUE, this.depth));
+		} else {
+			this.advanceWord(action);
+		}
+
+		return true;
+	}
+
+	/** Reads the word at the current index, and passes its span to the given action. */
+	private void advanceWord(@NotNull Consumer<? super Span> action) {
+		final int start = this.index;
+		final int length = this.input.length();
+		final TupleChar tupleChars = this.command.getTupleChars();
+		final var word = new StringBuilder();
+		boolean valueFollows = false;
+
+		for (; this.index < length; this.index++) {
+			final char cChar = this.input.charAt(this.index);
+
+			if (cChar == '\\') {
+				if (++this.index < length)
+					word.append(this.input.charAt(this.index));
+			} else if (Character.isWhitespace(cChar) || cChar == tupleChars.open || cChar == tupleChars.close) {
+				break;
+			} else if (cChar == '=' && !this.tupleOpen && Tokenizer.isArgumentSpecifier(this.command, word.toString())) {
+				valueFollows = true;
+				break;
+			} else {
+				word.append(cChar);
+			}
+		}
+
+		final int end = Math.min(this.index, length);
+		final TokenType type = this.tupleOpen
+			? TokenType.ARGUMENT_VALUE
+			: Tokenizer.getWordType(this.command, word.toString());
+
+		action.accept(new Span(start, end, type, this.depth));
+
+		// skip the '=' character
+		if (valueFollows)
+			this.index++;
+
+		// the rest of the line belongs to the Sub-Command
+		if (type == TokenType.COMMAND) {
+			final Command subCommand = this.command.resolveCommand(word.toString());
+			assert subCommand != null;
+			this.command = subCommand;
+			this.depth++;
+		}
+	}
+
+	/** Returns the index after the character that closes the string that starts at the current index. */
+	private int findStringEnd(char stringChar) {
+		for (int i = this.index + 1; i < this.input.length(); i++) {
+			final char cChar = this.input.charAt(i);
+
+			if (cChar == '\\')
+				i++;
+			else if (cChar == stringChar)
+				return i + 1;
+		}
+
+		// the string is not closed, so it takes the rest of the line
+		return this.input.length();
+	}
+
+	private boolean isWhitespaceAt(int index) {
+		return index < this.input.length() && Character.isWhitespace(this.input.charAt(index));
+	}
+
+	/** Spans can't be found in parallel, since each one depends on the previous ones. */
+	@Override
+	public Spliterator<Span> trySplit() {
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+	}
+}
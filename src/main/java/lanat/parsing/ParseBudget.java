@@ -0,0 +1,123 @@
+package lanat.parsing;
+
+import lanat.ParseLimits;
+import lanat.exceptions.ParseLimitExceededException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps track of the resources used by a single parse, and stops it by throwing a
+ * {@link ParseLimitExceededException} when one of its {@link ParseLimits} is exceeded.
+ * <p>
+ * A new budget is created for each parse, and its clock starts when it is created.
+ * </p>
+ */
+public final class ParseBudget {
+	private final @NotNull ParseLimits limits;
+	/** The value of {@link System#nanoTime()} when the parse started. */
+	private final long startNanos;
+	/** The time the parse may take, in nanoseconds. {@code -1} if there is no timeout. */
+	private final long timeoutNanos;
+	private int tokenCount = 0;
+	private int errorCount = 0;
+
+	/**
+	 * Creates a new budget for a parse that starts now.
+	 * @param limits the limits of the parse
+	 */
+	public ParseBudget(@NotNull ParseLimits limits) {
+		this.limits = limits;
+		this.startNanos = System.nanoTime();
+		this.timeoutNanos = limits.timeout() == null ? -1 : limits.timeout().toNanos();
+	}
+
+	/** Returns the limits of the parse. */
+	public @NotNull ParseLimits getLimits() {
+		return this.limits;
+	}
+
+	/**
+	 * Checks that the parse has not taken longer than its timeout.
+	 * @throws ParseLimitExceededException if it has
+	 */
+	public void checkDeadline() {
+		// compare the elapsed time, since nanoTime may overflow
+		if (this.timeoutNanos != -1 && System.nanoTime() - this.startNanos > this.timeoutNanos)
+			throw this.timeoutExceeded();
+	}
+
+	/**
+	 * Waits for the given task to complete, at most until the deadline of the parse.
+	 * @param future the task to wait for
+	 * @param <T> the type of the result
+	 * @return the result of the task
+	 * @throws ParseLimitExceededException if the deadline is reached before the task completes
+	 * @throws ExecutionException if the task failed
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	public <T> T await(@NotNull Future<T> future) throws ExecutionException, InterruptedException {
+		if (this.timeoutNanos == -1)
+			return future.get();
+
+		try {
+			// a task that has already completed is not timed out, even if the deadline has passed
+			return future.get(this.timeoutNanos - (System.nanoTime() - this.startNanos), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			throw this.timeoutExceeded();
+		}
+	}
+
+	private @NotNull ParseLimitExceededException timeoutExceeded() {
+		assert this.limits.timeout() != null;
+		return new ParseLimitExceededException(ParseLimits.Limit.TIMEOUT, this.limits.timeout().toMillis());
+	}
+
+	/**
+	 * Counts a new token, and checks the deadline.
+	 * @throws ParseLimitExceededException if there are too many tokens, or the parse has taken too long
+	 */
+	void countToken() {
+		if (++this.tokenCount > this.limits.maxTokens())
+			throw new ParseLimitExceededException(ParseLimits.Limit.TOKENS, this.limits.maxTokens());
+
+		this.checkDeadline();
+	}
+
+	/**
+	 * Counts a new error that is shown, unless the maximum number of errors to show has been reached.
+	 * @return {@code true} if the error was counted, or {@code false} if there are already as many errors as allowed
+	 */
+	boolean countError() {
+		if (this.errorCount >= this.limits.maxErrors())
+			return false;
+
+		this.errorCount++;
+		return true;
+	}
+
+	/**
+	 * Checks that the given number of nested Sub-Commands is allowed.
+	 * @param depth the number of nested Sub-Commands
+	 * @throws ParseLimitExceededException if it is not
+	 */
+	void checkNestingDepth(int depth) {
+		if (depth > this.limits.maxNestingDepth())
+			throw new ParseLimitExceededException(ParseLimits.Limit.NESTING_DEPTH, this.limits.maxNestingDepth());
+	}
+
+	/**
+	 * Checks that an argument may receive the given number of values.
+	 * @param count the number of values
+	 * @throws ParseLimitExceededException if it may not
+	 */
+	void checkValueCount(int count) {
+		if (count > this.limits.maxValuesPerArgument())
+			throw new ParseLimitExceededException(
+				ParseLimits.Limit.VALUES_PER_ARGUMENT, this.limits.maxValuesPerArgument()
+			);
+	}
+}
@@ -3,6 +3,7 @@ package lanat.parsing;
 import lanat.Argument;
 import lanat.ArgumentType;
 import lanat.Command;
+import lanat.events.ArgumentTypeParseEvent;
 import lanat.parsing.errors.Error;
 import lanat.parsing.errors.ParseErrors;
 import org.jetbrains.annotations.NotNull;
@@ -10,8 +11,10 @@ import org.jetbrains.annotations.Nullable;
 import utils.Range;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
@@ -20,8 +23,8 @@ import java.util.stream.Stream;
  * This class is responsible for parsing the tokens and delegating the parsing of the values to the {@link ArgumentType}s
  * of the arguments that are being parsed.
  * </p>
- * When finished parsing, this class will contain a map of the arguments to their parsed values. This map can be accessed
- * by calling {@link Parser#getParsedArgumentsHashMap()}.
+ * When finished parsing, this class will contain the parsed values of the arguments. These can be accessed by calling
+ * {@link Parser#getParsedValues()}.
  */
 public final class Parser extends ParsingStateBase<Error.ParseError> {
 	/**
@@ -40,15 +43,21 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 	private boolean isInTuple = false;
 
 	/**
-	 * The parsed arguments. This is a map of the argument to the value that it parsed. The reason this is saved is that
-	 * we don't want to run {@link Parser#getParsedArgumentsHashMap()} multiple times because that can break stuff badly
+	 * The parsed values of the arguments, in the same order as the arguments of the command. The reason this is saved
+	 * is that we don't want to run {@link Parser#getParsedValues()} multiple times because that can break stuff badly
 	 * in relation to error handling.
 	 */
-	private HashMap<@NotNull Argument<?, ?>, @Nullable Object> parsedArguments;
+	private @Nullable Object @Nullable [] parsedValues;
+
+	/** The indices of the arguments that were used, in the same order as the arguments of the command. */
+	private @Nullable BitSet usedArguments;
 
 	/** Contains the forward value if one was found. */
 	private @Nullable String forwardValue;
 
+	/** The arguments that received values, in the order they first did. */
+	private final @NotNull ArrayList<@NotNull Argument<?, ?>> touchedArguments = new ArrayList<>();
+
 
 	public Parser(@NotNull Command command) {
 		super(command);
@@ -71,27 +80,41 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 
 	/** Sets the tokens that this parser will parse. */
 	public void setTokens(@NotNull List<@NotNull Token> tokens) {
+		this.dirty = true;
 		this.tokens = tokens;
 	}
 
 	/**
 	 * Parses the tokens that have been set. Delegates parsing of argument values to the {@link ArgumentType} of the
 	 * argument that is being parsed.
+	 * <p>
+	 * If a Sub-Command is found, the rest of the tokens are parsed by its parser.
+	 * </p>
+	 * @param budget The budget of the parse. Shared by the parsers of all the Sub-Commands
 	 */
-	public void parseTokens(@Nullable Parser previousParser) {
+	public void parseTokens(@NotNull ParseBudget budget) {
+		this.parseTokens(budget, null);
+	}
+
+	private void parseTokens(@NotNull ParseBudget budget, @Nullable Parser previousParser) {
 		assert this.tokens != null : "Tokens have not been set yet.";
 		assert !this.hasFinished : "This parser has already finished parsing.";
 
+		this.dirty = true;
+
 		this.nestingOffset = previousParser == null
 			? 0
 			: previousParser.currentTokenIndex + previousParser.nestingOffset;
 
+		this.budget = budget;
+
 		// number of positional arguments that have been parsed.
 		// if this becomes -1, then we know that we are no longer parsing positional arguments
 		short positionalArgCount = 0;
 		Argument<?, ?> lastPositionalArgument; // this will never be null when being used
 
 		for (this.currentTokenIndex = 0; this.currentTokenIndex < this.tokens.size(); ) {
+			this.budget.checkDeadline();
 			final Token currentToken = this.getCurrentToken();
 
 			if (currentToken.type() == TokenType.ARGUMENT_NAME) {
@@ -117,19 +140,21 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 			} else if (currentToken.type() == TokenType.COMMAND) {
 				// encountered a command. first skip the token of the command.
 				this.currentTokenIndex++;
-				// find the command that matches that name and let it parse the values
-				this.command.getCommand(currentToken.contents())
+				// let the command that was found by the tokenizer parse the values
+				Objects.requireNonNull(this.command.getTokenizer().getTokenizedSubCommand())
 					.getParser()
-					.parseTokens(this);
+					.parseTokens(this.budget, this);
 				break;
 			} else if (currentToken.type() == TokenType.FORWARD_VALUE) {
 				this.forwardValue = currentToken.contents();
 				this.currentTokenIndex++;
 			} else {
-				this.addError(new ParseErrors.UnmatchedTokenError(this.currentTokenIndex));
-
-				if (currentToken.type() == TokenType.ARGUMENT_VALUE)
+				if (currentToken.type() == TokenType.ARGUMENT_VALUE) {
+					this.addError(new ParseErrors.UnmatchedTokenError(this.currentTokenIndex, true));
 					this.checkForSimilarArgumentName(currentToken.contents());
+				} else {
+					this.addError(new ParseErrors.UnmatchedTokenError(this.currentTokenIndex));
+				}
 
 				this.currentTokenIndex++;
 			}
@@ -182,6 +207,7 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 					break;
 			}
 
+			this.budget.checkValueCount(numValues + 1);
 			values.add(currentToken);
 		}
 
@@ -312,17 +338,54 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 	}
 
 	/**
-	 * Returns a hashmap of Arguments and their corresponding parsed values.
+	 * Returns the parsed values of the arguments of the command, in the same order as {@link Command#getArguments()}.
 	 * This function invokes the {@link Argument#finishParsing()} method on each argument the first time it is called.
-	 * After that, it will return the same hashmap.
+	 * After that, it will return the same array.
 	 * */
-	public @NotNull HashMap<@NotNull Argument<?, ?>, @Nullable Object> getParsedArgumentsHashMap() {
-		if (this.parsedArguments == null) {
-			this.parsedArguments = new HashMap<>() {{
-				Parser.this.command.getArguments().forEach(arg -> this.put(arg, arg.finishParsing()));
-			}};
+	public @Nullable Object @NotNull [] getParsedValues() {
+		if (this.parsedValues == null) {
+			this.dirty = true;
+			// the checks done when finishing the arguments need to know all the ones that were used
+			this.getUsedArguments();
+
+			final var arguments = this.command.getArguments();
+			final var values = new Object[arguments.size()];
+
+			for (int i = 0; i < values.length; i++)
+				values[i] = arguments.get(i).finishParsing();
+
+			this.parsedValues = values;
+		}
+		return this.parsedValues;
+	}
+
+	/**
+	 * Returns the arguments of the command that received values since the last reset. These are the only ones whose
+	 * argument types have state to reset.
+	 */
+	public @NotNull List<@NotNull Argument<?, ?>> getTouchedArguments() {
+		return Collections.unmodifiableList(this.touchedArguments);
+	}
+
+	/**
+	 * Returns the indices of the arguments of the command that were used, in the same order as
+	 * {@link Command#getArguments()}. It is only built the first time this is called after parsing, and must not be
+	 * modified.
+	 */
+	public @NotNull BitSet getUsedArguments() {
+		if (this.usedArguments == null) {
+			this.dirty = true;
+			final var arguments = this.command.getArguments();
+			final var used = new BitSet(arguments.size());
+
+			for (int i = 0; i < arguments.size(); i++) {
+				if (arguments.get(i).getUsageCount() > 0)
+					used.set(i);
+			}
+
+			this.usedArguments = used;
 		}
-		return this.parsedArguments;
+		return this.usedArguments;
 	}
 
 	private void argumentTypeParseValues(@NotNull Argument<?, ?> argument, @NotNull String... values) {
@@ -330,13 +393,35 @@ public final class Parser extends ParsingStateBase<Error.ParseError> {
 	}
 
 	private void argumentTypeParseValues(@NotNull Argument<?, ?> argument, int offset, @NotNull String... values) {
-		argument.argType.parseAndUpdateValue(this.currentTokenIndex + offset, this.isInTuple, values);
+		final var event = new ArgumentTypeParseEvent();
+		event.begin();
+
+		if (argument.getUsageCount() == 0)
+			this.touchedArguments.add(argument);
+		argument.argType.parseAndUpdateValue(this.budget, this.currentTokenIndex + offset, this.isInTuple, values);
+
+		event.argumentName = argument.getName();
+		event.argumentType = argument.argType.getClass();
+		event.valueCount = values.length;
+		event.commitFor(this.command);
 	}
 
 	private @NotNull Token getCurrentToken() {
 		return this.tokens.get(this.currentTokenIndex);
 	}
 
+	@Override
+	public void resetState() {
+		super.resetState();
+		this.tokens = null;
+		this.currentTokenIndex = 0;
+		this.isInTuple = false;
+		this.parsedValues = null;
+		this.usedArguments = null;
+		this.forwardValue = null;
+		this.touchedArguments.clear();
+	}
+
 	// ------------------------------------------------ Error Handling ------------------------------------------------
 	private void addIncorrectValueNumberError(@NotNull Argument<?, ?> argument, int valueCount, boolean isInArgNameList) {
 		this.addError(new ParseErrors.IncorrectValueNumberError(
@@ -26,6 +26,15 @@ public sealed abstract class ParsingStateBase<T extends ErrorLevelProvider> exte
 	/** The offset position of the input values from the previous parser. */
 	protected int nestingOffset = 0;
 
+	/** Whether this has been used since it was created or last reset. */
+	protected boolean dirty = false;
+
+	/** The budget of the current parse. Shared by all the tokenizers or parsers of the Sub-Commands. */
+	protected ParseBudget budget;
+
+	/** Whether an error that causes the program to exit was not stored because the maximum was reached. */
+	private boolean droppedExitError = false;
+
 	/**
 	 * Instantiates a new parsing state.
 	 * @param command the command that is being parsed
@@ -76,7 +85,26 @@ public sealed abstract class ParsingStateBase<T extends ErrorLevelProvider> exte
 	 * @return the argument found, or {@code null} if no argument was found
 	 */
 	protected @Nullable Argument<?, ?> getMatchingArgument(char argName) {
-		for (final var argument : this.command.getArguments()) {
+		return ParsingStateBase.getMatchingArgument(this.command, argName);
+	}
+
+	/**
+	 * Returns the argument found by the name specified.
+	 * @param argName the name of the argument to find
+	 * @return the argument found, or {@code null} if no argument was found
+	 */
+	protected @Nullable Argument<?, ?> getMatchingArgument(String argName) {
+		return ParsingStateBase.getMatchingArgument(this.command, argName);
+	}
+
+	/**
+	 * Returns the argument of the given command found by the single character name specified.
+	 * @param command the command to find the argument in
+	 * @param argName the name of the argument to find
+	 * @return the argument found, or {@code null} if no argument was found
+	 */
+	static @Nullable Argument<?, ?> getMatchingArgument(@NotNull Command command, char argName) {
+		for (final var argument : command.getArguments()) {
 			if (argument.checkMatch(argName)) {
 				return argument;
 			}
@@ -85,12 +113,13 @@ public sealed abstract class ParsingStateBase<T extends ErrorLevelProvider> exte
 	}
 
 	/**
-	 * Returns the argument found by the name specified.
+	 * Returns the argument of the given command found by the name specified.
+	 * @param command the command to find the argument in
 	 * @param argName the name of the argument to find
 	 * @return the argument found, or {@code null} if no argument was found
 	 */
-	protected @Nullable Argument<?, ?> getMatchingArgument(String argName) {
-		for (final var argument : this.command.getArguments()) {
+	static @Nullable Argument<?, ?> getMatchingArgument(@NotNull Command command, @NotNull String argName) {
+		for (final var argument : command.getArguments()) {
 			if (argument.checkMatch(argName)) {
 				return argument;
 			}
@@ -98,6 +127,36 @@ public sealed abstract class ParsingStateBase<T extends ErrorLevelProvider> exte
 		return null;
 	}
 
+	/**
+	 * Adds an error, unless the maximum number of errors to show of the parse has been reached. Past that point, errors
+	 * would not be shown anyway, so they are not stored, but they still count for {@link #hasExitErrors()}.
+	 * @param error The error to add.
+	 * @see lanat.ParseLimits#maxErrors()
+	 */
+	@Override
+	public void addError(@NotNull T error) {
+		if (this.budget != null && this.countsForErrorLimit(error) && !this.budget.countError()) {
+			this.droppedExitError |= this.isExitError(error);
+			return;
+		}
+
+		super.addError(error);
+	}
+
+	/**
+	 * Returns {@code true} if the given error counts for the maximum number of errors to show of the parse.
+	 * Only the errors that are shown count.
+	 * @param error The error to check.
+	 */
+	protected boolean countsForErrorLimit(@NotNull T error) {
+		return this.isDisplayError(error);
+	}
+
+	@Override
+	public boolean hasExitErrors() {
+		return this.droppedExitError || super.hasExitErrors();
+	}
+
 	/**
 	 * Returns {@code true} if the parsing of the input has finished, {@code false} otherwise.
 	 * @return {@code true} if the parsing of the input has finished, {@code false} otherwise.
@@ -113,4 +172,23 @@ public sealed abstract class ParsingStateBase<T extends ErrorLevelProvider> exte
 	public int getNestingOffset() {
 		return this.nestingOffset;
 	}
+
+	/**
+	 * Returns {@code true} if this has been used since it was created or last reset, so it has state to reset.
+	 * @see #resetState()
+	 */
+	public boolean isDirty() {
+		return this.dirty || this.hasAnyErrors();
+	}
+
+	/** Resets this to the state it had when created, so it can be used for another parse. */
+	@Override
+	public void resetState() {
+		super.resetState();
+		this.hasFinished = false;
+		this.nestingOffset = 0;
+		this.dirty = false;
+		this.budget = null;
+		this.droppedExitError = false;
+	}
 }
\ No newline at end of file
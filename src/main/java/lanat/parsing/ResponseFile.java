@@ -0,0 +1,132 @@
+package lanat.parsing;
+
+import lanat.parsing.errors.Error;
+import lanat.parsing.errors.TokenizeErrors;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A response file referenced in the input with {@code @path}. The {@link Tokenizer} reads its contents as if they were
+ * in the input in place of the reference.
+ * <p>
+ * The file is decoded as UTF-8 directly into a char array, which is the one read by the tokenizer. Neither the bytes
+ * of the file nor a string of its contents are kept in memory.
+ * </p>
+ */
+final class ResponseFile {
+	/** The path of the file, absolute and normalized. */
+	final @NotNull Path path;
+
+	/** The decoded contents of the file. Only the first {@link #length} chars are part of it. */
+	final char @NotNull [] chars;
+
+	/** The number of chars in the file. */
+	final int length;
+
+	/**
+	 * The absolute index in the input of the reference that caused this file to be read. For nested response files,
+	 * this is the reference of the outermost one, since it is the only one that is part of the input.
+	 */
+	final int inputIndex;
+
+	/** The length of the reference at {@link #inputIndex}. */
+	final int inputLength;
+
+	/** The index of the char to continue reading from. Only updated when the file is left before reaching its end. */
+	int charIndex = 0;
+
+	private ResponseFile(@NotNull Path path, char @NotNull [] chars, int length, int inputIndex, int inputLength) {
+		this.path = path;
+		this.chars = chars;
+		this.length = length;
+		this.inputIndex = inputIndex;
+		this.inputLength = inputLength;
+	}
+
+	/**
+	 * Reads the file at the given path, decoding it as UTF-8.
+	 * @param path the path of the file, absolute and normalized
+	 * @param inputIndex the absolute index in the input of the reference to the file
+	 * @param inputLength the length of the reference to the file
+	 * @return the response file
+	 * @throws IOException if the file cannot be read, or it is not valid UTF-8
+	 */
+	static @NotNull ResponseFile read(@NotNull Path path, int inputIndex, int inputLength) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("file is too large");
+
+			// UTF-8 never decodes to more chars than bytes, so the array is large enough for the whole file
+			final var chars = new char[(int)size];
+			int length = 0;
+
+			try (var reader = Channels.newReader(
+				channel,
+				StandardCharsets.UTF_8.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT),
+				-1
+			)) {
+				int read;
+				while (length < chars.length && (read = reader.read(chars, length, chars.length - length)) != -1)
+					length += read;
+			}
+
+			return new ResponseFile(path, chars, length, inputIndex, inputLength);
+		}
+	}
+
+	/**
+	 * Returns a short description of why reading a response file failed with the given exception.
+	 * @param exception the exception thrown by {@link #read(Path, int, int)}
+	 * @return the description of the failure
+	 */
+	static @NotNull String describeFailure(@NotNull IOException exception) {
+		if (exception instanceof NoSuchFileException)
+			return "file does not exist";
+		if (exception instanceof AccessDeniedException)
+			return "access denied";
+		if (exception instanceof CharacterCodingException)
+			return "file is not valid UTF-8";
+		return String.valueOf(exception.getMessage());
+	}
+
+	/**
+	 * Wraps an error that occurred at the given index of this file, so that it can be shown on the reference to the
+	 * file in the input, along with the line and column of the error in it.
+	 * @param error the error to wrap
+	 * @param charIndex the index of the char in this file that caused the error
+	 * @param nestingOffset the nesting offset of the tokenizer that is adding the error
+	 * @return the wrapped error
+	 */
+	@NotNull Error.TokenizeError wrapError(@NotNull Error.TokenizeError error, int charIndex, int nestingOffset) {
+		int line = 1, lineStart = 0;
+		for (int i = 0; i < charIndex && i < this.length; i++) {
+			if (this.chars[i] == '\n') {
+				line++;
+				lineStart = i + 1;
+			}
+		}
+
+		return new TokenizeErrors.ResponseFileError(
+			// the reference may be in the input of a previous tokenizer if this one continued reading the file
+			Math.max(0, this.inputIndex - nestingOffset),
+			this.inputLength,
+			this.path.toString(),
+			line,
+			charIndex - lineStart + 1,
+			error
+		);
+	}
+}
@@ -13,10 +13,16 @@ public record Token(@NotNull TokenType type, @NotNull String contents) {
 	 * @return A {@link TextFormatter} instance that can be used to display the token.
 	 */
 	public @NotNull TextFormatter getFormatter() {
-		var contents = this.contents();
-		if (contents.contains(" ") && this.type == TokenType.ARGUMENT_VALUE) {
-			contents = '"' + UtlString.escapeQuotes(contents) + '"';
-		}
-		return new TextFormatter(contents, this.type.color);
+		return new TextFormatter(this.getDisplayContents(), this.type.color);
+	}
+
+	/**
+	 * Returns the contents of the token as they are displayed to the user. Values that contain spaces are quoted.
+	 * @return The contents of the token as they are displayed to the user.
+	 */
+	public @NotNull String getDisplayContents() {
+		if (this.contents.contains(" ") && this.type == TokenType.ARGUMENT_VALUE)
+			return '"' + UtlString.escapeQuotes(this.contents) + '"';
+		return this.contents;
 	}
 }
\ No newline at end of file
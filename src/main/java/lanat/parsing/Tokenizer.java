@@ -8,10 +8,15 @@ import lanat.parsing.errors.TokenizeErrors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -25,7 +30,10 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	/** Are we currently within a string? */
 	private boolean stringOpen = false;
 
-	/** The index of the current character in the {@link Tokenizer#inputString} */
+	/**
+	 * The index of the current character in {@link Tokenizer#inputChars}. When reading the input string, this is the
+	 * absolute index in it, not relative to the start of the part tokenized by this tokenizer
+	 */
 	private int currentCharIndex = 0;
 
 	/** The tokens that have been parsed so far */
@@ -34,52 +42,146 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	/** The current value of the token that is being parsed */
 	private final @NotNull StringBuilder currentValue = new StringBuilder();
 
-	/** The input string that is being tokenized */
+	/**
+	 * The whole input string that the root command received. This tokenizer starts tokenizing it at
+	 * {@link Tokenizer#nestingOffset}
+	 */
 	private String inputString;
 
-	/** The input string that is being tokenized, split into characters */
+	/**
+	 * The characters of {@link Tokenizer#inputString}. The same array is shared by all the tokenizers of the
+	 * Sub-Commands, so the input is not copied for each one
+	 */
+	private char[] inputStringChars;
+
+	/**
+	 * The characters that are being tokenized. These are the ones of the input string, or the ones of the response
+	 * file being read
+	 */
 	private char[] inputChars;
 
+	/** The number of characters in {@link Tokenizer#inputChars} that are being tokenized */
+	private int inputLength;
+
+	/** The response file being read. {@code null} if reading the input string */
+	private @Nullable ResponseFile currentFile;
+
+	/** The response files that were being read before {@link Tokenizer#currentFile}. The first one is its parent */
+	private final @NotNull ArrayDeque<@NotNull ResponseFile> outerFiles = new ArrayDeque<>();
+
+	/** The index of the character to continue from in the input string once all response files are read */
+	private int inputStringCharIndex = 0;
+
+	/** The Sub-Command found while tokenizing, which tokenizes the rest of the input */
+	private @Nullable Command tokenizedSubCommand;
+
+	/** The absolute index in the input string that {@link Tokenizer#tokenizedSubCommand} starts tokenizing from */
+	private int subCommandCharIndex;
+
+	/**
+	 * The response files that were being read when {@link Tokenizer#tokenizedSubCommand} was found, starting from the
+	 * innermost one. The rest of them are tokenized by the Sub-Command
+	 */
+	private @NotNull List<@NotNull ResponseFile> subCommandFiles = List.of();
+
+	/** The number of Sub-Commands that were found before the command of this tokenizer */
+	private int depth = 0;
+
 
 	public Tokenizer(@NotNull Command command) {
 		super(command);
 	}
 
 
-	private void setInputString(@NotNull String inputString, int nestingOffset, int lastCharIndex) {
-		this.nestingOffset = lastCharIndex + nestingOffset;
-		this.inputString = inputString.substring(lastCharIndex);
-		this.inputChars = this.inputString.toCharArray();
+	private void setInputString(@NotNull String inputString, char @NotNull [] inputStringChars, int nestingOffset) {
+		this.nestingOffset = nestingOffset;
+		this.inputString = inputString;
+		this.inputStringChars = inputStringChars;
+		this.inputChars = inputStringChars;
+		this.inputLength = inputStringChars.length;
+		this.currentCharIndex = nestingOffset;
 	}
 
 	/**
 	 * Tokenizes the input string given. When finished, the tokens can be retrieved using
 	 * {@link Tokenizer#getFinalTokens()}
+	 * <p>
+	 * If a Sub-Command is found, the rest of the input is tokenized by its tokenizer, and so on, until the last one.
+	 * </p>
 	 * @param input The input string to tokenize
-	 * @param previousTokenizer The previous tokenizer that is requesting this tokenization. If this is the first
-	 *  call to this method, this may be {@code null}
+	 * @param budget The budget of the parse. Shared by the tokenizers of all the Sub-Commands
+	 */
+	public void tokenize(@NotNull String input, @NotNull ParseBudget budget) {
+		// the characters are shared by all the tokenizers
+		final char[] chars = input.toCharArray();
+
+		Tokenizer tokenizer = this;
+		Tokenizer previousTokenizer = null;
+		while (true) {
+			tokenizer.tokenize$command(input, chars, budget, previousTokenizer);
+
+			if (tokenizer.tokenizedSubCommand == null)
+				break;
+
+			previousTokenizer = tokenizer;
+			tokenizer = tokenizer.tokenizedSubCommand.getTokenizer();
+		}
+	}
+
+	/**
+	 * Tokenizes the part of the input string that belongs to the command of this tokenizer, stopping if a Sub-Command
+	 * is found.
+	 * @param input The whole input string
+	 * @param chars The characters of the input string
+	 * @param budget The budget of the parse
+	 * @param previousTokenizer The previous tokenizer that found the command of this one, if any
 	 */
-	public void tokenize(@NotNull String input, @Nullable Tokenizer previousTokenizer) {
+	private void tokenize$command(
+		@NotNull String input,
+		char @NotNull [] chars,
+		@NotNull ParseBudget budget,
+		@Nullable Tokenizer previousTokenizer
+	) {
 		assert !this.hasFinished : "Tokenizer has already finished tokenizing.";
 
-		if (previousTokenizer == null)
-			this.setInputString(input, 0, 0);
-		else
-			this.setInputString(input, previousTokenizer.nestingOffset, previousTokenizer.currentCharIndex);
+		this.dirty = true;
+		this.setInputString(input, chars, previousTokenizer == null ? 0 : previousTokenizer.subCommandCharIndex);
 
+		this.budget = budget;
+		if (previousTokenizer != null)
+			this.depth = previousTokenizer.depth + 1;
 
-		// nothing to tokenize. Just finish
-		if (input.isBlank()) {
+		try {
+			// the previous tokenizer found this command in a response file, so the rest of it goes first
+			if (previousTokenizer != null && !previousTokenizer.subCommandFiles.isEmpty()) {
+				this.tokenize$remainingFiles(previousTokenizer.subCommandFiles);
+
+				if (this.hasFinished)
+					return;
+			}
+
+			// nothing to tokenize. Just finish
+			if (input.isBlank())
+				return;
+
+			this.tokenize$chars();
+		} finally {
+			// also if a parse limit was exceeded, so the tokens found so far can be used
 			this.hasFinished = true;
-			return;
 		}
+	}
 
+	/**
+	 * Tokenizes the characters in {@link Tokenizer#inputChars}, from {@link Tokenizer#currentCharIndex} up to
+	 * {@link Tokenizer#inputLength}, or until tokenizing has finished.
+	 */
+	private void tokenize$chars() {
 		char currentStringChar = 0; // the character that opened the string
 		int lastStringCharIndex = 0; // the index of the last character that opened the string
 		int lastTupleCharIndex = 0; // the index of the last character that opened the tuple
 
 		for (;
-			this.currentCharIndex < this.inputChars.length && !this.hasFinished;
+			this.currentCharIndex < this.inputLength && !this.hasFinished;
 			this.currentCharIndex++
 		) {
 			char cChar = this.inputChars[this.currentCharIndex];
@@ -95,7 +197,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 				if (this.stringOpen && currentStringChar == cChar) {
 					// strings require a space after them
 					if (!this.isCharAtRelativeIndex(1, Character::isWhitespace) && !this.isLastChar()) {
-						this.addError(new TokenizeErrors.SpaceRequiredError(this.currentCharIndex));
+						this.addError(TokenizeErrors.SpaceRequiredError::new, this.currentCharIndex);
 						continue;
 					}
 
@@ -110,7 +212,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 
 					// strings require a space behind them.
 				} else if (!this.currentValue.isEmpty()) {
-					this.addError(new TokenizeErrors.SpaceRequiredError(this.currentCharIndex - 1));
+					this.addError(TokenizeErrors.SpaceRequiredError::new, this.currentCharIndex - 1);
 
 					// the string is not open, so open it and set the current string char to the current char
 				} else {
@@ -128,7 +230,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 				// if we are already in a tuple, add error
 				if (this.tupleOpen) {
 					// push tuple start token so the user can see the incorrect tuple char
-					this.addError(new TokenizeErrors.TupleAlreadyOpenError(this.currentCharIndex));
+					this.addError(TokenizeErrors.TupleAlreadyOpenError::new, this.currentCharIndex);
 					continue;
 				} else if (!this.currentValue.isEmpty()) { // if there was something before the tuple, tokenize it
 					this.tokenizeCurrentValue();
@@ -143,14 +245,14 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 			} else if (cChar == this.getTupleChars().close) {
 				// tuple close char require a space after them
 				if (!this.isCharAtRelativeIndex(1, Character::isWhitespace) && !this.isLastChar()) {
-					this.addError(new TokenizeErrors.SpaceRequiredError(this.currentCharIndex));
+					this.addError(TokenizeErrors.SpaceRequiredError::new, this.currentCharIndex);
 					continue;
 				}
 
 				// if we are not in a tuple, set error and stop tokenizing
 				if (!this.tupleOpen) {
 					// push tuple start token so the user can see the incorrect tuple char
-					this.addError(new TokenizeErrors.UnexpectedTupleCloseError(this.currentCharIndex));
+					this.addError(TokenizeErrors.UnexpectedTupleCloseError::new, this.currentCharIndex);
 					continue;
 				}
 
@@ -171,14 +273,18 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 					&& this.isCharAtRelativeIndex(2, Character::isWhitespace)
 			)
 			{
-				this.addToken(TokenType.FORWARD_VALUE, this.inputString.substring(this.currentCharIndex + 3));
+				this.addToken(TokenType.FORWARD_VALUE, this.getRemainingInput(this.currentCharIndex + 3));
+
+				// nothing else to read, even if this was in a response file
+				if (this.currentFile != null)
+					this.hasFinished = true;
 				break;
 
 				// reached a possible separator
 			} else if (
 				(Character.isWhitespace(cChar) && !this.currentValue.isEmpty()) // there's a space and some value to tokenize
 					// also check if this is defining the value of an argument, or we are in a tuple. If so, don't tokenize
-					|| (cChar == '=' && !this.tupleOpen && this.isArgumentSpecifier(this.currentValue.toString()))
+					|| (cChar == '=' && !this.tupleOpen && Tokenizer.isArgumentSpecifier(this.command, this.currentValue.toString()))
 			)
 			{
 				this.tokenizeCurrentValue();
@@ -190,26 +296,186 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 		}
 
 		if (this.tupleOpen)
-			this.addError(new TokenizeErrors.TupleNotClosedError(lastTupleCharIndex));
+			this.addError(TokenizeErrors.TupleNotClosedError::new, lastTupleCharIndex);
 		if (this.stringOpen)
-			this.addError(new TokenizeErrors.StringNotClosedError(lastStringCharIndex));
+			this.addError(TokenizeErrors.StringNotClosedError::new, lastStringCharIndex);
 
 		// we left something in the current value, tokenize it
 		if (!this.currentValue.isEmpty()) {
 			this.tokenizeCurrentValue();
 		}
+	}
+
+	/**
+	 * Tokenizes the contents of the given response file, as if they were in place of the reference to it. Strings and
+	 * tuples must be closed within the file.
+	 * @param file the response file to read
+	 */
+	private void tokenize$file(@NotNull ResponseFile file) {
+		final char[] previousChars = this.inputChars;
+		final int previousLength = this.inputLength;
+		final int previousCharIndex = this.currentCharIndex;
+		final ResponseFile parentFile = this.currentFile;
+
+		if (parentFile == null) {
+			this.inputStringCharIndex = previousCharIndex;
+		} else {
+			parentFile.charIndex = previousCharIndex;
+			this.outerFiles.push(parentFile);
+		}
 
-		this.hasFinished = true;
+		this.inputChars = file.chars;
+		this.inputLength = file.length;
+		this.currentCharIndex = file.charIndex;
+		this.currentFile = file;
+
+		this.tokenize$chars();
+
+		// errors about unclosed tuples or strings have already been added for the file
+		this.tupleOpen = false;
+		this.stringOpen = false;
+
+		if (parentFile != null)
+			this.outerFiles.pop();
+
+		this.inputChars = previousChars;
+		this.inputLength = previousLength;
+		this.currentCharIndex = previousCharIndex;
+		this.currentFile = parentFile;
+	}
+
+	/**
+	 * Tokenizes the rest of the response files that the previous tokenizer was reading when it found this command.
+	 * @param files the files, starting from the innermost one
+	 */
+	private void tokenize$remainingFiles(@NotNull List<@NotNull ResponseFile> files) {
+		// while each file is read, the ones after it are its outer files
+		for (int i = files.size() - 1; i > 0; i--)
+			this.outerFiles.push(files.get(i));
+
+		for (int i = 0; i < files.size() && !this.hasFinished; i++) {
+			if (i > 0)
+				this.outerFiles.pop();
+			this.tokenize$file(files.get(i));
+		}
+
+		this.outerFiles.clear();
+	}
+
+	/**
+	 * Reads the response file referenced by the given value and tokenizes its contents. If it can't be read, an error
+	 * is added.
+	 * @param reference the reference to the response file, with the form {@code @path}
+	 */
+	private void expandResponseFile(@NotNull String reference) {
+		final int referenceIndex = Math.max(0, this.currentCharIndex - reference.length());
+		final ResponseFile file;
+
+		try {
+			final Path path = (this.currentFile == null
+				? Path.of(reference.substring(1))
+				: this.currentFile.path.resolveSibling(reference.substring(1))
+			).toAbsolutePath().normalize();
+
+			// a file that is already being read would never stop expanding
+			if (this.isReadingFile(path)) {
+				this.addError(
+					i -> new TokenizeErrors.ResponseFileReadError(
+						i, reference.length(), path.toString(), "file references itself"
+					),
+					referenceIndex
+				);
+				return;
+			}
+
+			file = this.currentFile == null
+				? ResponseFile.read(path, referenceIndex, reference.length())
+				: ResponseFile.read(path, this.currentFile.inputIndex, this.currentFile.inputLength);
+		} catch (IOException | InvalidPathException e) {
+			final String reason = e instanceof IOException ioException
+				? ResponseFile.describeFailure(ioException)
+				: "invalid path";
+
+			this.addError(
+				i -> new TokenizeErrors.ResponseFileReadError(i, reference.length(), reference.substring(1), reason),
+				referenceIndex
+			);
+			return;
+		}
+
+		this.tokenize$file(file);
+	}
+
+	/** Returns {@code true} if the response file at the given path is being read. */
+	private boolean isReadingFile(@NotNull Path path) {
+		return this.currentFile != null
+			&& (this.currentFile.path.equals(path) || this.outerFiles.stream().anyMatch(f -> f.path.equals(path)));
+	}
+
+	/**
+	 * Returns the rest of the input from the given index of {@link Tokenizer#inputChars}. If a response file is being
+	 * read, this includes the rest of the files that contain it, and the rest of the input string.
+	 */
+	private @NotNull String getRemainingInput(int charIndex) {
+		if (this.currentFile == null)
+			return this.inputString.substring(charIndex);
+
+		final var remaining = new StringBuilder()
+			.append(this.inputChars, charIndex, this.inputLength - charIndex);
+
+		for (final var file : this.outerFiles)
+			remaining.append(' ').append(file.chars, file.charIndex, file.length - file.charIndex);
+
+		return remaining.append(' ')
+			.append(this.inputString, this.inputStringCharIndex, this.inputString.length())
+			.toString()
+			.strip();
+	}
+
+	/**
+	 * Returns the index of the character to continue from in the input string. If a response file is being read, this
+	 * is the index after the reference to the outermost one.
+	 */
+	private int getInputStringCharIndex() {
+		return this.currentFile == null ? this.currentCharIndex : this.inputStringCharIndex;
+	}
+
+	/**
+	 * Adds the error returned by the given function for the character at the given index. If a response file is being
+	 * read, the error is wrapped to be shown on the reference to it, with the position of the character in the file.
+	 * @param errorSupplier a function that returns the error for the character at the index given to it
+	 * @param charIndex the index of the character in {@link Tokenizer#inputChars} that caused the error
+	 */
+	private void addError(@NotNull IntFunction<Error.TokenizeError> errorSupplier, int charIndex) {
+		if (this.currentFile == null) {
+			// errors are relative to the part of the input of this tokenizer
+			this.addError(errorSupplier.apply(charIndex - this.nestingOffset));
+			return;
+		}
+
+		this.addError(this.currentFile.wrapError(errorSupplier.apply(charIndex), charIndex, this.nestingOffset));
+	}
+
+	@Override
+	protected boolean countsForErrorLimit(@NotNull Error.TokenizeError error) {
+		// the error that tells why the parse was stopped is always shown
+		return !(error instanceof TokenizeErrors.ParseLimitExceededError) && super.countsForErrorLimit(error);
 	}
 
 	/** Inserts a token into the final tokens list with the given type and contents */
 	private void addToken(@NotNull TokenType type, @NotNull String contents) {
-		this.finalTokens.add(new Token(type, contents));
+		this.addToken(new Token(type, contents));
 	}
 
 	/** Inserts a token into the final tokens list with the given type and contents */
 	private void addToken(@NotNull TokenType type, char contents) {
-		this.finalTokens.add(new Token(type, String.valueOf(contents)));
+		this.addToken(new Token(type, String.valueOf(contents)));
+	}
+
+	/** Inserts the given token into the final tokens list, counting it in the budget of the parse */
+	private void addToken(@NotNull Token token) {
+		this.budget.countToken();
+		this.finalTokens.add(token);
 	}
 
 	/**
@@ -217,7 +483,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	 * @return {@code true} if the current char index is the last one in the input chars
 	 */
 	private boolean isLastChar() {
-		return this.currentCharIndex == this.inputChars.length - 1;
+		return this.currentCharIndex == this.inputLength - 1;
 	}
 
 
@@ -230,19 +496,27 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 
 		if (this.tupleOpen || this.stringOpen) {
 			type = TokenType.ARGUMENT_VALUE;
-		} else if (this.isArgName(str)) {
-			type = TokenType.ARGUMENT_NAME;
-		} else if (this.isArgNameList(str)) {
-			type = TokenType.ARGUMENT_NAME_LIST;
-		} else if (this.isSubCommand(str)) {
-			type = TokenType.COMMAND;
 		} else {
-			type = TokenType.ARGUMENT_VALUE;
+			type = Tokenizer.getWordType(this.command, str);
 		}
 
 		return new Token(type, str);
 	}
 
+	/**
+	 * Returns the type of the token that the given word would be in the given command, if it is not in a tuple or a
+	 * string. If no match could be found, returns {@link TokenType#ARGUMENT_VALUE}
+	 */
+	static @NotNull TokenType getWordType(@NotNull Command command, @NotNull String str) {
+		if (Tokenizer.isArgName(command, str))
+			return TokenType.ARGUMENT_NAME;
+		if (Tokenizer.isArgNameList(command, str))
+			return TokenType.ARGUMENT_NAME_LIST;
+		if (Tokenizer.isSubCommand(command, str))
+			return TokenType.COMMAND;
+		return TokenType.ARGUMENT_VALUE;
+	}
+
 	/**
 	 * Tokenizes the {@link Tokenizer#currentValue} and adds it to the final tokens list.
 	 * <p>
@@ -250,16 +524,34 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	 * </p>
 	 */
 	private void tokenizeCurrentValue() {
-		final Token token = this.tokenizeWord(this.currentValue.toString());
+		final String value = this.currentValue.toString();
 
-		this.finalTokens.add(token);
+		if (this.isResponseFileReference(value)) {
+			// the file is tokenized right now, so the current value must be empty before that
+			this.currentValue.setLength(0);
+			this.expandResponseFile(value);
+			return;
+		}
+
+		final Token token = this.tokenizeWord(value);
+
+		this.addToken(token);
 
 		// if this is a Sub-Command, continue tokenizing next elements
 		if (token.type() == TokenType.COMMAND) {
-			// forward the rest of stuff to the Sub-Command
-			this.command.getCommand(token.contents())
-				.getTokenizer()
-				.tokenize(this.inputString, this);
+			this.budget.checkNestingDepth(this.depth + 1);
+
+			this.tokenizedSubCommand = this.command.resolveCommand(token.contents());
+			assert this.tokenizedSubCommand != null;
+
+			// the rest of stuff is forwarded to the Sub-Command from here
+			this.subCommandCharIndex = this.getInputStringCharIndex();
+			if (this.currentFile != null) {
+				this.currentFile.charIndex = this.currentCharIndex;
+				this.subCommandFiles = new ArrayList<>(this.outerFiles.size() + 1);
+				this.subCommandFiles.add(this.currentFile);
+				this.subCommandFiles.addAll(this.outerFiles);
+			}
 
 			this.hasFinished = true;
 		}
@@ -276,7 +568,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	 * For a prefix to be valid, it must be a character used as a prefix on the next argument/s specified.
 	 * </p>
 	 */
-	private boolean isArgNameList(@NotNull String str) {
+	private static boolean isArgNameList(@NotNull Command command, @NotNull String str) {
 		if (str.length() < 2 || !Character.isAlphabetic(str.charAt(1))) return false;
 
 		// store the possible prefixes. Start with the common ones (single and double dash)
@@ -290,8 +582,10 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 			// if an argument is found with that char name, append its prefix to the possible prefixes
 			// and increment the foundArgs counter.
 			// If no argument is found, stop checking
-			if (!this.runForMatchingArgument(argName, argument -> possiblePrefixes.add(argument.getPrefix())))
+			final var argument = ParsingStateBase.getMatchingArgument(command, argName);
+			if (argument == null)
 				break;
+			possiblePrefixes.add(argument.getPrefix());
 			foundArgs++;
 		}
 
@@ -305,21 +599,34 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	 * This returns {@code true} if the given string is a valid argument name with a double prefix.
 	 * </p>
 	 */
-	private boolean isArgName(@NotNull String str) {
+	private static boolean isArgName(@NotNull Command command, @NotNull String str) {
 		// make sure we are working with long enough strings
-		return str.length() > 1 && this.getMatchingArgument(str) != null;
+		return str.length() > 1 && ParsingStateBase.getMatchingArgument(command, str) != null;
 	}
 
 	/**
-	 * Returns {@code true} whether the given string is an argument name {@link Tokenizer#isArgName(String)} or an
-	 * argument name list {@link Tokenizer#isArgNameList(String)}.
+	 * Returns {@code true} whether the given string is an argument name {@link Tokenizer#isArgName(Command, String)}
+	 * or an argument name list {@link Tokenizer#isArgNameList(Command, String)} in the given command.
 	 */
-	private boolean isArgumentSpecifier(@NotNull String str) {
-		return this.isArgName(str) || this.isArgNameList(str);
+	static boolean isArgumentSpecifier(@NotNull Command command, @NotNull String str) {
+		return Tokenizer.isArgName(command, str) || Tokenizer.isArgNameList(command, str);
 	}
 
-	private boolean isSubCommand(@NotNull String str) {
-		return this.command.hasCommand(str);
+	/**
+	 * Returns {@code true} if the given string is a reference to a response file, eg: <code>"@args.txt"</code>.
+	 * <p>
+	 * This is only possible if response files are enabled in the command, and we are not in a tuple.
+	 * </p>
+	 */
+	private boolean isResponseFileReference(@NotNull String str) {
+		return str.length() > 1
+			&& str.charAt(0) == '@'
+			&& !this.tupleOpen
+			&& this.command.isResponseFilesEnabled();
+	}
+
+	private static boolean isSubCommand(@NotNull Command command, @NotNull String str) {
+		return command.resolveCommand(str) != null;
 	}
 
 	/**
@@ -335,7 +642,7 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 
 	private boolean isCharAtRelativeIndex(int index, @NotNull Predicate<@NotNull Character> predicate) {
 		index += this.currentCharIndex;
-		if (index >= this.inputChars.length || index < 0) return false;
+		if (index >= this.inputLength || index < 0) return false;
 		return predicate.test(this.inputChars[index]);
 	}
 
@@ -351,21 +658,18 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 	 */
 	public @NotNull List<@NotNull Command> getTokenizedCommands() {
 		final List<Command> x = new ArrayList<>();
-		final Command subCmd;
+		Command cmd = this.command;
+
+		do {
+			x.add(cmd);
+		} while ((cmd = cmd.getTokenizer().tokenizedSubCommand) != null);
 
-		x.add(this.command);
-		if ((subCmd = this.getTokenizedSubCommand()) != null) {
-			x.addAll(subCmd.getTokenizer().getTokenizedCommands());
-		}
 		return x;
 	}
 
 	/** Returns the tokenized Sub-Command of {@link Tokenizer#command}. */
 	public @Nullable Command getTokenizedSubCommand() {
-		return this.command.getCommands().stream()
-			.filter(cmd -> cmd.getTokenizer().hasFinished)
-			.findFirst()
-			.orElse(null);
+		return this.tokenizedSubCommand;
 	}
 
 	/** Returns the list of all tokens that have been tokenized. */
@@ -374,8 +678,41 @@ public final class Tokenizer extends ParsingStateBase<Error.TokenizeError> {
 		return this.finalTokens;
 	}
 
-	/** Returns the input string that is being tokenized. */
-	public String getInputString() {
-		return this.inputString;
+	/**
+	 * Returns the part of the input string that is tokenized by this tokenizer, or {@code null} if nothing has been
+	 * tokenized since the last reset.
+	 */
+	public @Nullable String getInputString() {
+		return this.inputString == null ? null : this.inputString.substring(this.nestingOffset);
+	}
+
+	/**
+	 * Returns the length of the part of the input string that is tokenized by this tokenizer, or {@code 0} if nothing
+	 * has been tokenized since the last reset.
+	 */
+	public int getInputLength() {
+		return this.inputString == null ? 0 : this.inputString.length() - this.nestingOffset;
+	}
+
+	@Override
+	public void resetState() {
+		super.resetState();
+		this.tupleOpen = false;
+		this.stringOpen = false;
+		this.currentCharIndex = 0;
+		// the buffers keep their capacity for the next input
+		this.finalTokens.clear();
+		this.currentValue.setLength(0);
+		this.inputString = null;
+		this.inputStringChars = null;
+		this.inputChars = null;
+		this.inputLength = 0;
+		this.currentFile = null;
+		this.outerFiles.clear();
+		this.inputStringCharIndex = 0;
+		this.tokenizedSubCommand = null;
+		this.subCommandCharIndex = 0;
+		this.subCommandFiles = List.of();
+		this.depth = 0;
 	}
 }
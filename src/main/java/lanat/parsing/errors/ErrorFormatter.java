@@ -4,6 +4,7 @@ import lanat.ErrorLevel;
 import lanat.helpRepresentation.HelpFormatter;
 import lanat.parsing.errors.formatGenerators.PrettyErrorFormatter;
 import lanat.utils.ErrorLevelProvider;
+import lanat.utils.UtlMisc;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import textFormatter.FormatOption;
@@ -111,6 +112,16 @@ public abstract class ErrorFormatter implements ErrorLevelProvider {
 			.addFormat(FormatOption.BOLD);
 	}
 
+	/**
+	 * Returns the given text colored with the error level color. If terminal sequences are disabled, returns the text
+	 * as is.
+	 * @param text the text to color
+	 * @return the colored text
+	 */
+	protected @NotNull String applyErrorLevelStyle(@NotNull String text) {
+		return UtlMisc.styled(text, f -> f.withForegroundColor(this.errorLevel.color).addFormat(FormatOption.BOLD));
+	}
+
 	/**
 	 * Returns the contents of the error.
 	 * @return the contents of the error
@@ -22,6 +22,10 @@ public class ErrorsCollector {
 	private final @NotNull String fullInput;
 	/** The errors that were collected. */
 	private final @NotNull Hashtable<Command, List<Error<?>>> errors = new Hashtable<>();
+	/** The maximum number of errors to collect. */
+	private final int maxErrors;
+	/** The number of errors that were collected. */
+	private int errorCount = 0;
 
 	/** The current error formatters for tokenization errors when being handled. */
 	private ErrorFormatter tokenizeFormatter, parseFormatter;
@@ -32,8 +36,24 @@ public class ErrorsCollector {
 	 * @param fullInputString the full input string that was passed to the main parser
 	 */
 	public ErrorsCollector(@NotNull List<@NotNull Token> fullTokenList, @NotNull String fullInputString) {
+		this(fullTokenList, fullInputString, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Instantiates a new errors collector that collects at most the given number of errors. The rest are ignored.
+	 * @param fullTokenList the full list of tokens that were passed to the main parser
+	 * @param fullInputString the full input string that was passed to the main parser
+	 * @param maxErrors the maximum number of errors to collect
+	 */
+	public ErrorsCollector(
+		@NotNull List<@NotNull Token> fullTokenList,
+		@NotNull String fullInputString,
+		int maxErrors
+	)
+	{
 		this.fullTokenList = fullTokenList;
 		this.fullInput = fullInputString;
+		this.maxErrors = maxErrors;
 	}
 
 	/**
@@ -46,15 +66,23 @@ public class ErrorsCollector {
 	 * <li>Arguments</li>
 	 * <li>Custom errors added to the Command</li>
 	 * </ol>
+	 * Once the maximum number of errors is reached, the rest are ignored, so they are not formatted.
 	 * @param command the command to collect the errors from
 	 */
 	public void collect(@NotNull Command command) {
-		this.errors.put(command, new ArrayList<>() {{
+		final var errors = new ArrayList<Error<?>>() {{
 			this.addAll(command.getTokenizer().getErrorsUnderDisplayLevel());
 			this.addAll(command.getParser().getErrorsUnderDisplayLevel());
 			command.getArguments().forEach(arg -> this.addAll(arg.getErrorsUnderDisplayLevel()));
 			this.addAll(command.getErrorsUnderDisplayLevel());
-		}});
+		}};
+
+		final int remaining = this.maxErrors - this.errorCount;
+		if (errors.size() > remaining)
+			errors.subList(remaining, errors.size()).clear();
+
+		this.errorCount += errors.size();
+		this.errors.put(command, errors);
 	}
 
 
@@ -3,6 +3,7 @@ package lanat.parsing.errors;
 import lanat.Argument;
 import lanat.ArgumentGroup;
 import lanat.ArgumentParser;
+import lanat.Command;
 import lanat.ErrorLevel;
 import org.jetbrains.annotations.NotNull;
 import utils.Pair;
@@ -104,19 +105,44 @@ public abstract class ParseErrors {
 	 * Warning that occurs when a token in the input does match any argument, argument list, value, or command.
 	 * <br>
 	 * @param index The index of the token that caused the error.
+	 * @param suggestNames Whether to suggest the names of the arguments or commands that are similar to the token. They
+	 * 	are only looked up when the error is shown.
 	 */
-	public record UnmatchedTokenError(int index) implements Error.ParseError {
+	public record UnmatchedTokenError(int index, boolean suggestNames) implements Error.ParseError {
+		/** The maximum number of suggestions to show. */
+		private static final int MAX_SUGGESTIONS = 3;
+
+		public UnmatchedTokenError(int index) {
+			this(index, false);
+		}
+
 		@Override
 		public void handle(@NotNull ErrorFormattingContext fmt, @NotNull ParseErrorContext ctx) {
+			final String contents = ctx.getTokenAt(this.index).contents();
+
 			fmt
 				.withContent(
 					"Token '"
-						+ ctx.getTokenAt(this.index).contents()
+						+ contents
 						+ "' does not correspond with a valid argument, argument list, value, or command."
+						+ (this.suggestNames ? UnmatchedTokenError.getSuggestionsMessage(ctx.getCommand(), contents) : "")
 				)
 				.highlight(this.index, 0, false);
 		}
 
+		private static @NotNull String getSuggestionsMessage(@NotNull Command command, @NotNull String contents) {
+			final var suggestions = command.getSimilarNames(contents);
+			if (suggestions.isEmpty())
+				return "";
+
+			return " Did you mean "
+				+ String.join(
+					" or ",
+					suggestions.stream().limit(MAX_SUGGESTIONS).map(s -> "'" + s + "'").toList()
+				)
+				+ "?";
+		}
+
 		@Override
 		public @NotNull ErrorLevel getErrorLevel() {
 			return ErrorLevel.WARNING;
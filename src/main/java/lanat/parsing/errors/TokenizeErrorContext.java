@@ -22,7 +22,7 @@ public final class TokenizeErrorContext extends ErrorContext {
 
 	@Override
 	public int getCount() {
-		return this.command.getTokenizer().getInputString().length();
+		return this.command.getTokenizer().getInputLength();
 	}
 
 	@Override
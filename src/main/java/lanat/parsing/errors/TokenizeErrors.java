@@ -1,5 +1,7 @@
 package lanat.parsing.errors;
 
+import lanat.ErrorLevel;
+import lanat.ParseLimits;
 import org.jetbrains.annotations.NotNull;
 
 /** Contains all the errors definitions for errors that occur during tokenization. */
@@ -70,4 +72,79 @@ public abstract class TokenizeErrors {
 				.highlight(this.index, 1, false);
 		}
 	}
+
+	/**
+	 * Error that occurs when a response file cannot be read.
+	 * @param index the index of the reference to the response file
+	 * @param length the length of the reference to the response file
+	 * @param path the path of the response file
+	 * @param reason the reason why the file could not be read
+	 */
+	public record ResponseFileReadError(int index, int length, @NotNull String path, @NotNull String reason)
+		implements Error.TokenizeError
+	{
+		@Override
+		public void handle(@NotNull ErrorFormattingContext fmt, @NotNull TokenizeErrorContext ctx) {
+			fmt
+				.withContent("Unable to read response file '" + this.path + "': " + this.reason + ".")
+				.highlight(this.index, this.length - 1, false);
+		}
+	}
+
+	/**
+	 * Error that occurs inside a response file. The error is shown on the reference to the response file, and the
+	 * position of the error in the file is added to its content.
+	 * @param index the index of the reference to the response file
+	 * @param length the length of the reference to the response file
+	 * @param path the path of the response file
+	 * @param line the line of the response file where the error occurred, starting from 1
+	 * @param column the column of the response file where the error occurred, starting from 1
+	 * @param error the error that occurred
+	 */
+	public record ResponseFileError(
+		int index,
+		int length,
+		@NotNull String path,
+		int line,
+		int column,
+		@NotNull Error.TokenizeError error
+	) implements Error.TokenizeError
+	{
+		@Override
+		public void handle(@NotNull ErrorFormattingContext fmt, @NotNull TokenizeErrorContext ctx) {
+			// the indices of the inner error are in the response file, not in the input. Don't let it highlight
+			final var innerFmt = new ErrorFormattingContext() {
+				@Override
+				public ErrorFormattingContext highlight(int start, int offsetEnd, boolean showArrows) {
+					return this;
+				}
+			};
+			this.error.handle(innerFmt, ctx);
+
+			fmt
+				.withContent(innerFmt.getContent()
+					+ " (in response file '" + this.path + "', line " + this.line + ", column " + this.column + ")")
+				.highlight(this.index, this.length - 1, false);
+		}
+
+		@Override
+		public @NotNull ErrorLevel getErrorLevel() {
+			return this.error.getErrorLevel();
+		}
+	}
+
+	/**
+	 * Error that occurs when one of the {@link ParseLimits} is exceeded, and parsing is stopped.
+	 * @param limit the limit that was exceeded
+	 * @param maximum the value of the limit
+	 */
+	public record ParseLimitExceededError(@NotNull ParseLimits.Limit limit, long maximum)
+		implements Error.TokenizeError
+	{
+		@Override
+		public void handle(@NotNull ErrorFormattingContext fmt, @NotNull TokenizeErrorContext ctx) {
+			// the input may not have been read at all, so there is nothing to highlight
+			fmt.withContent(this.limit.getMessage(this.maximum));
+		}
+	}
 }
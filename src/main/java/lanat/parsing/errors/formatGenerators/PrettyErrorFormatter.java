@@ -16,6 +16,7 @@ import utils.UtlString;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * An error formatter that displays the error in the next format:
@@ -41,23 +42,26 @@ public class PrettyErrorFormatter extends ErrorFormatter {
 	@Override
 	protected @NotNull String generate() {
 		final var contents = this.getContentWrapped();
-		final var formatter = this.getErrorLevelFormatter();
 		final String tokensFormatting = this.getGeneratedView().withConcatGap(" ").toString();
 
 		final var longestLineLength = UtlString.getLongestLine(contents).length();
 
-		return formatter.withContents(" ┌─%s".formatted(this.getErrorLevel())).toString()
+		return this.applyErrorLevelStyle(" ┌─%s".formatted(this.getErrorLevel()))
 			// only add a new line if there are tokens to display
 			+ (tokensFormatting.isEmpty() ? "" : "\n" + tokensFormatting)
 			// first insert a vertical bar at the start of each line
-			+ contents.replaceAll("^|\\n", formatter.withContents("\n │ ").toString())
+			+ contents.replaceAll("^|\\n", this.applyErrorLevelStyle("\n │ "))
 			// then insert a horizontal bar at the end, with the length of the longest line approximately
-			+ formatter.withContents("\n └" + "─".repeat(Math.max(longestLineLength - 5, 0)) + " ───── ── ─")
+			+ this.applyErrorLevelStyle("\n └" + "─".repeat(Math.max(longestLineLength - 5, 0)) + " ───── ── ─")
 			+ '\n';
 	}
 
 	@Override
 	protected @Nullable TextFormatter generateTokensView(@NotNull ParseErrorContext ctx) {
+		// nothing to style, so just build the text
+		if (!TextFormatter.enableSequences)
+			return new TextFormatter(this.generateTokensView$plain(ctx));
+
 		final var tokensFormatters = new ArrayList<TextFormatter>() {{
 			this.add(ctx.getRootCommandToken().getFormatter());
 			this.addAll(ctx.getTokens(false).stream().map(Token::getFormatter).toList());
@@ -67,9 +71,7 @@ public class PrettyErrorFormatter extends ErrorFormatter {
 			BiConsumer<List<TextFormatter>, Range> highlighter;
 
 			if (opts.showArrows())
-				highlighter = this::placeTokenArrowsExplicit;
-			else if (!TextFormatter.enableSequences)
-				highlighter = this::placeTokenArrowsImplicit;
+				highlighter = (formatters, range) -> PrettyErrorFormatter.placeArrows(formatters, range, 0, this::getArrow);
 			else
 				highlighter = this::highlightTokens;
 
@@ -84,6 +86,26 @@ public class PrettyErrorFormatter extends ErrorFormatter {
 		return new TextFormatter().concat(tokensFormatters.toArray(TextFormatter[]::new));
 	}
 
+	/**
+	 * Returns the tokens view as plain text. Since the tokens can't be highlighted without terminal sequences, arrows
+	 * are placed around them instead.
+	 */
+	private @NotNull String generateTokensView$plain(@NotNull ParseErrorContext ctx) {
+		final var tokens = new ArrayList<String>();
+		tokens.add(ctx.getRootCommandToken().getDisplayContents());
+		for (final var token : ctx.getTokens(false))
+			tokens.add(token.getDisplayContents());
+
+		this.getHighlightOptions().ifPresent(opts -> PrettyErrorFormatter.placeArrows(
+			tokens,
+			ctx.applyAbsoluteOffset(opts.range()).offset(1),
+			opts.showArrows() ? 0 : 1,
+			isLeft -> isLeft ? "->" : "<-"
+		));
+
+		return String.join(" ", tokens);
+	}
+
 	@Override
 	protected @Nullable TextFormatter generateInputView(@NotNull TokenizeErrorContext ctx) {
 		var cmdName = ctx.getCommand().getRoot().getName();
@@ -95,7 +117,7 @@ public class PrettyErrorFormatter extends ErrorFormatter {
 					var range = ctx.applyAbsoluteOffset(opts.range()).offset(cmdName.length() + 2);
 
 					if (range.start() > in.length())
-						return Color.BRIGHT_WHITE + in + this.getArrow(false);
+						return Color.BRIGHT_WHITE + in + this.getArrowText(false);
 
 					if (opts.showArrows() || !TextFormatter.enableSequences)
 						return this.placeArrows(in, range);
@@ -120,43 +142,51 @@ public class PrettyErrorFormatter extends ErrorFormatter {
 			+ in.substring(range.end());
 	}
 
-	private void placeArrows(@NotNull List<@NotNull TextFormatter> tokensFormatters, @NotNull Range range, int singleOffset) {
+	/**
+	 * Places arrows around the tokens in the given range.
+	 * @param tokens the tokens
+	 * @param range the range of the tokens to place the arrows around
+	 * @param singleOffset the offset of the arrow from the token if the range is a single token
+	 * @param arrowSupplier returns the left arrow if given {@code true}, or the right arrow otherwise
+	 * @param <T> the type of the tokens
+	 */
+	private static <T> void placeArrows(
+		@NotNull List<@NotNull T> tokens,
+		@NotNull Range range,
+		int singleOffset,
+		@NotNull Function<@NotNull Boolean, @NotNull T> arrowSupplier
+	) {
 		if (!range.isRange()) {
-			if (range.start() >= tokensFormatters.size())
-				tokensFormatters.add(this.getArrow(false));
+			if (range.start() >= tokens.size())
+				tokens.add(arrowSupplier.apply(false));
 			else
-				tokensFormatters.add(range.start() + singleOffset, this.getArrow(false));
+				tokens.add(range.start() + singleOffset, arrowSupplier.apply(false));
 			return;
 		}
 
-		tokensFormatters.add(range.end() + 1, this.getArrow(false));
-		tokensFormatters.add(range.start(), this.getArrow(true));
+		tokens.add(range.end() + 1, arrowSupplier.apply(false));
+		tokens.add(range.start(), arrowSupplier.apply(true));
 	}
 
 	private @NotNull String placeArrows(@NotNull String in, @NotNull Range range) {
+		final String highlighted = in.substring(range.start() - 1, range.end());
+
 		return in.substring(0, range.start() - 1)
-			+ this.getArrow(true)
-			+ (
-				TextFormatter.enableSequences
-					? this.applyErrorLevelFormat(new TextFormatter(in.substring(range.start() - 1, range.end())))
-					: in.substring(range.start() - 1, range.end())
-			)
-			+ this.getArrow(false)
+			+ this.getArrowText(true)
+			+ (TextFormatter.enableSequences ? this.applyErrorLevelFormat(new TextFormatter(highlighted)) : highlighted)
+			+ this.getArrowText(false)
 			+ in.substring(range.end());
 	}
 
-	private void placeTokenArrowsImplicit(@NotNull List<@NotNull TextFormatter> tokensFormatters, @NotNull Range range) {
-		this.placeArrows(tokensFormatters, range, 1);
-	}
-
-	private void placeTokenArrowsExplicit(@NotNull List<@NotNull TextFormatter> tokensFormatters, @NotNull Range range) {
-		this.placeArrows(tokensFormatters, range, 0);
-	}
-
 	private @NotNull TextFormatter getArrow(boolean isLeft) {
 		return this.applyErrorLevelFormat(new TextFormatter(isLeft ? "->" : "<-"));
 	}
 
+	/** Returns the arrow as text, without creating a {@link TextFormatter} if terminal sequences are disabled. */
+	private @NotNull String getArrowText(boolean isLeft) {
+		return TextFormatter.enableSequences ? this.getArrow(isLeft).toString() : (isLeft ? "->" : "<-");
+	}
+
 	private @NotNull TextFormatter applyErrorLevelFormat(@NotNull TextFormatter formatter) {
 		return formatter.withForegroundColor(this.getErrorLevel().color)
 			.addFormat(FormatOption.REVERSE, FormatOption.BOLD);
@@ -32,6 +32,10 @@ public class SimpleErrorFormatter extends ErrorFormatter {
 
 	@Override
 	protected @NotNull String generate() {
+		// nothing to style, so just build the text
+		if (!TextFormatter.enableSequences)
+			return "[" + this.getErrorLevel().name() + this.getGeneratedView() + "]: " + this.getContentSingleLine();
+
 		final var formatter = this.getErrorLevelFormatter()
 			.withContents("[")
 			.concat(this.getErrorLevel().name())
@@ -61,6 +65,19 @@ public class SimpleErrorFormatter extends ErrorFormatter {
 		return this.getHighlightOptions()
 			.map(opts -> {
 				final var range = ctx.applyAbsoluteOffset(opts.range());
+				final var prefix = " (" + (indicator + " " + (range.start() + 1)) + ", '";
+
+				if (!TextFormatter.enableSequences) {
+					var nearText = "";
+
+					if (ctx instanceof TokenizeErrorContext tokenizeCtx) {
+						nearText = UtlString.escapeQuotes(tokenizeCtx.getInputNear(range.start(), 5));
+					} else if (ctx instanceof ParseErrorContext parseCtx) {
+						nearText = parseCtx.getTokenAt(range.start()).getDisplayContents();
+					}
+
+					return new TextFormatter(prefix + nearText + "')");
+				}
 
 				var nearContents = new TextFormatter().addFormat(FormatOption.ITALIC);
 
@@ -70,7 +87,7 @@ public class SimpleErrorFormatter extends ErrorFormatter {
 					nearContents.concat(parseCtx.getTokenAt(range.start()).getFormatter());
 				}
 
-				return new TextFormatter(" (" + (indicator + " " + (range.start() + 1)) + ", '")
+				return new TextFormatter(prefix)
 					.concat(nearContents)
 					.concat("')");
 			})
@@ -0,0 +1,119 @@
+package lanat.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A BK-tree of strings, that allows finding the ones within a given edit distance of a query string.
+ * <p>
+ * The distance used is the Levenshtein distance. Searching only visits the branches of the tree that may contain
+ * strings within the given distance, so the time taken depends on the distance rather than on the number of strings.
+ * </p>
+ */
+public final class BKTree {
+	private @Nullable Node root;
+
+	private static final class Node {
+		private final @NotNull String key;
+		/** The children of this node, by their distance to it. */
+		private final @NotNull HashMap<@NotNull Integer, @NotNull Node> children = new HashMap<>();
+
+		private Node(@NotNull String key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * A string found in the tree.
+	 * @param key The string
+	 * @param distance The distance from the query string
+	 */
+	private record Match(@NotNull String key, int distance) { }
+
+	/**
+	 * Adds the given string to the tree. Strings already in the tree are ignored.
+	 * @param key The string
+	 */
+	public void add(@NotNull String key) {
+		if (this.root == null) {
+			this.root = new Node(key);
+			return;
+		}
+
+		var node = this.root;
+
+		while (true) {
+			final int distance = BKTree.distance(node.key, key);
+			if (distance == 0) return;
+
+			final var child = node.children.get(distance);
+			if (child == null) {
+				node.children.put(distance, new Node(key));
+				return;
+			}
+			node = child;
+		}
+	}
+
+	/**
+	 * Returns the strings in the tree within the given distance of the query string, closest first.
+	 * @param query The string to search for
+	 * @param maxDistance The maximum distance of the strings returned
+	 * @return The strings found. Strings with the same distance are sorted alphabetically.
+	 */
+	public @NotNull List<@NotNull String> search(@NotNull String query, int maxDistance) {
+		if (this.root == null)
+			return List.of();
+
+		final var matches = new ArrayList<Match>();
+		final var pending = new ArrayList<Node>();
+		pending.add(this.root);
+
+		while (!pending.isEmpty()) {
+			final var node = pending.remove(pending.size() - 1);
+			final int distance = BKTree.distance(node.key, query);
+
+			if (distance <= maxDistance)
+				matches.add(new Match(node.key, distance));
+
+			// by the triangle inequality, only children at these distances may be close enough to the query
+			for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+				final var child = node.children.get(d);
+				if (child != null) pending.add(child);
+			}
+		}
+
+		return matches.stream()
+			.sorted(Comparator.comparingInt(Match::distance).thenComparing(Match::key))
+			.map(Match::key)
+			.toList();
+	}
+
+	/** Returns the Levenshtein distance between the two given strings. */
+	private static int distance(@NotNull String a, @NotNull String b) {
+		var previous = new int[b.length() + 1];
+		var current = new int[b.length() + 1];
+
+		for (int j = 0; j <= b.length(); j++)
+			previous[j] = j;
+
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+			}
+
+			final var swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		return previous[b.length()];
+	}
+}
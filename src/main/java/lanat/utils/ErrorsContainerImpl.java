@@ -50,6 +50,11 @@ public abstract class ErrorsContainerImpl<T extends ErrorLevelProvider> implemen
 		this.errors.add(error);
 	}
 
+	/** Returns {@code true} if any errors were added, regardless of their level. */
+	protected boolean hasAnyErrors() {
+		return !this.errors.isEmpty();
+	}
+
 	@Override
 	public boolean hasExitErrors() {
 		return !this.getErrorsUnderExitLevel().isEmpty();
@@ -83,6 +88,16 @@ public abstract class ErrorsContainerImpl<T extends ErrorLevelProvider> implemen
 		).get());
 	}
 
+	/** Returns {@code true} if the given error is shown to the user. */
+	protected boolean isDisplayError(@NotNull T error) {
+		return this.errorIsInMinimumLevel(error, true);
+	}
+
+	/** Returns {@code true} if the given error causes the program to exit. */
+	protected boolean isExitError(@NotNull T error) {
+		return this.errorIsInMinimumLevel(error, false);
+	}
+
 	protected <TErr extends ErrorLevelProvider> boolean anyErrorInMinimum(@NotNull List<TErr> errors, boolean isDisplayError) {
 		return errors.stream().anyMatch(e -> this.errorIsInMinimumLevel(e, isDisplayError));
 	}
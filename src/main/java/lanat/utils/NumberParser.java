@@ -0,0 +1,406 @@
+package lanat.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Parses numbers from strings without throwing exceptions on invalid input. Instead, the parse methods return
+ * {@code false} when the input is not valid, and the parsed value can be retrieved with the respective getter when
+ * they return {@code true}.
+ * <p>
+ * An instance keeps the last parsed value in itself, so no objects are allocated while parsing integers or simple
+ * decimal numbers. Because of this, instances are not thread-safe.
+ * </p>
+ * Some extra syntax can be enabled with {@link Option}s. By default, only the standard decimal notation is accepted.
+ * @see Option
+ */
+public final class NumberParser {
+	/** Options that enable extra syntax when parsing numbers. */
+	public enum Option {
+		/**
+		 * Accept the prefixes {@code 0x} (hexadecimal), {@code 0o} (octal) and {@code 0b} (binary) for integer numbers.
+		 */
+		RADIX_PREFIXES,
+
+		/** Accept {@code _} between digits as a separator. e.g. {@code 1_000_000} */
+		UNDERSCORES,
+
+		/**
+		 * Accept the size suffixes {@code k}, {@code M}, {@code G} (powers of 1000) and {@code Ki}, {@code Mi},
+		 * {@code Gi} (powers of 1024). e.g. {@code 4Ki} is {@code 4096}.
+		 */
+		SIZE_SUFFIXES
+	}
+
+	/** Powers of ten that can be represented exactly by a double. */
+	private static final double[] DOUBLE_POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** Powers of ten that can be represented exactly by a float. */
+	private static final float[] FLOAT_POWERS_OF_TEN = {
+		1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+	};
+
+	/** Mantissas above this value may not be represented exactly by a double. */
+	private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+	/** Mantissas above this value may not be represented exactly by a float. */
+	private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+
+	private final boolean allowRadixPrefixes, allowUnderscores, allowSizeSuffixes;
+
+	private long longValue;
+	private double doubleValue;
+	private float floatValue;
+
+	// state of the last scanned decimal number
+	private boolean scanNegative, scanHasUnderscores, scanIsExact;
+	private long scanMantissa;
+	private int scanExponent, scanStart, scanEnd;
+	/** The index of the exponent part ({@code e...}) of the last scanned number, or its end if it has none. */
+	private int scanExponentIndex;
+	/** The exponent written in the last scanned number, without the one of its suffix. */
+	private int scanWrittenExponent;
+	/** The power of ten of the decimal size suffix of the last scanned number. {@code 0} if it has none. */
+	private int scanSuffixExponent;
+	/** The multiplier of the binary size suffix of the last scanned number. {@code 1} if it has none. */
+	private long scanMultiplier;
+
+	/** Used for building the string passed to the JDK parsers when the number cannot be parsed exactly here. */
+	private final @NotNull StringBuilder slowPathBuffer = new StringBuilder();
+
+
+	/**
+	 * Creates a new number parser with the given options enabled.
+	 * @param options The options to enable.
+	 */
+	public NumberParser(@NotNull Option... options) {
+		boolean radix = false, underscores = false, suffixes = false;
+
+		for (var option : options) {
+			switch (option) {
+				case RADIX_PREFIXES -> radix = true;
+				case UNDERSCORES -> underscores = true;
+				case SIZE_SUFFIXES -> suffixes = true;
+			}
+		}
+
+		this.allowRadixPrefixes = radix;
+		this.allowUnderscores = underscores;
+		this.allowSizeSuffixes = suffixes;
+	}
+
+	/**
+	 * Parses an integer number that must be within the given range (inclusive).
+	 * @param str The string to parse.
+	 * @param min The minimum value allowed.
+	 * @param max The maximum value allowed.
+	 * @return {@code true} if the string is a valid number within the range. The value can then be retrieved with
+	 * 	{@link #getLong()}.
+	 */
+	public boolean parseLong(@NotNull String str, long min, long max) {
+		int index = 0;
+		int end = str.length();
+
+		if (end == 0) return false;
+
+		final char first = str.charAt(0);
+		final boolean negative = first == '-';
+		if (negative || first == '+') index++;
+
+		int radix = 10;
+		if (this.allowRadixPrefixes && end - index > 2 && str.charAt(index) == '0') {
+			radix = switch (str.charAt(index + 1)) {
+				case 'x', 'X' -> 16;
+				case 'o', 'O' -> 8;
+				case 'b', 'B' -> 2;
+				default -> 10;
+			};
+			if (radix != 10) index += 2;
+		}
+
+		final long multiplier = this.allowSizeSuffixes ? this.getSizeSuffixMultiplier(str, index) : 1;
+		if (multiplier == 0) return false;
+		end -= NumberParser.getSizeSuffixLength(multiplier);
+
+		// accumulate negatively, so that Long.MIN_VALUE can be parsed too (same approach as Long.parseLong)
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		final long multMin = limit / radix;
+		long result = 0;
+		boolean lastWasDigit = false, anyDigit = false;
+
+		for (; index < end; index++) {
+			final char c = str.charAt(index);
+
+			if (c == '_' && this.allowUnderscores) {
+				// underscores are only allowed between digits
+				if (!lastWasDigit) return false;
+				lastWasDigit = false;
+				continue;
+			}
+
+			final int digit = Character.digit(c, radix);
+			if (digit < 0 || result < multMin) return false;
+
+			result *= radix;
+			if (result < limit + digit) return false;
+			result -= digit;
+
+			lastWasDigit = anyDigit = true;
+		}
+
+		if (!anyDigit || !lastWasDigit) return false;
+
+		long value = negative ? result : -result;
+
+		if (multiplier != 1) {
+			final long multiplied = value * multiplier;
+			if (multiplied / multiplier != value) return false; // overflowed
+			value = multiplied;
+		}
+
+		if (value < min || value > max) return false;
+
+		this.longValue = value;
+		return true;
+	}
+
+	/**
+	 * Parses a decimal number.
+	 * @param str The string to parse.
+	 * @return {@code true} if the string is a valid number. The value can then be retrieved with {@link #getDouble()}.
+	 */
+	public boolean parseDouble(@NotNull String str) {
+		if (this.parseSpecialValue(str)) {
+			this.doubleValue = this.floatValue;
+			return true;
+		}
+
+		if (!this.scanDecimal(str)) return false;
+
+		double value;
+		if (this.scanIsExact && this.scanMantissa <= MAX_EXACT_DOUBLE_MANTISSA && Math.abs(this.scanExponent) <= 22) {
+			// both values are exact, so the result of this single operation is correctly rounded
+			value = this.scanExponent >= 0
+				? this.scanMantissa * DOUBLE_POWERS_OF_TEN[this.scanExponent]
+				: this.scanMantissa / DOUBLE_POWERS_OF_TEN[-this.scanExponent];
+			if (this.scanNegative) value = -value;
+		} else {
+			value = Double.parseDouble(this.getScannedString(str));
+		}
+
+		this.doubleValue = value * this.scanMultiplier;
+		return true;
+	}
+
+	/**
+	 * Parses a decimal number.
+	 * @param str The string to parse.
+	 * @return {@code true} if the string is a valid number. The value can then be retrieved with {@link #getFloat()}.
+	 */
+	public boolean parseFloat(@NotNull String str) {
+		if (this.parseSpecialValue(str)) return true;
+
+		if (!this.scanDecimal(str)) return false;
+
+		float value;
+		if (this.scanIsExact && this.scanMantissa <= MAX_EXACT_FLOAT_MANTISSA && Math.abs(this.scanExponent) <= 10) {
+			value = this.scanExponent >= 0
+				? this.scanMantissa * FLOAT_POWERS_OF_TEN[this.scanExponent]
+				: this.scanMantissa / FLOAT_POWERS_OF_TEN[-this.scanExponent];
+			if (this.scanNegative) value = -value;
+		} else {
+			value = Float.parseFloat(this.getScannedString(str));
+		}
+
+		this.floatValue = value * this.scanMultiplier;
+		return true;
+	}
+
+	/** Returns the last value parsed by {@link #parseLong(String, long, long)}. */
+	public long getLong() {
+		return this.longValue;
+	}
+
+	/** Returns the last value parsed by {@link #parseDouble(String)}. */
+	public double getDouble() {
+		return this.doubleValue;
+	}
+
+	/** Returns the last value parsed by {@link #parseFloat(String)}. */
+	public float getFloat() {
+		return this.floatValue;
+	}
+
+	/**
+	 * Parses {@code NaN} and {@code Infinity} (optionally signed). The value is stored in {@link #floatValue}.
+	 * @return {@code true} if the string is one of those values.
+	 */
+	private boolean parseSpecialValue(@NotNull String str) {
+		final int signLength = !str.isEmpty() && (str.charAt(0) == '-' || str.charAt(0) == '+') ? 1 : 0;
+
+		if (str.length() - signLength == 3 && str.startsWith("NaN", signLength)) {
+			this.floatValue = Float.NaN;
+			return true;
+		}
+
+		if (str.length() - signLength == 8 && str.startsWith("Infinity", signLength)) {
+			this.floatValue = str.charAt(0) == '-' ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks that the given string is a valid decimal number ({@code [+-]digits[.digits][(e|E)[+-]digits]}), storing
+	 * its mantissa and exponent if they fit in a long and int respectively.
+	 * @return {@code true} if the string is a valid decimal number.
+	 */
+	private boolean scanDecimal(@NotNull String str) {
+		int index = 0;
+		int end = str.length();
+
+		if (end == 0) return false;
+
+		final char first = str.charAt(0);
+		this.scanNegative = first == '-';
+		if (this.scanNegative || first == '+') index++;
+		this.scanStart = index;
+
+		final long multiplier = this.allowSizeSuffixes ? this.getSizeSuffixMultiplier(str, index) : 1;
+		if (multiplier == 0) return false;
+		end -= NumberParser.getSizeSuffixLength(multiplier);
+		this.scanEnd = end;
+
+		// powers of 1000 are added to the exponent instead, so that the value is only rounded once.
+		// powers of 1024 are exact, so multiplying by them afterwards does not round it again
+		final boolean binarySuffix = Long.bitCount(multiplier) == 1;
+		this.scanSuffixExponent = binarySuffix ? 0 : (int)Math.log10(multiplier);
+		this.scanMultiplier = binarySuffix ? multiplier : 1;
+
+		long mantissa = 0;
+		int exponent = 0;
+		boolean exact = true, anyDigit = false, lastWasDigit = false, afterUnderscore = false, inFraction = false;
+		this.scanHasUnderscores = false;
+
+		for (; index < end; index++) {
+			final char c = str.charAt(index);
+
+			if (c >= '0' && c <= '9') {
+				if (mantissa < MAX_EXACT_DOUBLE_MANTISSA) {
+					mantissa = mantissa * 10 + (c - '0');
+					if (inFraction) exponent--;
+				} else {
+					// too many digits to be handled here. Keep validating, the JDK will do the actual parsing
+					exact = false;
+				}
+				anyDigit = lastWasDigit = true;
+				afterUnderscore = false;
+			} else if (c == '_' && this.allowUnderscores) {
+				// underscores are only allowed between digits
+				if (!lastWasDigit) return false;
+				this.scanHasUnderscores = afterUnderscore = true;
+				lastWasDigit = false;
+			} else if (c == '.' && !inFraction && !afterUnderscore) {
+				inFraction = true;
+				lastWasDigit = false;
+			} else {
+				break;
+			}
+		}
+
+		if (!anyDigit || afterUnderscore) return false;
+
+		// exponent part
+		this.scanExponentIndex = index;
+		this.scanWrittenExponent = 0;
+		if (index < end && (str.charAt(index) == 'e' || str.charAt(index) == 'E')) {
+			index++;
+			boolean negativeExp = false;
+			if (index < end && (str.charAt(index) == '-' || str.charAt(index) == '+')) {
+				negativeExp = str.charAt(index) == '-';
+				index++;
+			}
+
+			int exp = 0;
+			boolean anyExpDigit = false;
+			for (; index < end; index++) {
+				final char c = str.charAt(index);
+				if (c < '0' || c > '9') return false;
+				// clamp the exponent. Such numbers will overflow or underflow anyway
+				if (exp < 100_000) exp = exp * 10 + (c - '0');
+				anyExpDigit = true;
+			}
+
+			if (!anyExpDigit) return false;
+			this.scanWrittenExponent = negativeExp ? -exp : exp;
+		}
+
+		if (index != end) return false;
+
+		this.scanMantissa = mantissa;
+		this.scanExponent = exponent + this.scanWrittenExponent + this.scanSuffixExponent;
+		this.scanIsExact = exact;
+		return true;
+	}
+
+	/**
+	 * Returns the last scanned number in a form that the JDK parsers accept. Only allocates a new string if the number
+	 * contained underscores or a suffix. A decimal suffix is written as part of the exponent.
+	 */
+	private @NotNull String getScannedString(@NotNull String str) {
+		if (!this.scanHasUnderscores && this.scanMultiplier == 1 && this.scanSuffixExponent == 0) return str;
+
+		this.slowPathBuffer.setLength(0);
+		if (this.scanNegative) this.slowPathBuffer.append('-');
+
+		final int end = this.scanSuffixExponent == 0 ? this.scanEnd : this.scanExponentIndex;
+		for (int i = this.scanStart; i < end; i++) {
+			final char c = str.charAt(i);
+			if (c != '_') this.slowPathBuffer.append(c);
+		}
+
+		if (this.scanSuffixExponent != 0)
+			this.slowPathBuffer.append('e').append(this.scanWrittenExponent + this.scanSuffixExponent);
+
+		return this.slowPathBuffer.toString();
+	}
+
+	/**
+	 * Returns the multiplier indicated by the size suffix of the given string, {@code 1} if there is no suffix, or
+	 * {@code 0} if there is nothing before the suffix.
+	 * @param str The string to check.
+	 * @param start The index where the digits start.
+	 */
+	private long getSizeSuffixMultiplier(@NotNull String str, int start) {
+		final int length = str.length();
+		final char last = str.charAt(length - 1);
+
+		final long multiplier;
+		if (last == 'i' && length >= 2) {
+			multiplier = switch (str.charAt(length - 2)) {
+				case 'K' -> 1L << 10;
+				case 'M' -> 1L << 20;
+				case 'G' -> 1L << 30;
+				default -> 1;
+			};
+		} else {
+			multiplier = switch (last) {
+				case 'k' -> 1_000L;
+				case 'M' -> 1_000_000L;
+				case 'G' -> 1_000_000_000L;
+				default -> 1;
+			};
+		}
+
+		if (multiplier == 1) return 1;
+		return length - NumberParser.getSizeSuffixLength(multiplier) > start ? multiplier : 0;
+	}
+
+	/** Returns the number of characters used by the suffix that corresponds to the given multiplier. */
+	private static int getSizeSuffixLength(long multiplier) {
+		if (multiplier == 1) return 0;
+		return Long.bitCount(multiplier) == 1 ? 2 : 1; // powers of 1024 use two characters (e.g. "Ki")
+	}
+}
@@ -0,0 +1,69 @@
+package lanat.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+
+/**
+ * A trie that maps keys to values, and allows finding the value that a prefix uniquely refers to.
+ * <p>
+ * Several keys may map to the same value (for instance, all the names of a command). A prefix of some of those keys
+ * still refers to that value uniquely.
+ * </p>
+ * @param <T> The type of the values
+ */
+public final class PrefixTree<T> {
+	private final @NotNull Node<T> root = new Node<>();
+
+	private static final class Node<T> {
+		private final @NotNull HashMap<@NotNull Character, @NotNull Node<T>> children = new HashMap<>();
+		/** The only value of the keys that start with the prefix of this node. {@code null} if there are several. */
+		private @Nullable T value;
+		/** Whether the keys that start with the prefix of this node have different values. */
+		private boolean ambiguous = false;
+
+		private void add(@NotNull T value) {
+			if (this.value == null && !this.ambiguous) {
+				this.value = value;
+			} else if (this.value != value) {
+				this.value = null;
+				this.ambiguous = true;
+			}
+		}
+	}
+
+	/**
+	 * Adds the given key to the tree, mapped to the given value.
+	 * @param key The key
+	 * @param value The value
+	 */
+	public void put(@NotNull String key, @NotNull T value) {
+		var node = this.root;
+
+		for (int i = 0; i < key.length(); i++) {
+			node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+			node.add(value);
+		}
+	}
+
+	/**
+	 * Returns the value of the keys that start with the given prefix, if they all have the same one.
+	 * @param prefix The prefix of the keys. Must not be empty.
+	 * @return The value, or {@code null} if no keys start with the prefix, or they have different values.
+	 */
+	public @Nullable T getUnique(@NotNull String prefix) {
+		if (prefix.isEmpty())
+			return null;
+
+		var node = this.root;
+
+		for (int i = 0; i < prefix.length(); i++) {
+			node = node.children.get(prefix.charAt(i));
+			if (node == null)
+				return null;
+		}
+
+		return node.value;
+	}
+}
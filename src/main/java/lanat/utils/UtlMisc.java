@@ -4,9 +4,11 @@ import lanat.CommandUser;
 import lanat.MultipleNamesAndDescription;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import textFormatter.TextFormatter;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 public final class UtlMisc {
 	private UtlMisc() {}
@@ -57,6 +59,17 @@ public final class UtlMisc {
 		return obj == null ? null : defaultObj.apply(obj);
 	}
 
+	/**
+	 * Returns the given text with the format applied by the given function. If terminal sequences are disabled
+	 * ({@link TextFormatter#enableSequences}), returns the text as is, without creating any {@link TextFormatter}.
+	 * @param text The text to format
+	 * @param format The function that applies the format to a {@link TextFormatter} with the text
+	 * @return The formatted text
+	 */
+	public static @NotNull String styled(@NotNull String text, @NotNull UnaryOperator<@NotNull TextFormatter> format) {
+		return TextFormatter.enableSequences ? format.apply(new TextFormatter(text)).toString() : text;
+	}
+
 	/**
 	 * Returns the last element of the given list.
 	 * @param list The list to get the last element from
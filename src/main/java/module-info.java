@@ -2,9 +2,11 @@ module lanat {
 	requires org.jetbrains.annotations;
 	requires utils;
 	requires textFormatter;
+	requires jdk.jfr;
 
 	exports lanat;
 	exports lanat.argumentTypes;
+	exports lanat.events;
 	exports lanat.helpRepresentation;
 	exports lanat.helpRepresentation.descriptions;
 	exports lanat.helpRepresentation.descriptions.exceptions;
@@ -0,0 +1,68 @@
+package lanat.test;
+
+import com.sun.management.ThreadMXBean;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the number of bytes allocated by the current thread while running an action, so that tests can fail when
+ * a change makes the parse path allocate more than a recorded budget.
+ * <p>
+ * The action is run a number of times before measuring, so that class loading and JIT compilation do not count
+ * towards the result. The value measured is the average number of bytes allocated per run.
+ * </p>
+ */
+public final class AllocationBudget {
+	private static final int WARMUP_RUNS = 500;
+	private static final int MEASURED_RUNS = 500;
+	/** The percentage over the baseline that a measurement may reach before failing. */
+	private static final int MARGIN_PERCENT = 20;
+	/** Bytes allowed over the baseline regardless of its size, so that small baselines do not fail on noise. */
+	private static final int MARGIN_BYTES = 512;
+	private static final ThreadMXBean THREAD_BEAN = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+	private AllocationBudget() {}
+
+	/**
+	 * Returns the average number of bytes allocated by the current thread per run of the given action.
+	 * @param action The action to measure.
+	 */
+	public static long measure(@NotNull Runnable action) {
+		assumeTrue(
+			THREAD_BEAN.isThreadAllocatedMemorySupported() && THREAD_BEAN.isThreadAllocatedMemoryEnabled(),
+			"Thread allocated memory measurement is not supported by this JVM"
+		);
+
+		for (int i = 0; i < WARMUP_RUNS; i++)
+			action.run();
+
+		final long before = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < MEASURED_RUNS; i++)
+			action.run();
+		final long after = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+
+		return (after - before) / MEASURED_RUNS;
+	}
+
+	/**
+	 * Fails if the average number of bytes allocated per run of the given action exceeds the budget. The budget is the
+	 * baseline plus a fixed margin of {@value #MARGIN_PERCENT}% and {@value #MARGIN_BYTES} bytes.
+	 * @param name The name of the measured operation. Used in the failure message.
+	 * @param baselineBytes The number of bytes per run that the action allocated when the baseline was recorded.
+	 * @param action The action to measure.
+	 */
+	public static void assertWithinBudget(@NotNull String name, long baselineBytes, @NotNull Runnable action) {
+		final long allocated = AllocationBudget.measure(action);
+		final long budgetBytes = baselineBytes + baselineBytes * MARGIN_PERCENT / 100 + MARGIN_BYTES;
+
+		assertTrue(
+			allocated <= budgetBytes,
+			"'%s' allocated %d bytes per run, which exceeds its budget of %d bytes (baseline of %d bytes)"
+				.formatted(name, allocated, budgetBytes, baselineBytes)
+		);
+	}
+}
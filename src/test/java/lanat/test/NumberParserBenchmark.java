@@ -0,0 +1,105 @@
+package lanat.test;
+
+import lanat.utils.NumberParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+/**
+ * Compares the time taken by {@link NumberParser} and the JDK parse methods to parse valid and invalid values. This is
+ * not run as a test, since timings depend on the machine. Run its {@code main} method to print the results.
+ * <p>
+ * Each case is run for a number of warmup rounds before measuring, so that JIT compilation does not count towards the
+ * result.
+ * </p>
+ */
+public final class NumberParserBenchmark {
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 10;
+	private static final int RUNS_PER_ROUND = 200_000;
+
+	private static final String[] VALID_INTEGERS = { "0", "42", "-17", "2147483647", "-2147483648", "123456" };
+	private static final String[] INVALID_INTEGERS = { "abc", "12a", "", "-", "99999999999", "1.5" };
+	private static final String[] VALID_DECIMALS = { "0.5", "3.14159", "-2.5e10", "1e-7", "123456.789", "42" };
+	private static final String[] INVALID_DECIMALS = { "abc", "1.2.3", "", "1e", "--1", "0.5x" };
+
+	/** Prevents the JIT from removing the benchmarked calls. */
+	private static long sink;
+
+	private NumberParserBenchmark() {}
+
+	public static void main(String[] args) {
+		final var parser = new NumberParser();
+
+		NumberParserBenchmark.compare("valid int", VALID_INTEGERS,
+			str -> parser.parseLong(str, Integer.MIN_VALUE, Integer.MAX_VALUE),
+			NumberParserBenchmark::jdkParseInt
+		);
+		NumberParserBenchmark.compare("invalid int", INVALID_INTEGERS,
+			str -> parser.parseLong(str, Integer.MIN_VALUE, Integer.MAX_VALUE),
+			NumberParserBenchmark::jdkParseInt
+		);
+		NumberParserBenchmark.compare("valid double", VALID_DECIMALS,
+			parser::parseDouble,
+			NumberParserBenchmark::jdkParseDouble
+		);
+		NumberParserBenchmark.compare("invalid double", INVALID_DECIMALS,
+			parser::parseDouble,
+			NumberParserBenchmark::jdkParseDouble
+		);
+	}
+
+	private static boolean jdkParseInt(@NotNull String str) {
+		try {
+			NumberParserBenchmark.sink += Integer.parseInt(str);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean jdkParseDouble(@NotNull String str) {
+		try {
+			NumberParserBenchmark.sink += (long)Double.parseDouble(str);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/** Prints the average time per value taken by both parsers for the given values. */
+	private static void compare(
+		@NotNull String name,
+		@NotNull String[] values,
+		@NotNull Predicate<String> numberParser,
+		@NotNull Predicate<String> jdkParser
+	)
+	{
+		System.out.printf(
+			"%-15s NumberParser: %6.1f ns   JDK: %6.1f ns%n",
+			name,
+			NumberParserBenchmark.measure(values, numberParser),
+			NumberParserBenchmark.measure(values, jdkParser)
+		);
+	}
+
+	/** Returns the average number of nanoseconds taken to parse a value. */
+	private static double measure(@NotNull String[] values, @NotNull Predicate<String> parser) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			NumberParserBenchmark.runRound(values, parser);
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++)
+			NumberParserBenchmark.runRound(values, parser);
+
+		return (double)(System.nanoTime() - start) / ((long)MEASURED_ROUNDS * RUNS_PER_ROUND * values.length);
+	}
+
+	private static void runRound(@NotNull String[] values, @NotNull Predicate<String> parser) {
+		for (int i = 0; i < RUNS_PER_ROUND; i++) {
+			for (var value : values) {
+				if (parser.test(value)) NumberParserBenchmark.sink++;
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package lanat.test.units;
+
+import lanat.ArgumentParser;
+import lanat.CLInput;
+import lanat.ParseLimits;
+import lanat.parsing.ParseBudget;
+import lanat.parsing.Tokenizer;
+import lanat.test.AllocationBudget;
+import lanat.test.UnitTests;
+import lanat.test.units.commandTemplates.CmdTemplates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Each budget is given as the baseline: the number of bytes per run measured when it was last recorded, on JDK 17 with
+ * the default garbage collector. {@link AllocationBudget} adds a fixed margin to it. When a change allocates more or
+ * less, record the new measured value here in the same change, so that the test keeps catching regressions.
+ */
+public class TestAllocationBudget extends UnitTests {
+	private static final String ROOT_INPUT = "foo bar baz --double-adder 5 --double-adder 3.5 --a hello";
+	private static final String NESTED_INPUT = "foo --a hello subCommand -ccc -s [one two three] another 56";
+	private static final CLInput TEMPLATE_INPUT = CLInput.from("--number 56 --text hello -f cmd1-1 --number 54.0");
+
+	@Test
+	@DisplayName("tokenizing stays within its allocation budget")
+	public void testTokenizeBudget() {
+		AllocationBudget.assertWithinBudget("tokenize", 11_700,
+			() -> new Tokenizer(this.parser).tokenize(ROOT_INPUT, new ParseBudget(ParseLimits.NONE))
+		);
+	}
+
+	@Test
+	@DisplayName("parsing stays within its allocation budget")
+	public void testParseBudget() {
+		AllocationBudget.assertWithinBudget("parse", 68_200,
+			() -> this.parser.parse(CLInput.from(NESTED_INPUT))
+		);
+	}
+
+	@Test
+	@DisplayName("getting the parsed arguments stays within its allocation budget")
+	public void testGetParsedArgumentsBudget() {
+		final var result = this.parser.parse(CLInput.from(NESTED_INPUT));
+
+		AllocationBudget.assertWithinBudget("getParsedArguments", 0, result::getParsedArguments);
+	}
+
+	@Test
+	@DisplayName("into() stays within its allocation budget")
+	public void testIntoBudget() {
+		final var result = ArgumentParser.from(CmdTemplates.CmdTemplate1.class).parse(TEMPLATE_INPUT);
+
+		AllocationBudget.assertWithinBudget("into", 11_300, () -> result.into(CmdTemplates.CmdTemplate1.class));
+	}
+}
@@ -20,6 +20,21 @@ public class TestArgumentGroups extends UnitTests {
 			this.addArgument(Argument.createOfBoolType("group-arg2"));
 		}});
 
+		// the tree shown in the documentation of ArgumentGroup
+		parser.addGroup(new ArgumentGroup("group1") {{
+			this.setExclusive(true);
+			this.addArgument(Argument.createOfBoolType("arg1"));
+			this.addGroup(new ArgumentGroup("group2") {{
+				this.addArgument(Argument.createOfBoolType("arg2-1"));
+				this.addArgument(Argument.createOfBoolType("arg2-2"));
+			}});
+			this.addGroup(new ArgumentGroup("group3") {{
+				this.setExclusive(true);
+				this.addArgument(Argument.createOfBoolType("arg3-1"));
+				this.addArgument(Argument.createOfBoolType("arg3-2"));
+			}});
+		}});
+
 		return parser;
 	}
 
@@ -30,4 +45,34 @@ public class TestArgumentGroups extends UnitTests {
 		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("group-arg").orElse(null));
 		assertEquals(Boolean.FALSE, parsedArgs.<Boolean>get("group-arg2").orElse(null)); // group-arg2 should not be present
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Test a single argument of an exclusive group")
+	public void testExclusiveGroupSingleArgument() {
+		var parsedArgs = this.parser.parseGetValues("--group-arg2");
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("group-arg2").orElse(null));
+	}
+
+	@Test
+	@DisplayName("Test nested exclusive groups")
+	public void testNestedExclusiveGroups() {
+		// group2 is not exclusive, so both of its arguments can be used
+		var parsedArgs = this.parser.parseGetValues("--arg2-1 --arg2-2");
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("arg2-1").orElse(null));
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("arg2-2").orElse(null));
+
+		// but no other argument in group1
+		parsedArgs = this.parser.parseGetValues("--arg1 --arg2-1");
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("arg1").orElse(null));
+		assertEquals(Boolean.FALSE, parsedArgs.<Boolean>get("arg2-1").orElse(null));
+
+		parsedArgs = this.parser.parseGetValues("--arg2-2 --arg3-1");
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("arg2-2").orElse(null));
+		assertEquals(Boolean.FALSE, parsedArgs.<Boolean>get("arg3-1").orElse(null));
+
+		// group3 is exclusive
+		parsedArgs = this.parser.parseGetValues("--arg3-1 --arg3-2");
+		assertEquals(Boolean.TRUE, parsedArgs.<Boolean>get("arg3-1").orElse(null));
+		assertEquals(Boolean.FALSE, parsedArgs.<Boolean>get("arg3-2").orElse(null));
+	}
+}
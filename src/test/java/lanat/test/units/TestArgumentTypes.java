@@ -2,13 +2,23 @@ package lanat.test.units;
 
 import lanat.Argument;
 import lanat.argumentTypes.*;
+import lanat.parsing.errors.Error;
 import lanat.test.TestingParser;
 import lanat.test.UnitTests;
+import lanat.utils.NumberParser;
 import org.junit.jupiter.api.Test;
 import utils.Range;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,17 +33,35 @@ public class TestArgumentTypes extends UnitTests {
 			this.addArgument(Argument.createOfBoolType("boolean"));
 			this.addArgument(Argument.create(new CounterArgumentType(), "counter", "c"));
 			this.addArgument(Argument.create(new IntegerArgumentType(), "integer"));
+			this.addArgument(Argument.create(new IntegerArgumentType(NumberParser.Option.values()), "integer-extended"));
 			this.addArgument(Argument.create(new FloatArgumentType(), "float"));
 			this.addArgument(Argument.create(new StringArgumentType(), "string"));
 			this.addArgument(Argument.create(new MultipleStringsArgumentType(Range.AT_LEAST_ONE), "multiple-strings"));
 			this.addArgument(Argument.create(new MultipleNumbersArgumentType<>(
 				Range.AT_LEAST_ONE, new Integer[] { 10101 }), "multiple-ints")
 			);
+			this.addArgument(Argument.create(new IntArrayArgumentType(Range.AT_LEAST_ONE, new int[] { 10101 }), "int-array"));
 			this.addArgument(Argument.create(new FileArgumentType(true), "file"));
+			this.addArgument(Argument.create(new FileArgumentType(true, FileArgumentType.FileType.ANY, true), "file-async"));
+			this.addArgument(Argument.create(new ListArgumentType<>(
+				Range.AT_LEAST_ONE, new FileArgumentType(true, FileArgumentType.FileType.ANY, true)
+			), "file-list-async"));
 			this.addArgument(Argument.create(new EnumArgumentType<>(TestEnum.TWO), "enum"));
+			this.addArgument(Argument.create(new EnumArgumentType<>(TestEnum.TWO, true), "enum-prefix"));
 			this.addArgument(Argument.create(new KeyValuesArgumentType<>(new IntegerArgumentType()), "key-value"));
+			this.addArgument(Argument.create(new AccumulatingStringsArgumentType(), "acc-strings", "S"));
+			this.addArgument(Argument.create(new AccumulatingIntsArgumentType(Range.AT_LEAST_ONE, 2), "acc-ints", "I"));
+			this.addArgument(Argument.create(
+				new AccumulatingKeyValuesArgumentType<>(new IntegerArgumentType()), "acc-key-values", "D"
+			));
 			this.addArgument(Argument.create(new NumberRangeArgumentType<>(3, 10), "int-range"));
 			this.addArgument(Argument.create(new TryParseArgumentType<>(Double.class), "try-parse"));
+			this.addArgument(Argument.create(new TryParseArgumentType<>(BigDecimal.class), "try-parse-constructor"));
+			this.addArgument(Argument.create(new StdinArgumentType(5), "stdin-bounded"));
+			this.addArgument(Argument.create(new StdinStreamArgumentType(), "stdin-stream"));
+			this.addArgument(Argument.create(
+				new PathListArgumentType(Range.AT_LEAST_ONE, FileArgumentType.FileType.REGULAR_FILE), "paths"
+			));
 		}};
 	}
 
@@ -57,6 +85,27 @@ public class TestArgumentTypes extends UnitTests {
 		assertNull(this.parseArg("integer", "invalid"));
 	}
 
+	@Test
+	public void testParseWithoutBudget() {
+		final var argType = new IntegerArgumentType();
+		argType.parseAndUpdateValue(0, false, "42");
+		assertEquals(42, argType.getValue());
+	}
+
+	@Test
+	public void testIntegerExtended() {
+		assertEquals(31, this.<Integer>parseArg("integer-extended", "0x1F"));
+		assertEquals(-5, this.<Integer>parseArg("integer-extended", "-0b101"));
+		assertEquals(1_000_000, this.<Integer>parseArg("integer-extended", "1_000_000"));
+		assertEquals(4000, this.<Integer>parseArg("integer-extended", "4k"));
+		assertEquals(2048, this.<Integer>parseArg("integer-extended", "2Ki"));
+		assertNull(this.parseArg("integer-extended", "1__0"));
+		assertNull(this.parseArg("integer-extended", "3G")); // out of range for an integer
+
+		// the options are not enabled by default
+		assertNull(this.parseArg("integer", "0x1F"));
+	}
+
 	@Test
 	public void testFloat() {
 		assertEquals(4.67f, this.<Float>parseArg("float", "4.67"));
@@ -86,17 +135,79 @@ public class TestArgumentTypes extends UnitTests {
 		assertArrayEquals(new Integer[] { 10101 }, this.parseArg("multiple-ints", ""));
 	}
 
+	@Test
+	public void testPrimitiveNumbers() {
+		assertArrayEquals(new int[] { 4 }, this.parseArg("int-array", "4"));
+		assertArrayEquals(new int[] { 4, 5, 6 }, this.parseArg("int-array", "4 5 6"));
+		assertArrayEquals(new int[] { 10101 }, this.parseArg("int-array", ""));
+		assertArrayEquals(new int[] { 10101 }, this.parseArg("int-array", "4 invalid 6"));
+
+		// every invalid value gets its own error
+		assertEquals(2, this.parser.parseGetErrors("--int-array 4 invalid 6 invalid2").size());
+	}
+
+	@Test
+	public void testAccumulating() {
+		final var parsed = this.parser.parseGetValues("-S a -I 1 2 3 -D x=1 -S b -I 4 -D y=2 z=3 -I 5 6");
+		assertEquals(List.of("a", "b"), parsed.<List<String>>get("acc-strings").orElse(null));
+		assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6 }, parsed.<int[]>get("acc-ints").orElse(null));
+		assertEquals(
+			new HashMap<>() {{ this.put("x", 1); this.put("y", 2); this.put("z", 3); }},
+			parsed.<HashMap<String, Integer>>get("acc-key-values").orElse(null)
+		);
+
+		// the values of previous parses are not modified
+		assertEquals(List.of("c"), this.<List<String>>parseArg("acc-strings", "c"));
+		assertEquals(List.of("a", "b"), parsed.<List<String>>get("acc-strings").orElse(null));
+		assertArrayEquals(new int[0], this.parser.parseGetValues("").<int[]>get("acc-ints").orElse(null));
+
+		assertEquals(1, this.parser.parseGetErrors("-I 1 -I invalid").size());
+		assertEquals(1, this.parser.parseGetErrors("-D x=1 -D x=2").size());
+	}
+
 	@Test
 	public void testFile() {
 		assertNull(this.<File>parseArg("file", "hello.txt"));
 	}
 
+	@Test
+	public void testAsyncValidation() {
+		assertNull(this.<File>parseArg("file-async", "hello.txt"));
+		assertNotNull(this.<File>parseArg("file-async", "src"));
+
+		// the errors must be on the values that failed
+		assertEquals(2, this.parser.parseGetErrors("--file-list-async hello.txt src other.txt").size());
+		assertEquals(
+			List.of(1, 3),
+			this.parser.getArgument("file-list-async").argType.getErrorsUnderDisplayLevel().stream()
+				.map(Error.CustomError::getIndex)
+				.toList()
+		);
+
+		// only the values that failed are discarded
+		assertEquals(
+			Arrays.asList(null, new File("src"), null),
+			this.parser.parseGetValues("--file-list-async hello.txt src other.txt").get("file-list-async").orElse(null)
+		);
+	}
+
 	@Test
 	public void testEnum() {
 		assertEquals(TestEnum.ONE, this.parseArg("enum", "ONE"));
 		assertEquals(TestEnum.TWO, this.parseArg("enum", "TWO"));
 		assertEquals(TestEnum.THREE, this.parseArg("enum", "THREE"));
 		assertEquals(TestEnum.TWO, this.parser.parseGetValues("").get("enum").orElse(null));
+		assertEquals(TestEnum.THREE, this.parseArg("enum", "three"));
+		assertEquals(1, this.parser.parseGetErrors("--enum thr").size());
+	}
+
+	@Test
+	public void testEnumPrefix() {
+		assertEquals(TestEnum.ONE, this.parseArg("enum-prefix", "on"));
+		assertEquals(TestEnum.THREE, this.parseArg("enum-prefix", "Th"));
+		assertEquals(TestEnum.TWO, this.parseArg("enum-prefix", "two"));
+		assertEquals(1, this.parser.parseGetErrors("--enum-prefix t").size()); // ambiguous
+		assertEquals(1, this.parser.parseGetErrors("--enum-prefix four").size());
 	}
 
 	@Test
@@ -125,5 +236,72 @@ public class TestArgumentTypes extends UnitTests {
 		assertEquals(4.67, this.<Double>parseArg("try-parse", "4.67"));
 		this.assertNotPresent("try-parse");
 		assertNull(this.parseArg("try-parse", "invalid"));
+
+		// BigDecimal has no valueOf(String), so its constructor is used
+		assertEquals(new BigDecimal("4.67"), this.parseArg("try-parse-constructor", "4.67"));
+		assertNull(this.parseArg("try-parse-constructor", "invalid"));
+	}
+
+	@Test
+	public void testStdin() throws IOException {
+		final var originalIn = System.in;
+		try {
+			System.setIn(new ByteArrayInputStream("abc\n".getBytes()));
+			assertEquals("abc\n", this.<String>parseArg("stdin-bounded", ""));
+
+			System.setIn(new ByteArrayInputStream("abcdef".getBytes()));
+			assertEquals(1, this.parser.parseGetErrors("--stdin-bounded").size());
+
+			// line separators are normalized, and the last line always ends with one
+			System.setIn(new ByteArrayInputStream("a\r\n\rb".getBytes()));
+			assertEquals("a\n\nb\n", this.<String>parseArg("stdin-bounded", ""));
+
+			System.setIn(new ByteArrayInputStream("abcde".getBytes()));
+			assertEquals(1, this.parser.parseGetErrors("--stdin-bounded").size());
+
+			// nothing is read until the stream is used
+			final var stream = this.<InputStream>parseArg("stdin-stream", "");
+			assertNotNull(stream);
+			System.setIn(new ByteArrayInputStream("streamed".getBytes()));
+			assertEquals("streamed", new String(stream.readAllBytes()));
+		} finally {
+			System.setIn(originalIn);
+		}
+	}
+
+	@Test
+	public void testPathList() throws IOException {
+		final var directory = Files.createTempDirectory("lanat-path-list");
+		final var files = List.of(
+			directory.resolve("a.gz"),
+			directory.resolve("x/b.gz"),
+			directory.resolve("x/y/c.gz"),
+			directory.resolve("x/c.txt")
+		);
+		for (final var file : files) {
+			Files.createDirectories(file.getParent());
+			Files.createFile(file);
+		}
+
+		try {
+			final var found = this.<List<PathListArgumentType.FoundPath>>parseArg("paths", "'" + directory + "/**/*.gz'");
+			assertEquals(files.subList(0, 3), found.stream().map(PathListArgumentType.FoundPath::path).toList());
+			assertTrue(found.stream().allMatch(p -> p.attributes().isRegularFile()));
+
+			// a path that is not a pattern, and a pattern without matches (c.txt is not directly in the directory)
+			assertEquals(
+				List.of(files.get(3)),
+				this.<List<PathListArgumentType.FoundPath>>parseArg("paths", "'" + files.get(3) + "'").stream()
+					.map(PathListArgumentType.FoundPath::path)
+					.toList()
+			);
+			assertEquals(1, this.parser.parseGetErrors("--paths '" + directory + "/*.txt'").size());
+		} finally {
+			for (final var file : files)
+				Files.delete(file);
+			Files.delete(directory.resolve("x/y"));
+			Files.delete(directory.resolve("x"));
+			Files.delete(directory);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package lanat.test.units;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lanat.CLInput;
+import lanat.events.ArgumentTypeParseEvent;
+import lanat.events.CallbacksEvent;
+import lanat.events.ErrorFormattingEvent;
+import lanat.events.HelpGenerationEvent;
+import lanat.events.ParseEvent;
+import lanat.events.TokenizeEvent;
+import lanat.test.UnitTests;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEvents extends UnitTests {
+	/** Runs the given action while recording the events of Lanat, and returns the ones that were emitted. */
+	private static @NotNull List<RecordedEvent> record(@NotNull Path dir, @NotNull Runnable action) throws IOException {
+		final var path = dir.resolve("events.jfr");
+
+		try (var recording = new Recording()) {
+			for (var eventClass : List.of(
+				TokenizeEvent.class, ParseEvent.class, ArgumentTypeParseEvent.class, CallbacksEvent.class,
+				ErrorFormattingEvent.class, HelpGenerationEvent.class
+			))
+				recording.enable(eventClass).withoutThreshold();
+
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(path);
+		}
+
+		return RecordingFile.readAllEvents(path).stream()
+			.filter(e -> e.getEventType().getName().startsWith("lanat."))
+			.toList();
+	}
+
+	private static @NotNull RecordedEvent findEvent(@NotNull List<RecordedEvent> events, @NotNull String name) {
+		return events.stream()
+			.filter(e -> e.getEventType().getName().equals(name))
+			.findFirst()
+			.orElseThrow(() -> new AssertionError("no " + name + " event was emitted"));
+	}
+
+	@Test
+	@DisplayName("check the parse lifecycle emits events with the command path and input length")
+	public void testParseEvents(@TempDir Path dir) throws IOException {
+		final var input = "subCommand -cc";
+		final var events = TestEvents.record(dir, () -> this.parser.parse(CLInput.from(input)));
+
+		for (var name : List.of("lanat.Tokenize", "lanat.Parse", "lanat.Callbacks")) {
+			final var event = TestEvents.findEvent(events, name);
+			assertEquals("Testing", event.getString("commandPath"), name);
+			assertEquals(input.length(), event.getInt("inputLength"), name);
+		}
+
+		final var argTypeEvent = TestEvents.findEvent(events, "lanat.ArgumentTypeParse");
+		assertEquals("Testing subCommand", argTypeEvent.getString("commandPath"));
+		assertEquals(input.length(), argTypeEvent.getInt("inputLength"));
+	}
+
+	@Test
+	@DisplayName("check the help can be generated before parsing while recording")
+	public void testHelpEventBeforeParse(@TempDir Path dir) throws IOException {
+		final var events = TestEvents.record(dir, () -> this.parser.getCommand("subCommand").getHelp());
+
+		final var event = TestEvents.findEvent(events, "lanat.HelpGeneration");
+		assertEquals("Testing subCommand", event.getString("commandPath"));
+		assertEquals(0, event.getInt("inputLength"));
+		assertTrue(event.getInt("helpLength") > 0);
+	}
+
+	@Test
+	@DisplayName("check the input length is reset with the parser")
+	public void testHelpEventAfterReset(@TempDir Path dir) throws IOException {
+		this.parser.parse(CLInput.from("subCommand -cc"));
+		this.parser.resetState();
+
+		final var events = TestEvents.record(dir, () -> this.parser.getHelp());
+		assertEquals(0, TestEvents.findEvent(events, "lanat.HelpGeneration").getInt("inputLength"));
+	}
+}
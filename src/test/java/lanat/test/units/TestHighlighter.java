@@ -0,0 +1,58 @@
+package lanat.test.units;
+
+import lanat.parsing.Highlighter;
+import lanat.parsing.TokenType;
+import lanat.test.UnitTests;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHighlighter extends UnitTests {
+	private List<Highlighter.Span> highlight(String input) {
+		return Highlighter.highlight(this.parser, input).toList();
+	}
+
+	@Test
+	@DisplayName("spans have the types of the tokens")
+	public void testSpans() {
+		assertEquals(
+			List.of(
+				new Highlighter.Span(0, 3, TokenType.ARGUMENT_VALUE, 0),
+				new Highlighter.Span(4, 7, TokenType.ARGUMENT_NAME, 0),
+				new Highlighter.Span(8, 10, TokenType.ARGUMENT_VALUE, 0),
+				new Highlighter.Span(11, 12, TokenType.ARGUMENT_VALUE_TUPLE_START, 0),
+				new Highlighter.Span(12, 13, TokenType.ARGUMENT_VALUE, 0),
+				new Highlighter.Span(14, 21, TokenType.ARGUMENT_VALUE, 0),
+				new Highlighter.Span(21, 22, TokenType.ARGUMENT_VALUE_TUPLE_END, 0),
+				new Highlighter.Span(23, 33, TokenType.COMMAND, 0),
+				new Highlighter.Span(34, 37, TokenType.ARGUMENT_NAME_LIST, 1),
+				new Highlighter.Span(38, 45, TokenType.FORWARD_VALUE, 1)
+			),
+			this.highlight("foo --a=hi [1 'a b c'] subCommand -cc -- rest")
+		);
+	}
+
+	@Test
+	@DisplayName("incomplete input is highlighted")
+	public void testIncompleteInput() {
+		assertEquals(
+			List.of(
+				new Highlighter.Span(0, 1, TokenType.ARGUMENT_VALUE_TUPLE_START, 0),
+				new Highlighter.Span(1, 4, TokenType.ARGUMENT_VALUE, 0),
+				new Highlighter.Span(5, 9, TokenType.ARGUMENT_VALUE, 0)
+			),
+			this.highlight("[foo \"bar")
+		);
+		assertEquals(List.of(), this.highlight("   "));
+	}
+
+	@Test
+	@DisplayName("highlighting does not affect parsing")
+	public void testNoSideEffects() {
+		this.highlight("foo subCommand -cc");
+		assertEquals(2, this.parser.parseGetValues("foo subCommand -cc").<Integer>get("subCommand.c").orElseThrow());
+	}
+}
@@ -1,13 +1,39 @@
 package lanat.test.units;
 
+import lanat.Argument;
+import lanat.ArgumentParser;
+import lanat.ArgumentType;
 import lanat.CLInput;
+import lanat.Command;
+import lanat.ParseLimits;
+import lanat.ParseRecord;
+import lanat.ParseRecorder;
+import lanat.ParseReplay;
+import lanat.argumentTypes.FileArgumentType;
+import lanat.argumentTypes.ListArgumentType;
+import lanat.argumentTypes.MultipleStringsArgumentType;
+import lanat.argumentTypes.StringArgumentType;
 import lanat.exceptions.ArgumentAlreadyExistsException;
 import lanat.test.UnitTests;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import textFormatter.TextFormatter;
+import utils.Range;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class TestMisc extends UnitTests {
 	@Test
@@ -35,4 +61,394 @@ public class TestMisc extends UnitTests {
 		// test sub-command2 failing (its error code is 0b1000)
 		assertEquals(0b1100, this.parser.parse(CLInput.from("subCommand2 hello")).getErrorCode());
 	}
+
+	@Test
+	@DisplayName("check parse results are cached")
+	public void testParseCache() {
+		this.parser.addArgument(Argument.create(new FileArgumentType(true), "file"));
+		this.parser.setParseCacheSize(2);
+
+		final var first = this.parser.parse(CLInput.from("foo --a hi"));
+		final var second = this.parser.parse(CLInput.from("foo --a hi"));
+		assertEquals("hi", second.getParsedArguments().<String>get("a").orElse(null));
+
+		// errors are kept too
+		final var errors = this.parser.parse(CLInput.from("subCommand -s")).getErrors();
+		final var cachedErrors = this.parser.parse(CLInput.from("subCommand -s"));
+		assertEquals(errors, cachedErrors.getErrors());
+		assertEquals(0b0110, cachedErrors.getErrorCode());
+
+		// cached results are not affected by later parses
+		assertEquals("hi", first.getParsedArguments().<String>get("a").orElse(null));
+		assertEquals(new ArgumentParser.ParseCacheStats(2, 2, 2), this.parser.getParseCacheStats().orElseThrow());
+
+		// the least recently used result is removed
+		this.parser.parse(CLInput.from("bar"));
+		this.parser.parse(CLInput.from("foo --a hi"));
+		assertEquals(new ArgumentParser.ParseCacheStats(2, 4, 2), this.parser.getParseCacheStats().orElseThrow());
+
+		// inputs that use non-deterministic types are not stored
+		this.parser.parse(CLInput.from("foo --file does-not-exist"));
+		this.parser.parse(CLInput.from("foo --file does-not-exist"));
+		assertEquals(new ArgumentParser.ParseCacheStats(2, 6, 2), this.parser.getParseCacheStats().orElseThrow());
+
+		// callbacks added after parsing are noticed, but only matter if their arguments are used.
+		// adding them clears the cache
+		this.parser.getArgument("a").setOnOkCallback(v -> {});
+		this.parser.getCommand("subCommand").getArgument("c").setOnOkCallback(v -> {});
+		this.parser.parse(CLInput.from("foo --a bye"));
+		this.parser.parse(CLInput.from("foo --a bye"));
+		this.parser.parse(CLInput.from("baz"));
+		this.parser.parse(CLInput.from("baz"));
+		assertEquals(new ArgumentParser.ParseCacheStats(3, 9, 1), this.parser.getParseCacheStats().orElseThrow());
+
+		// a command callback is invoked on every parse
+		this.parser.getCommand("subCommand").setOnOkCallback(v -> {});
+		this.parser.parse(CLInput.from("qux"));
+		this.parser.parse(CLInput.from("qux"));
+		assertEquals(new ArgumentParser.ParseCacheStats(3, 11, 0), this.parser.getParseCacheStats().orElseThrow());
+	}
+
+	@Test
+	@DisplayName("check cached results are removed when the parser changes")
+	public void testParseCacheInvalidation() {
+		this.parser.setParseCacheSize(4);
+		this.parser.parse(CLInput.from("foo --a hi"));
+		this.parser.parse(CLInput.from("foo --a hi a b c"));
+		assertEquals(2, this.parser.getParseCacheStats().orElseThrow().size());
+
+		// the cached result had more tokens than allowed now
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxTokens(3));
+		assertEquals(0, this.parser.getParseCacheStats().orElseThrow().size());
+		this.assertLimitExceeded("foo --a hi a b c", ParseLimits.Limit.TOKENS, 3);
+
+		this.parser.setParseLimits(ParseLimits.NONE);
+		this.parser.parse(CLInput.from("foo --a hi"));
+		this.parser.getCommand("subCommand").addArgument(Argument.create(new StringArgumentType(), "new"));
+		assertEquals(0, this.parser.getParseCacheStats().orElseThrow().size());
+
+		// errors formatted with the sequences disabled are not reused when they are enabled
+		final var plainErrors = this.parser.parse(CLInput.from("foo --a hi unknown")).getErrors();
+		TextFormatter.enableSequences = true;
+		try {
+			assertNotEquals(plainErrors, this.parser.parse(CLInput.from("foo --a hi unknown")).getErrors());
+		} finally {
+			TextFormatter.enableSequences = false;
+		}
+	}
+
+	@Test
+	@DisplayName("check cached values can't be modified by the callers that receive them")
+	public void testParseCacheValuesCopied() {
+		this.parser.addArgument(Argument.create(new MultipleStringsArgumentType(Range.AT_LEAST_ONE), "strings"));
+		this.parser.addArgument(Argument.create(
+			new ListArgumentType<>(Range.AT_LEAST_ONE, new StringArgumentType()), "list"
+		));
+		this.parser.setParseCacheSize(2);
+
+		final var input = CLInput.from("foo --strings x y --list x y");
+		final String[] first = this.parser.parse(input).getParsedArguments().<String[]>get("strings").orElseThrow();
+		first[0] = "changed";
+
+		final var cached = this.parser.parse(input).getParsedArguments();
+		final String[] second = cached.<String[]>get("strings").orElseThrow();
+		assertArrayEquals(new String[] { "x", "y" }, second);
+		second[0] = "changed";
+		assertArrayEquals(
+			new String[] { "x", "y" }, this.parser.parse(input).getParsedArguments().<String[]>get("strings").orElseThrow()
+		);
+
+		final List<String> list = cached.<List<String>>get("list").orElseThrow();
+		assertThrows(UnsupportedOperationException.class, () -> list.add("z"));
+		assertEquals(2, this.parser.getParseCacheStats().orElseThrow().hits());
+	}
+
+	@Test
+	@DisplayName("check parses are recorded and replayed")
+	public void testParseRecorder(@TempDir Path dir) throws IOException {
+		final var path = dir.resolve("parses.log");
+
+		try (var recorder = new ParseRecorder(path)) {
+			this.parser.setParseRecorder(recorder);
+			this.parser.parse(CLInput.from("foo --a hi"));
+			this.parser.parse(CLInput.from("subCommand -s"));
+			this.parser.setParseRecorder(null);
+		}
+
+		final var records = new ArrayList<ParseRecord>();
+		ParseRecorder.read(path, records::add);
+		assertEquals(2, records.size());
+		assertEquals("foo --a hi", records.get(0).input());
+		assertEquals("hi", records.get(0).values().get("a"));
+		assertTrue(records.get(0).errors().isEmpty());
+		assertEquals(0b0110, records.get(1).errorCode());
+
+		// parsing the same inputs again gives the same outcomes
+		final var result = ParseReplay.replay(this.parser, path);
+		assertEquals(2, result.count());
+		assertTrue(result.isSuccessful());
+
+		// a parser that behaves differently does not
+		final var otherParser = new ArgumentParser("Testing") {{
+			this.addArgument(Argument.create(new StringArgumentType(), "a"));
+		}};
+		assertEquals(2, ParseReplay.replay(otherParser, path).mismatches().size());
+	}
+
+	@Test
+	@DisplayName("check parse logs are rotated")
+	public void testParseRecorderRotation(@TempDir Path dir) throws IOException {
+		final var path = dir.resolve("parses.log");
+
+		// small enough for a single record per file
+		try (var recorder = new ParseRecorder(path, 64, 2)) {
+			this.parser.setParseRecorder(recorder);
+			this.parser.parse(CLInput.from("foo --a first"));
+			this.parser.parse(CLInput.from("foo --a second"));
+			this.parser.parse(CLInput.from("foo --a third"));
+			this.parser.setParseRecorder(null);
+
+			assertEquals(dir.resolve("parses.log.1"), recorder.getRotatedPath(1));
+		}
+
+		final var records = new ArrayList<ParseRecord>();
+		ParseRecorder.read(dir.resolve("parses.log.1"), records::add);
+		ParseRecorder.read(path, records::add);
+
+		assertEquals(2, records.size());
+		assertEquals("foo --a second", records.get(0).input());
+		assertEquals("foo --a third", records.get(1).input());
+		assertFalse(Files.exists(dir.resolve("parses.log.2")));
+	}
+
+	@Test
+	@DisplayName("check an incomplete record at the end of a parse log is dropped before appending")
+	public void testParseRecorderTruncatedRecord(@TempDir Path dir) throws IOException {
+		final var path = dir.resolve("parses.log");
+
+		try (var recorder = new ParseRecorder(path)) {
+			this.parser.setParseRecorder(recorder);
+			this.parser.parse(CLInput.from("foo --a first"));
+			this.parser.setParseRecorder(null);
+		}
+
+		// a record that says it has 100 bytes, but only has 3
+		Files.write(path, new byte[] { 0, 0, 0, 100, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+		try (var recorder = new ParseRecorder(path)) {
+			this.parser.setParseRecorder(recorder);
+			this.parser.parse(CLInput.from("foo --a second"));
+			this.parser.setParseRecorder(null);
+		}
+
+		final var records = new ArrayList<ParseRecord>();
+		ParseRecorder.read(path, records::add);
+		assertEquals(2, records.size());
+		assertEquals("foo --a first", records.get(0).input());
+		assertEquals("foo --a second", records.get(1).input());
+	}
+
+	@Test
+	@DisplayName("check a failure to record does not change the result of parsing")
+	public void testParseRecorderFailure(@TempDir Path dir) throws IOException {
+		final var recorder = new ParseRecorder(dir.resolve("parses.log"));
+		recorder.close();
+		this.parser.setParseRecorder(recorder);
+
+		// too large to be buffered, so it is written to the closed file right away
+		final var value = "x".repeat(128 * 1024);
+		assertEquals(value, this.parser.parse(CLInput.from("foo --a " + value)).getParsedArguments().<String>get("a").orElse(null));
+		assertTrue(recorder.getFailure().isPresent());
+
+		// the recorder stops recording
+		assertFalse(this.parser.parse(CLInput.from("foo --a hi")).hasErrors());
+		this.parser.setParseRecorder(null);
+	}
+
+	private void assertLimitExceeded(@NotNull String input, @NotNull ParseLimits.Limit limit, long maximum) {
+		final var options = this.parser.parse(CLInput.from(input));
+		assertTrue(options.hasErrors());
+		assertEquals(1, options.getErrors().size());
+		assertTrue(options.getErrors().get(0).contains(limit.getMessage(maximum)));
+	}
+
+	@Test
+	@DisplayName("check parsing stops when a limit is exceeded")
+	public void testParseLimits() {
+		final var callbackValues = new ArrayList<String>();
+		this.parser.getArgument("a").setOnOkCallback(v -> callbackValues.add((String)v));
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxInputLength(10));
+		this.assertLimitExceeded("foo --a hello", ParseLimits.Limit.INPUT_LENGTH, 10);
+		assertFalse(this.parser.parse(CLInput.from("foo --a hi")).hasErrors());
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxTokens(3));
+		this.assertLimitExceeded("foo bar --a hi", ParseLimits.Limit.TOKENS, 3);
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxValuesPerArgument(2));
+		this.assertLimitExceeded("foo bar baz --a hi", ParseLimits.Limit.VALUES_PER_ARGUMENT, 2);
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxNestingDepth(1));
+		this.assertLimitExceeded("foo subCommand another 1", ParseLimits.Limit.NESTING_DEPTH, 1);
+		assertFalse(this.parser.parse(CLInput.from("foo subCommand -c")).hasErrors());
+
+		// only the callback of the parses that were not stopped is invoked
+		assertEquals(List.of("hi"), callbackValues);
+	}
+
+	@Test
+	@DisplayName("check only the maximum number of errors is shown")
+	public void testParseLimitsMaxErrors() {
+		assertEquals(2, this.parser.parse(CLInput.from("foo subCommand2 --extra -c hello")).getErrors().size());
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxErrors(1));
+		final var options = this.parser.parse(CLInput.from("foo subCommand2 --extra -c hello"));
+		assertEquals(1, options.getErrors().size());
+		assertEquals(0b1100, options.getErrorCode());
+	}
+
+	@Test
+	@DisplayName("check the errors past the maximum are not stored, but still count for the error code")
+	public void testParseLimitsMaxErrorsNotStored() {
+		final var parser = this.parser.getCommand("subCommand2").getParser();
+		final var input = "foo subCommand2 --x1 --x2 --x3 --x4 --x5";
+
+		this.parser.parse(CLInput.from(input));
+		assertEquals(4, parser.getErrorsUnderDisplayLevel().size());
+
+		this.parser.setParseLimits(ParseLimits.NONE.withMaxErrors(2));
+		final var options = this.parser.parse(CLInput.from(input));
+		assertEquals(2, options.getErrors().size());
+		assertEquals(2, parser.getErrorsUnderDisplayLevel().size());
+		assertEquals(0b1100, options.getErrorCode());
+	}
+
+	/** A timeout that a parse of a few values never reaches, unless they block. */
+	private static final Duration TIMEOUT = Duration.ofSeconds(1);
+	/** The longest time a value blocks for, if its latch is not released before. */
+	private static final Duration BLOCK_TIME = TIMEOUT.multipliedBy(2);
+
+	/**
+	 * Blocks on its latch for each {@code block} value it receives, either while parsing it or in an async validation.
+	 */
+	private static class BlockingArgumentType extends ArgumentType<String> {
+		private final @NotNull CountDownLatch latch;
+		private final boolean async;
+		/** Released when a value is interrupted while blocking. */
+		final @NotNull CountDownLatch interrupted = new CountDownLatch(1);
+
+		BlockingArgumentType(@NotNull CountDownLatch latch, boolean async) {
+			this.latch = latch;
+			this.async = async;
+		}
+
+		@Override
+		public @NotNull Range getRequiredArgValueCount() {
+			return Range.AT_LEAST_ONE;
+		}
+
+		@Override
+		public @Nullable String parseValues(@NotNull String @NotNull [] args) {
+			final var latch = this.latch;
+			final var interrupted = this.interrupted;
+			this.forEachArgValue(args, v -> {
+				if (!v.equals("block"))
+					return;
+
+				if (this.async) {
+					this.addAsyncValidation(() -> {
+						BlockingArgumentType.await(latch, interrupted);
+						return null;
+					});
+				} else {
+					BlockingArgumentType.await(latch, interrupted);
+				}
+			});
+			return null;
+		}
+
+		private static void await(@NotNull CountDownLatch latch, @NotNull CountDownLatch interrupted) {
+			try {
+				latch.await(BLOCK_TIME.toNanos(), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("check parsing stops when it takes longer than the timeout")
+	public void testParseTimeout() {
+		// never released, so the value always blocks for longer than the timeout
+		this.parser.addArgument(Argument.create(new BlockingArgumentType(new CountDownLatch(1), false), "slow"));
+
+		this.parser.setParseLimits(ParseLimits.NONE.withTimeout(TIMEOUT));
+		this.assertLimitExceeded("foo --slow block a", ParseLimits.Limit.TIMEOUT, TIMEOUT.toMillis());
+		assertFalse(this.parser.parse(CLInput.from("foo --slow a b c")).hasErrors());
+	}
+
+	@Test
+	@DisplayName("check async validations are not waited for after the timeout, and are interrupted")
+	public void testParseTimeoutAsyncValidation() throws InterruptedException {
+		final var latch = new CountDownLatch(1);
+		final var argType = new BlockingArgumentType(latch, true);
+		this.parser.addArgument(Argument.create(argType, "slow"));
+		this.parser.setParseLimits(ParseLimits.NONE.withTimeout(TIMEOUT));
+
+		try {
+			final long start = System.nanoTime();
+			this.assertLimitExceeded("foo --slow block", ParseLimits.Limit.TIMEOUT, TIMEOUT.toMillis());
+			assertTrue(System.nanoTime() - start < BLOCK_TIME.toNanos(), "the validation should not be waited for");
+			assertTrue(
+				argType.interrupted.await(BLOCK_TIME.toNanos(), TimeUnit.NANOSECONDS),
+				"the validation should be interrupted"
+			);
+		} finally {
+			latch.countDown();
+		}
+
+		assertFalse(this.parser.parse(CLInput.from("foo --slow block a")).hasErrors());
+	}
+
+	@Test
+	@DisplayName("check only the state used by the last parse is reset, reusing the tokenizers and parsers")
+	public void testResetState() {
+		final var subCommand = this.parser.getCommand("subCommand");
+		final var another = subCommand.getCommand("another");
+		final var tokenizer = subCommand.getTokenizer();
+		final var parser = subCommand.getParser();
+
+		assertEquals(2, this.parser.parseGetValues("foo subCommand -cc").<Integer>get("subCommand.c").orElseThrow());
+		assertTrue(tokenizer.isDirty());
+		assertFalse(another.getTokenizer().isDirty());
+
+		final var parsedArgs = this.parser.parseGetValues("bar --a hi");
+		assertSame(tokenizer, subCommand.getTokenizer());
+		assertSame(parser, subCommand.getParser());
+		assertFalse(tokenizer.isDirty());
+		assertEquals("hi", parsedArgs.<String>get("a").orElseThrow());
+		assertEquals(0, parsedArgs.<Integer>get("subCommand.c").orElseThrow());
+
+		// the reused instances parse like new ones
+		assertEquals(1, this.parser.parseGetValues("foo subCommand -c").<Integer>get("subCommand.c").orElseThrow());
+	}
+
+	@Test
+	@DisplayName("check the parsers of the commands that were not tokenized are not used when invoking callbacks")
+	public void testCallbacksSkipUntouchedCommands() {
+		final var subCommand = this.parser.getCommand("subCommand");
+		final var another = subCommand.getCommand("another");
+
+		this.parser.parse(CLInput.from("foo --a hi"));
+		assertFalse(subCommand.getParser().isDirty());
+		assertFalse(another.getParser().isDirty());
+
+		// the callbacks of a command are invoked even if it was not tokenized
+		final var invoked = new ArrayList<Command>();
+		another.setOnOkCallback(parsedArgs -> invoked.add(another));
+		this.parser.parse(CLInput.from("foo --a hi"));
+		assertEquals(List.of(another), invoked);
+		assertTrue(another.getParser().isDirty());
+	}
 }
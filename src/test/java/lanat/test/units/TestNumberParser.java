@@ -0,0 +1,171 @@
+package lanat.test.units;
+
+import lanat.utils.NumberParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestNumberParser {
+	private final NumberParser parser = new NumberParser();
+	private final NumberParser extendedParser = new NumberParser(NumberParser.Option.values());
+
+	private void assertLong(long expected, String str, long min, long max) {
+		assertTrue(this.parser.parseLong(str, min, max), "'" + str + "' should be valid");
+		assertEquals(expected, this.parser.getLong());
+	}
+
+	private void assertInvalidLong(String str, long min, long max) {
+		assertFalse(this.parser.parseLong(str, min, max), "'" + str + "' should be invalid");
+	}
+
+	/** Checks the limits of a type, and the values one past them. */
+	private void assertBoundaries(long min, long max) {
+		this.assertLong(min, String.valueOf(min), min, max);
+		this.assertLong(max, String.valueOf(max), min, max);
+		this.assertLong(0, "-0", min, max);
+		this.assertInvalidLong(String.valueOf(min - 1), min, max);
+		this.assertInvalidLong(String.valueOf(max + 1), min, max);
+	}
+
+	@Test
+	@DisplayName("byte, short and int limits are accepted, and the values past them are not")
+	public void testIntegerBoundaries() {
+		this.assertBoundaries(Byte.MIN_VALUE, Byte.MAX_VALUE);
+		this.assertBoundaries(Short.MIN_VALUE, Short.MAX_VALUE);
+		this.assertBoundaries(Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	@Test
+	@DisplayName("long limits are accepted, and the values past them are not")
+	public void testLongBoundaries() {
+		this.assertLong(Long.MIN_VALUE, "-9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertLong(Long.MAX_VALUE, "9223372036854775807", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertLong(Long.MAX_VALUE, "+9223372036854775807", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertInvalidLong("-9223372036854775809", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertInvalidLong("9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertInvalidLong("99999999999999999999", Long.MIN_VALUE, Long.MAX_VALUE);
+		this.assertLong(7, "000000000000000000000007", Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Test
+	@DisplayName("malformed integers are rejected")
+	public void testInvalidIntegers() {
+		for (var str : new String[] { "", "-", "+", "--1", "1-", "1.0", " 1", "1 ", "0x10", "1_0", "1k" })
+			this.assertInvalidLong(str, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Test
+	@DisplayName("radix prefixes, separators and suffixes are checked for overflow")
+	public void testExtendedIntegerBoundaries() {
+		assertTrue(this.extendedParser.parseLong("-0x8000000000000000", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(Long.MIN_VALUE, this.extendedParser.getLong());
+		assertTrue(this.extendedParser.parseLong("0x7fff_ffff_ffff_ffff", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, this.extendedParser.getLong());
+		assertFalse(this.extendedParser.parseLong("0x8000000000000000", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertFalse(this.extendedParser.parseLong("0b", Long.MIN_VALUE, Long.MAX_VALUE));
+
+		assertTrue(this.extendedParser.parseLong("2Gi", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(1L << 31, this.extendedParser.getLong());
+		assertFalse(this.extendedParser.parseLong("2Gi", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertTrue(this.extendedParser.parseLong("-2Gi", Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertEquals(Integer.MIN_VALUE, this.extendedParser.getLong());
+		assertFalse(this.extendedParser.parseLong("9223372036854775807k", Long.MIN_VALUE, Long.MAX_VALUE));
+		assertFalse(this.extendedParser.parseLong("Ki", Long.MIN_VALUE, Long.MAX_VALUE));
+
+		for (var str : new String[] { "_1", "1_", "1__0", "0x_1", "-_1" })
+			assertFalse(this.extendedParser.parseLong(str, Long.MIN_VALUE, Long.MAX_VALUE), str);
+	}
+
+	@Test
+	@DisplayName("decimal numbers give the same values as the JDK parsers")
+	public void testDecimalsMatchJdk() {
+		final var random = new Random(42);
+		final var strings = new String[] {
+			"0", "-0", "0.0", "-0.0", "1", "1.", ".5", "-.5", "3.14159", "1e10", "1E-10", "1e+5", "123456789012345678",
+			"9007199254740993", "0.1", "0.3", "1e22", "1e23", "1e-22", "4.9e-324", "2.2250738585072014E-308",
+			"1.7976931348623157e308", "1e309", "-1e309", "1e-400", "16777217", "3.4028235e38", "3.4028236e38",
+			"1.4e-45", "0.000001", "123.456e-7"
+		};
+
+		for (var str : strings)
+			this.assertDecimal(str);
+
+		for (int i = 0; i < 10_000; i++) {
+			final var str = (random.nextBoolean() ? "-" : "")
+				+ random.nextInt(1_000_000) + "." + random.nextInt(1_000_000)
+				+ (random.nextBoolean() ? "e" + (random.nextInt(80) - 40) : "");
+			this.assertDecimal(str);
+		}
+	}
+
+	private void assertDecimal(String str) {
+		assertTrue(this.parser.parseDouble(str), str);
+		assertEquals(Double.parseDouble(str), this.parser.getDouble(), str);
+		assertTrue(this.parser.parseFloat(str), str);
+		assertEquals(Float.parseFloat(str), this.parser.getFloat(), str);
+	}
+
+	@Test
+	@DisplayName("NaN and infinity are accepted, with an optional sign")
+	public void testSpecialValues() {
+		assertTrue(this.parser.parseDouble("NaN"));
+		assertTrue(Double.isNaN(this.parser.getDouble()));
+		assertTrue(this.parser.parseFloat("-NaN"));
+		assertTrue(Float.isNaN(this.parser.getFloat()));
+
+		assertTrue(this.parser.parseDouble("Infinity"));
+		assertEquals(Double.POSITIVE_INFINITY, this.parser.getDouble());
+		assertTrue(this.parser.parseDouble("+Infinity"));
+		assertEquals(Double.POSITIVE_INFINITY, this.parser.getDouble());
+		assertTrue(this.parser.parseFloat("-Infinity"));
+		assertEquals(Float.NEGATIVE_INFINITY, this.parser.getFloat());
+
+		assertFalse(this.parser.parseDouble("nan"));
+		assertFalse(this.parser.parseDouble("Inf"));
+	}
+
+	@Test
+	@DisplayName("malformed decimals, Java literal suffixes and hexadecimal floats are rejected")
+	public void testInvalidDecimals() {
+		for (var str : new String[] {
+			"", "-", ".", "-.", "e5", "1e", "1e+", "1.2.3", "1..2", "1d", "1.5f", "0x1p3", " 1", "1 ", "1_000", "1k"
+		})
+			assertFalse(this.parser.parseDouble(str), str);
+
+		assertTrue(this.extendedParser.parseDouble("1_000.5"));
+		assertEquals(1000.5, this.extendedParser.getDouble());
+		assertTrue(this.extendedParser.parseFloat("1.5k"));
+		assertEquals(1500f, this.extendedParser.getFloat());
+		assertFalse(this.extendedParser.parseDouble("1_.5"));
+		assertFalse(this.extendedParser.parseDouble("1._5"));
+	}
+
+	private void assertExtendedDouble(double expected, String str) {
+		assertTrue(this.extendedParser.parseDouble(str), str);
+		assertEquals(expected, this.extendedParser.getDouble(), str);
+	}
+
+	@Test
+	@DisplayName("decimal size suffixes are applied before rounding")
+	public void testDecimalSuffixRounding() {
+		// 1.005 * 1000 is 1004.9999999999999
+		assertTrue(this.extendedParser.parseDouble("1.005k"));
+		assertEquals(1005.0, this.extendedParser.getDouble());
+		assertTrue(this.extendedParser.parseFloat("1.005k"));
+		assertEquals(1005f, this.extendedParser.getFloat());
+
+		// the values written as literals are correctly rounded
+		this.assertExtendedDouble(1e5, "0.1M");
+		this.assertExtendedDouble(1.5e7, "1.5e-2G");
+		this.assertExtendedDouble(-26750, "-2.675e1k");
+		this.assertExtendedDouble(1000.0011e6, "1_000.001_1M");
+		this.assertExtendedDouble(12345678901234567890.123e-2, "12345678901234567890.123e-5k");
+
+		// binary suffixes are exact multipliers
+		assertTrue(this.extendedParser.parseDouble("1.005Ki"));
+		assertEquals(1.005 * 1024, this.extendedParser.getDouble());
+	}
+}
@@ -1,7 +1,9 @@
 package lanat.test.units;
 
+import lanat.ArgumentKey;
 import lanat.ParsedArgumentsRoot;
 import lanat.exceptions.ArgumentNotFoundException;
+import lanat.exceptions.CommandNotFoundException;
 import lanat.test.UnitTests;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -71,4 +73,64 @@ public class TestParsedValues extends UnitTests {
 			assertFalse(parsedArgs.isPresent());
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Test Sub-Commands specified by abbreviations")
+	public void testCommandAbbreviations() {
+		assertFalse(this.parser.areCommandAbbreviationsEnabled());
+
+		this.parser.setCommandAbbreviationsEnabled(true);
+		var parsedArgs = this.parseArgs("smth subCommand -cc ano 56");
+		assertEquals(2, parsedArgs.<Integer>get("subCommand.c").orElse(null));
+		assertEquals(56, parsedArgs.<Integer>get("subCommand.another.number").orElse(null));
+
+		// "subComm" is the start of both "subCommand" and "subCommand2"
+		assertEquals("(smth), (subComm)", this.parseArgs("smth subComm").<String>get("what").orElse(null));
+		assertEquals(true, this.parseArgs("smth subCommand2 --extra").<Boolean>get("subCommand2.extra").orElse(null));
+	}
+
+	@Test
+	@DisplayName("Test getting values with argument keys")
+	public void testArgumentKeys() {
+		final ArgumentKey<Integer> number = ArgumentKey.of(this.parser, "subCommand.another.number");
+		final ArgumentKey<String> what = ArgumentKey.of(this.parser, "what");
+
+		var parsedArgs = this.parseArgs("smth subCommand -cccc another 56");
+		assertEquals(56, parsedArgs.get(number).orElse(null));
+		assertEquals("(smth)", parsedArgs.get(what).orElse(null));
+
+		parsedArgs = this.parseArgs("foo");
+		assertTrue(parsedArgs.get(number).isEmpty());
+		assertEquals("(foo)", parsedArgs.get(what).orElse(null));
+
+		// keys of other commands can't be used
+		final var subParsedArgs = parsedArgs.getSubParsedArgs("subCommand");
+		assertThrows(IllegalArgumentException.class, () -> subParsedArgs.get(number));
+		assertEquals(0, subParsedArgs.get(ArgumentKey.<Integer>of(this.parser.getCommand("subCommand"), "c")).orElse(null));
+
+		// the results of each Sub-Command are found by its name
+		assertSame(subParsedArgs, parsedArgs.getSubParsedArgs("subCommand"));
+		assertNotSame(subParsedArgs, parsedArgs.getSubParsedArgs("subCommand2"));
+		assertNull(parsedArgs.getSubParsedArgs("not-there"));
+
+		assertThrows(CommandNotFoundException.class, () -> ArgumentKey.of(this.parser, "not-there.number"));
+		assertThrows(ArgumentNotFoundException.class, () -> ArgumentKey.of(this.parser, "subCommand.not-there"));
+	}
+
+	@Test
+	@DisplayName("Test checking whether arguments were used")
+	public void testWasUsed() {
+		var parsedArgs = this.parseArgs("smth subCommand -cccc");
+		assertTrue(parsedArgs.wasUsed("what"));
+		assertFalse(parsedArgs.wasUsed("a"));
+		assertTrue(parsedArgs.wasUsed("subCommand.c"));
+		assertFalse(parsedArgs.wasUsed("subCommand.another.number"));
+		assertTrue(parsedArgs.wasUsed(this.parser.getArgument("what")));
+
+		assertThrows(ArgumentNotFoundException.class, () -> parsedArgs.wasUsed("not-there"));
+		assertThrows(
+			ArgumentNotFoundException.class,
+			() -> parsedArgs.wasUsed(this.parser.getCommand("subCommand").getArgument("c"))
+		);
+	}
+}
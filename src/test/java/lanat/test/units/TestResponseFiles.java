@@ -0,0 +1,93 @@
+package lanat.test.units;
+
+import lanat.test.TestingParser;
+import lanat.test.UnitTests;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestResponseFiles extends UnitTests {
+	private Path directory;
+
+	@Override
+	protected TestingParser setParser() {
+		final var parser = super.setParser();
+		parser.setResponseFilesEnabled(true);
+		return parser;
+	}
+
+	private Path createFile(String name, String contents) throws IOException {
+		if (this.directory == null)
+			this.directory = Files.createTempDirectory("lanat-response-files");
+
+		final var file = this.directory.resolve(name);
+		Files.writeString(file, contents);
+		file.toFile().deleteOnExit();
+		this.directory.toFile().deleteOnExit();
+		return file;
+	}
+
+	@Test
+	@DisplayName("Response file contents are read in place of the reference")
+	public void testSimple() throws IOException {
+		final var file = this.createFile("simple.txt", "'quoted value'\n--a hello\n");
+		final var parsed = this.parser.parseGetValues("@" + file + " --double-adder 2 --double-adder 3");
+
+		assertEquals("hello", parsed.<String>get("a").orElse(null));
+		assertEquals("(quoted value)", parsed.<String>get("what").orElse(null));
+		assertEquals(5.0, parsed.<Double>get("double-adder").orElse(null));
+	}
+
+	@Test
+	@DisplayName("Response files are decoded as UTF-8 regardless of the platform charset")
+	public void testEncoding() throws IOException {
+		final var file = this.createFile("utf8.txt", "--a 'héllo wörld ✓'");
+		assertEquals("héllo wörld ✓", this.parser.parseGetValues("foo @" + file).<String>get("a").orElse(null));
+
+		Files.write(file, new byte[] { '-', '-', 'a', ' ', (byte)0xC3, (byte)0x28 });
+		assertTrue(this.parser.parseGetErrors("foo @" + file).stream()
+			.anyMatch(e -> e.contains("file is not valid UTF-8"))
+		);
+	}
+
+	@Test
+	@DisplayName("Nested response files are resolved relative to the file that references them")
+	public void testNested() throws IOException {
+		this.createFile("inner.txt", "subCommand -c");
+		final var outer = this.createFile("outer.txt", "--a hi\n@inner.txt");
+		final var parsed = this.parser.parseGetValues("foo @" + outer + " -cc");
+
+		assertEquals("hi", parsed.<String>get("a").orElse(null));
+		assertEquals(3, parsed.<Integer>get("subCommand.c").orElse(null));
+	}
+
+	@Test
+	@DisplayName("Quoted references are not read")
+	public void testQuotedReference() {
+		assertEquals("(@not-a-file)", this.parser.parseGetValues("'@not-a-file'").<String>get("what").orElse(null));
+	}
+
+	@Test
+	@DisplayName("Errors show the position in the response file")
+	public void testErrors() throws IOException {
+		final var file = this.createFile("error.txt", "foo\n  'unclosed");
+		final var errors = this.parser.parseGetErrors("@" + file);
+		assertTrue(errors.stream().anyMatch(e -> e.contains(
+			"String not closed. (in response file '" + file.toAbsolutePath() + "', line 2, column 3)"
+		)));
+
+		final var selfReference = this.createFile("self.txt", "@self.txt");
+		assertTrue(this.parser.parseGetErrors("foo @" + selfReference).stream()
+			.anyMatch(e -> e.contains("file references itself"))
+		);
+
+		assertTrue(this.parser.parseGetErrors("foo @does-not-exist.txt").stream()
+			.anyMatch(e -> e.contains("file does not exist"))
+		);
+	}
+}
@@ -1,9 +1,15 @@
 package lanat.test.units;
 
+import lanat.parsing.errors.ErrorFormatter;
+import lanat.parsing.errors.formatGenerators.PrettyErrorFormatter;
+import lanat.parsing.errors.formatGenerators.SimpleErrorFormatter;
 import lanat.test.UnitTests;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestTerminalOutput extends UnitTests {
@@ -102,6 +108,20 @@ public class TestTerminalOutput extends UnitTests {
 			Token '--unknown' does not correspond with a valid argument, argument list, value, or command.""");
 	}
 
+	@Test
+	@DisplayName("Test unmatched token with suggestions")
+	public void testUnmatchedTokenSuggestions() {
+		this.assertErrorOutput("[foo] --doble-adder", """
+			WARNING
+			Testing [ foo ] --doble-adder <-
+			Token '--doble-adder' does not correspond with a valid argument, argument list, value, or command. Did you mean '--double-adder'?""");
+
+		this.assertErrorOutput("[foo] subComand", """
+			WARNING
+			Testing [ foo ] subComand <-
+			Token 'subComand' does not correspond with a valid argument, argument list, value, or command. Did you mean 'subCommand' or 'subCommand2'?""");
+	}
+
 	@Test
 	@DisplayName("Test incorrect usage count")
 	public void testIncorrectUsageCount() {
@@ -184,4 +204,21 @@ public class TestTerminalOutput extends UnitTests {
 			Testing --what ->'1 2 3<-
 			String not closed.""");
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Test simple error formatter")
+	public void testSimpleErrorFormatter() {
+		ErrorFormatter.errorFormatterClass = SimpleErrorFormatter.class;
+		try {
+			assertEquals(
+				List.of(
+					"[WARNING (at token 4, '--unknown')]: Token '--unknown' does not correspond with a valid argument, "
+						+ "argument list, value, or command."
+				),
+				this.parser.parseGetErrors("[foo] --unknown")
+			);
+		} finally {
+			ErrorFormatter.errorFormatterClass = PrettyErrorFormatter.class;
+		}
+	}
+}
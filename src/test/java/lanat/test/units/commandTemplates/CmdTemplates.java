@@ -8,6 +8,7 @@ import lanat.argumentTypes.FloatArgumentType;
 import lanat.argumentTypes.IntegerArgumentType;
 import lanat.argumentTypes.StringArgumentType;
 
+import java.util.List;
 import java.util.Optional;
 
 public class CmdTemplates {
@@ -85,5 +86,17 @@ public class CmdTemplates {
 
 		@Argument.Define
 		public Byte[] bytes;
+
+		@Argument.Define
+		public int[] ints;
+
+		@Argument.Define
+		public List<Integer> numberList;
+
+		@Argument.Define
+		public Optional<Double> optionalNumber;
+
+		@Argument.Define
+		public CharSequence chars;
 	}
 }
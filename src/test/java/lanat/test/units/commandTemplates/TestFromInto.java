@@ -1,14 +1,16 @@
 package lanat.test.units.commandTemplates;
 
-import lanat.ArgumentParser;
-import lanat.CLInput;
-import lanat.CommandTemplate;
+import lanat.*;
 import lanat.argumentTypes.*;
+import lanat.exceptions.ArgumentTypeInferException;
 import lanat.exceptions.CommandTemplateException;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestFromInto {
@@ -64,6 +66,29 @@ public class TestFromInto {
 		assertTrue(result.getArgument("flag").argType instanceof BooleanArgumentType);
 		assertTrue(result.getArgument("number2").argType instanceof DoubleArgumentType);
 		assertTrue(result.getArgument("bytes").argType instanceof MultipleNumbersArgumentType);
+		assertTrue(result.getArgument("ints").argType instanceof IntArrayArgumentType);
+		assertTrue(result.getArgument("numberList").argType instanceof ListArgumentType);
+		assertTrue(result.getArgument("optionalNumber").argType instanceof DoubleArgumentType);
+		assertTrue(result.getArgument("chars").argType instanceof StringArgumentType);
+	}
+
+	public static class UninferableFields {
+		@Argument.Define
+		public List<Boolean> flags;
+	}
+
+	@Test
+	@DisplayName("test types that cannot be inferred are reported")
+	public void testUninferableTypes() throws NoSuchFieldException {
+		final var field = UninferableFields.class.getField("flags");
+
+		// each value of a list must take a single value, but a boolean takes none
+		assertNull(ArgumentBuilder.getArgumentTypeFromField(field));
+		assertThrows(ArgumentTypeInferException.class, () -> ArgumentTypeInfer.get(field.getGenericType()));
+
+		// all the number types are equally close to Number. The failure is cached, and still thrown every time
+		assertThrows(ArgumentTypeInferException.class, () -> ArgumentTypeInfer.get(Number.class));
+		assertThrows(ArgumentTypeInferException.class, () -> ArgumentTypeInfer.get(Number.class));
 	}
 
 	@Test
@@ -71,9 +96,52 @@ public class TestFromInto {
 	public void testArrayParsedValues() {
 		final var result = ArgumentParser.parseFromInto(
 			CmdTemplates.CmdTemplate4.class,
-			CLInput.from("--bytes 5 12 89")
+			CLInput.from("--bytes 5 12 89 --ints 5 12 89")
 		);
 
 		assertArrayEquals(new Byte[] {5, 12, 89}, result.bytes);
+		assertArrayEquals(new int[] {5, 12, 89}, result.ints);
+	}
+
+	@Test
+	@DisplayName("test generic parsed values are properly set")
+	public void testGenericParsedValues() {
+		final var result = ArgumentParser.parseFromInto(
+			CmdTemplates.CmdTemplate4.class,
+			CLInput.from("--numberList 5 12 89 --optionalNumber 4.5")
+		);
+
+		assertEquals(List.of(5, 12, 89), result.numberList);
+		assertEquals(Optional.of(4.5), result.optionalNumber);
+	}
+
+	public record BoundValues(
+		int number,
+		@Argument.Define(names = "text") String string,
+		boolean flag,
+		Optional<Double> number2
+	) { }
+
+	public static class BoundClass {
+		public final int number;
+
+		public BoundClass(@Argument.Define(names = "number") int number) {
+			this.number = number;
+		}
+	}
+
+	public static class UnboundClass {
+		public UnboundClass(int number) { }
+	}
+
+	@Test
+	@DisplayName("test parsed values are bound into records and constructors")
+	public void testBind() {
+		final var options = ArgumentParser.from(CmdTemplates.CmdTemplate4.class)
+			.parse(CLInput.from("--number 56 --text hello --flag"));
+
+		assertEquals(new BoundValues(56, "hello", true, Optional.empty()), options.bind(BoundValues.class));
+		assertEquals(56, options.bind(BoundClass.class).number);
+		assertThrows(CommandTemplateException.class, () -> options.bind(UnboundClass.class));
 	}
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ module lanat.test {
 	requires org.jetbrains.annotations;
 	requires utils;
 	requires textFormatter;
+	requires java.management;
+	requires jdk.management;
+	requires jdk.jfr;
 
 	exports lanat.test to org.junit.platform.commons, lanat;
 	exports lanat.test.exampleTests to org.junit.platform.commons, lanat;